@@ -0,0 +1,29 @@
+package nl.gogognome.lib.benchmarks;
+
+import java.util.Locale;
+
+import nl.gogognome.lib.text.TextResource;
+import nl.gogognome.lib.util.Factory;
+
+/**
+ * This class prepares the environment shared by the benchmarks.
+ */
+class BenchmarkEnvironment {
+
+    private static boolean initialized;
+
+    /**
+     * Makes sure that AWT runs headless and that the text resource used by column definitions
+     * and renderers is available. Benchmarks call this method from their setup.
+     */
+    static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        System.setProperty("java.awt.headless", "true");
+        TextResource textResource = new TextResource(Locale.US);
+        textResource.loadResourceBundle("gogolibstrings");
+        Factory.bindSingleton(TextResource.class, textResource);
+        initialized = true;
+    }
+}
@@ -0,0 +1,125 @@
+package nl.gogognome.lib.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nl.gogognome.lib.swing.ColumnDefinition;
+import nl.gogognome.lib.swing.ListTableModel;
+
+/**
+ * Measures adding, removing and replacing rows of a {@link ListTableModel}. A table model listener
+ * is subscribed, like a table would be.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ListTableModelBenchmark {
+
+    private final static int BATCH_SIZE = 1000;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int nrRows;
+
+    private ListTableModel<Row> tableModel;
+    private List<Row> rows;
+    private List<Row> otherRows;
+    private List<Row> batch;
+    private int[] batchIndices;
+    private int[] spreadIndices;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        BenchmarkEnvironment.initialize();
+        rows = createRows(nrRows, 0);
+        otherRows = createRows(nrRows, 1);
+        batch = createRows(BATCH_SIZE, 2);
+        batchIndices = new int[BATCH_SIZE];
+        for (int i=0; i<BATCH_SIZE; i++) {
+            batchIndices[i] = nrRows + i;
+        }
+        spreadIndices = new int[BATCH_SIZE];
+        for (int i=0; i<BATCH_SIZE; i++) {
+            spreadIndices[i] = (int) ((long) i * nrRows / BATCH_SIZE);
+        }
+
+        tableModel = new ListTableModel<>(createColumnDefinitions(), new ArrayList<>(rows));
+        tableModel.addTableModelListener(blackhole::consume);
+    }
+
+    @Benchmark
+    public void addAndRemoveRow() {
+        tableModel.addRow(batch.get(0));
+        tableModel.removeRow(nrRows);
+    }
+
+    @Benchmark
+    public void addAndRemoveBatchAtEnd() {
+        tableModel.addRows(batch);
+        tableModel.removeRows(batchIndices);
+    }
+
+    @Benchmark
+    public void removeAndInsertSpreadRows() {
+        List<Row> removedRows = new ArrayList<>(BATCH_SIZE);
+        for (int index : spreadIndices) {
+            removedRows.add(tableModel.getRow(index));
+        }
+        tableModel.removeRows(spreadIndices);
+        tableModel.addRows(removedRows);
+    }
+
+    @Benchmark
+    public void setRows() {
+        tableModel.setRows(tableModel.getRow(0) == rows.get(0) ? otherRows : rows);
+    }
+
+    @Benchmark
+    public void setRowsWithKeyExtractor() {
+        tableModel.setRows(tableModel.getRow(0) == rows.get(0) ? otherRows : rows, row -> row.id);
+    }
+
+    static List<ColumnDefinition<Row>> createColumnDefinitions() {
+        List<ColumnDefinition<Row>> columnDefinitions = new ArrayList<>();
+        columnDefinitions.add(ColumnDefinition.<Row>builder("gen.id", Integer.class, 50).add(row -> row.id).build());
+        columnDefinitions.add(ColumnDefinition.<Row>builder("gen.description", String.class, 200).add(row -> row.description).build());
+        columnDefinitions.add(ColumnDefinition.<Row>builder("gen.amount", Double.class, 100).add(row -> row.amount).build());
+        return columnDefinitions;
+    }
+
+    static List<Row> createRows(int nrRows, int variant) {
+        List<Row> rows = new ArrayList<>(nrRows);
+        for (int i=0; i<nrRows; i++) {
+            rows.add(new Row(i, "Description " + ((i * 7919L + variant) % nrRows), (i * 31 + variant) % 1000 / 10.0));
+        }
+        return rows;
+    }
+
+    static class Row {
+        final int id;
+        final String description;
+        final double amount;
+
+        Row(int id, String description, double amount) {
+            this.id = id;
+            this.description = description;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package nl.gogognome.lib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nl.gogognome.lib.swing.models.StringModel;
+
+/**
+ * Measures notifying the listeners of a model when its value changes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ModelNotificationBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int nrListeners;
+
+    private StringModel model;
+    private boolean toggle;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        model = new StringModel("a");
+        for (int i=0; i<nrListeners; i++) {
+            model.addModelChangeListener(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void setValue() {
+        toggle = !toggle;
+        model.setString(toggle ? "b" : "a");
+    }
+}
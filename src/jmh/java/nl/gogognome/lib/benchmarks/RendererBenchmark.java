@@ -0,0 +1,91 @@
+package nl.gogognome.lib.benchmarks;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nl.gogognome.lib.swing.DateRenderer;
+import nl.gogognome.lib.swing.plaf.DefaultTableUI;
+
+/**
+ * Measures rendering table cells headless: obtaining renderer components for a column of cells
+ * and painting the visible part of a table with alternating row backgrounds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@SuppressWarnings("deprecation")
+public class RendererBenchmark {
+
+    private final static int NR_ROWS = 1000;
+    private final static int NR_DISTINCT_DATES = 100;
+
+    @Param({ "false", "true" })
+    public boolean memoizeFormattedValues;
+
+    private JTable table;
+    private DateRenderer dateRenderer;
+    private nl.gogognome.lib.swing.plaf.AlternatingBackgroundRenderer alternatingBackgroundRenderer;
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        DefaultTableModel tableModel = new DefaultTableModel(new Object[] { "date", "description" }, 0);
+        long day = 24L * 60 * 60 * 1000;
+        for (int i=0; i<NR_ROWS; i++) {
+            tableModel.addRow(new Object[] { new Date((i % NR_DISTINCT_DATES) * day), "Description " + i });
+        }
+        table = new JTable(tableModel);
+        table.setUI(new DefaultTableUI());
+        table.setSize(400, table.getRowHeight() * 40);
+
+        dateRenderer = new DateRenderer();
+        dateRenderer.setMemoizeFormattedValues(memoizeFormattedValues);
+        alternatingBackgroundRenderer = new nl.gogognome.lib.swing.plaf.AlternatingBackgroundRenderer(new DefaultTableCellRenderer());
+        image = new BufferedImage(table.getWidth(), table.getHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    public void renderDateColumn(Blackhole blackhole) {
+        for (int row=0; row<NR_ROWS; row++) {
+            blackhole.consume(dateRenderer.getTableCellRendererComponent(table, table.getValueAt(row, 0), false, false, row, 0));
+        }
+    }
+
+    @Benchmark
+    public void renderWithAlternatingBackgroundRenderer(Blackhole blackhole) {
+        for (int row=0; row<NR_ROWS; row++) {
+            blackhole.consume(alternatingBackgroundRenderer.getTableCellRendererComponent(table, table.getValueAt(row, 1), false, false, row, 1));
+        }
+    }
+
+    @Benchmark
+    public void paintVisibleRowsWithDefaultTableUI() {
+        Graphics g = image.getGraphics();
+        g.setClip(0, 0, table.getWidth(), table.getHeight());
+        table.getUI().update(g, table);
+        g.dispose();
+    }
+}
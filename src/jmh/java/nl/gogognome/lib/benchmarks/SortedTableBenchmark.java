@@ -0,0 +1,59 @@
+package nl.gogognome.lib.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTable;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nl.gogognome.lib.benchmarks.ListTableModelBenchmark.Row;
+import nl.gogognome.lib.swing.ListTableModel;
+import nl.gogognome.lib.swing.models.Tables;
+
+/**
+ * Measures sorting a table created by {@link Tables#createSortedTable}, which uses a TableRowSorter.
+ * Each invocation sorts the table on another column.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SortedTableBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int nrRows;
+
+    private JTable table;
+    private int column;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        ListTableModel<Row> tableModel = new ListTableModel<>(ListTableModelBenchmark.createColumnDefinitions(),
+                ListTableModelBenchmark.createRows(nrRows, 0));
+        table = Tables.createSortedTable(tableModel);
+    }
+
+    @Benchmark
+    public void sort(Blackhole blackhole) {
+        column = (column + 1) % table.getColumnCount();
+        table.getRowSorter().setSortKeys(Collections.singletonList(new RowSorter.SortKey(column, SortOrder.ASCENDING)));
+        blackhole.consume(table.convertRowIndexToModel(0));
+    }
+}
@@ -0,0 +1,63 @@
+package nl.gogognome.lib.benchmarks;
+
+import java.awt.event.KeyEvent;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import nl.gogognome.lib.swing.JComboBoxWithKeyboardInput;
+
+/**
+ * Measures selecting an item of a {@link JComboBoxWithKeyboardInput} by typing part of its name.
+ * Each invocation types a new substring of three characters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TypeAheadBenchmark {
+
+    private final static String[] TYPED_TEXTS = { "ams", "ber", "dam", "rot", "xyz", "123", "lin", "ter" };
+
+    @Param({ "1000", "100000" })
+    public int nrItems;
+
+    private JComboBoxWithKeyboardInput comboBox;
+    private long when;
+    private int textIndex;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.initialize();
+        String[] cities = { "Amsterdam", "Berlin", "Rotterdam", "Paris", "London", "Madrid", "Antwerpen", "Utrecht" };
+        comboBox = new JComboBoxWithKeyboardInput();
+        for (int i=0; i<nrItems; i++) {
+            comboBox.addItem(cities[i % cities.length] + " " + i);
+        }
+    }
+
+    @Benchmark
+    public int typeSubstring() {
+        // a gap larger than the type-ahead timeout starts a new substring
+        when += 10000;
+        String text = TYPED_TEXTS[textIndex];
+        textIndex = (textIndex + 1) % TYPED_TEXTS.length;
+        for (int i=0; i<text.length(); i++) {
+            comboBox.keyPressed(new KeyEvent(comboBox, KeyEvent.KEY_PRESSED, when + i, 0, KeyEvent.VK_UNDEFINED, text.charAt(i)));
+        }
+        return comboBox.getSelectedIndex();
+    }
+}
@@ -0,0 +1,312 @@
+package nl.gogognome.lib.awt.layout;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.GridBagConstraints;
+import java.awt.Insets;
+import java.awt.LayoutManager2;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A layout manager for forms: grids of labels and fields in which each component occupies exactly one cell.
+ * Typically column 0 contains the labels and column 1 contains the fields.
+ *
+ * <p>Components are added with {@link GridBagConstraints}, so that this layout manager can replace a
+ * {@link java.awt.GridBagLayout} for such grids. Of the constraints, only <code>gridx</code>, <code>gridy</code>,
+ * <code>weightx</code>, <code>weighty</code>, <code>anchor</code>, <code>fill</code> and <code>insets</code>
+ * are used. The grid positions must be absolute and the components must not span multiple cells.
+ * Like GridBagLayout, extra space is distributed over the columns and rows in proportion to their weights
+ * and the grid is centered if no column or row has a weight.
+ *
+ * <p>The sizes of the components are measured once and are cached until the layout is invalidated.
+ * Measuring and laying out take time linear in the number of components, rows and columns.
+ */
+public class FormLayout implements LayoutManager2 {
+
+    private final Map<Component, GridBagConstraints> componentToConstraints = new HashMap<>();
+
+    /** The measurements based on the preferred sizes of the components. Null if they must be determined. */
+    private Measurements preferredMeasurements;
+
+    /** The measurements based on the minimum sizes of the components. Null if they must be determined. */
+    private Measurements minimumMeasurements;
+
+    @Override
+    public void addLayoutComponent(Component comp, Object constraints) {
+        if (!(constraints instanceof GridBagConstraints)) {
+            throw new IllegalArgumentException("Cannot add to layout: constraints must be GridBagConstraints");
+        }
+        GridBagConstraints gbc = (GridBagConstraints) constraints;
+        if (gbc.gridx < 0 || gbc.gridy < 0) {
+            throw new IllegalArgumentException("Cannot add to layout: the grid position must be absolute");
+        }
+        if (gbc.gridwidth != 1 || gbc.gridheight != 1) {
+            throw new IllegalArgumentException("Cannot add to layout: a component must occupy a single cell");
+        }
+        componentToConstraints.put(comp, (GridBagConstraints) gbc.clone());
+        invalidate();
+    }
+
+    /**
+     * Not supported by this class. Components must be added with constraints.
+     */
+    @Override
+    public void addLayoutComponent(String name, Component comp) {
+        throw new IllegalArgumentException("Cannot add to layout: constraints must be GridBagConstraints");
+    }
+
+    @Override
+    public void removeLayoutComponent(Component comp) {
+        componentToConstraints.remove(comp);
+        invalidate();
+    }
+
+    /**
+     * Gets the constraints of a component.
+     * @param comp the component
+     * @return a copy of the constraints or <code>null</code> if the component has not been added to this layout
+     */
+    public GridBagConstraints getConstraints(Component comp) {
+        GridBagConstraints gbc = componentToConstraints.get(comp);
+        return gbc != null ? (GridBagConstraints) gbc.clone() : null;
+    }
+
+    @Override
+    public void invalidateLayout(Container target) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        preferredMeasurements = null;
+        minimumMeasurements = null;
+    }
+
+    @Override
+    public Dimension preferredLayoutSize(Container parent) {
+        synchronized (parent.getTreeLock()) {
+            return getPreferredMeasurements(parent).getLayoutSize(parent);
+        }
+    }
+
+    @Override
+    public Dimension minimumLayoutSize(Container parent) {
+        synchronized (parent.getTreeLock()) {
+            if (minimumMeasurements == null) {
+                minimumMeasurements = new Measurements(parent, componentToConstraints, true);
+            }
+            return minimumMeasurements.getLayoutSize(parent);
+        }
+    }
+
+    @Override
+    public Dimension maximumLayoutSize(Container target) {
+        return new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public float getLayoutAlignmentX(Container target) {
+        return 0.5f;
+    }
+
+    @Override
+    public float getLayoutAlignmentY(Container target) {
+        return 0.5f;
+    }
+
+    private Measurements getPreferredMeasurements(Container parent) {
+        if (preferredMeasurements == null) {
+            preferredMeasurements = new Measurements(parent, componentToConstraints, false);
+        }
+        return preferredMeasurements;
+    }
+
+    @Override
+    public void layoutContainer(Container parent) {
+        synchronized (parent.getTreeLock()) {
+            Measurements m = getPreferredMeasurements(parent);
+            Insets insets = parent.getInsets();
+            int[] xs = getPositions(m.columnWidths, m.columnWeights,
+                    parent.getWidth() - insets.left - insets.right, insets.left);
+            int[] ys = getPositions(m.rowHeights, m.rowWeights,
+                    parent.getHeight() - insets.top - insets.bottom, insets.top);
+
+            for (int i=0; i<m.components.length; i++) {
+                GridBagConstraints gbc = m.constraints[i];
+                Insets cellInsets = gbc.insets;
+                int cellX = xs[gbc.gridx] + cellInsets.left;
+                int cellY = ys[gbc.gridy] + cellInsets.top;
+                int cellWidth = Math.max(0, xs[gbc.gridx + 1] - xs[gbc.gridx] - cellInsets.left - cellInsets.right);
+                int cellHeight = Math.max(0, ys[gbc.gridy + 1] - ys[gbc.gridy] - cellInsets.top - cellInsets.bottom);
+
+                Dimension size = m.sizes[i];
+                int width = fillsHorizontally(gbc) ? cellWidth : Math.min(size.width, cellWidth);
+                int height = fillsVertically(gbc) ? cellHeight : Math.min(size.height, cellHeight);
+                int x = cellX + (cellWidth - width) * getHorizontalAlignment(gbc.anchor) / 2;
+                int y = cellY + (cellHeight - height) * getVerticalAlignment(gbc.anchor) / 2;
+                m.components[i].setBounds(x, y, width, height);
+            }
+        }
+    }
+
+    /**
+     * Determines the positions of the columns or rows. Extra space is distributed in proportion to the weights.
+     * If all weights are zero, then the columns or rows are centered.
+     * @param sizes the sizes of the columns or rows
+     * @param weights the weights of the columns or rows
+     * @param available the available space
+     * @param start the start of the available space
+     * @return the start position of each column or row, followed by the end position of the last column or row
+     */
+    private static int[] getPositions(int[] sizes, double[] weights, int available, int start) {
+        int total = 0;
+        double totalWeight = 0;
+        for (int i=0; i<sizes.length; i++) {
+            total += sizes[i];
+            totalWeight += weights[i];
+        }
+        int extra = available - total;
+
+        int[] positions = new int[sizes.length + 1];
+        int position = totalWeight > 0 ? start : start + extra / 2;
+        int distributedExtra = 0;
+        double cumulativeWeight = 0;
+        for (int i=0; i<sizes.length; i++) {
+            positions[i] = position;
+            int size = sizes[i];
+            if (totalWeight > 0 && weights[i] > 0) {
+                cumulativeWeight += weights[i];
+                int newDistributedExtra = (int) Math.round(extra * cumulativeWeight / totalWeight);
+                size = Math.max(0, size + newDistributedExtra - distributedExtra);
+                distributedExtra = newDistributedExtra;
+            }
+            position += size;
+        }
+        positions[sizes.length] = position;
+        return positions;
+    }
+
+    private static boolean fillsHorizontally(GridBagConstraints gbc) {
+        return gbc.fill == GridBagConstraints.HORIZONTAL || gbc.fill == GridBagConstraints.BOTH;
+    }
+
+    private static boolean fillsVertically(GridBagConstraints gbc) {
+        return gbc.fill == GridBagConstraints.VERTICAL || gbc.fill == GridBagConstraints.BOTH;
+    }
+
+    /**
+     * @param anchor the anchor
+     * @return 0 for left, 1 for center and 2 for right
+     */
+    private static int getHorizontalAlignment(int anchor) {
+        switch (anchor) {
+            case GridBagConstraints.WEST:
+            case GridBagConstraints.NORTHWEST:
+            case GridBagConstraints.SOUTHWEST:
+            case GridBagConstraints.LINE_START:
+            case GridBagConstraints.FIRST_LINE_START:
+            case GridBagConstraints.LAST_LINE_START:
+                return 0;
+            case GridBagConstraints.EAST:
+            case GridBagConstraints.NORTHEAST:
+            case GridBagConstraints.SOUTHEAST:
+            case GridBagConstraints.LINE_END:
+            case GridBagConstraints.FIRST_LINE_END:
+            case GridBagConstraints.LAST_LINE_END:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * @param anchor the anchor
+     * @return 0 for top, 1 for center and 2 for bottom
+     */
+    private static int getVerticalAlignment(int anchor) {
+        switch (anchor) {
+            case GridBagConstraints.NORTH:
+            case GridBagConstraints.NORTHWEST:
+            case GridBagConstraints.NORTHEAST:
+            case GridBagConstraints.PAGE_START:
+            case GridBagConstraints.FIRST_LINE_START:
+            case GridBagConstraints.FIRST_LINE_END:
+                return 0;
+            case GridBagConstraints.SOUTH:
+            case GridBagConstraints.SOUTHWEST:
+            case GridBagConstraints.SOUTHEAST:
+            case GridBagConstraints.PAGE_END:
+            case GridBagConstraints.LAST_LINE_START:
+            case GridBagConstraints.LAST_LINE_END:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * The sizes of the visible components and the resulting sizes and weights of the columns and rows.
+     */
+    private static class Measurements {
+        private final Component[] components;
+        private final GridBagConstraints[] constraints;
+        private final Dimension[] sizes;
+        private final int[] columnWidths;
+        private final int[] rowHeights;
+        private final double[] columnWeights;
+        private final double[] rowWeights;
+
+        public Measurements(Container parent, Map<Component, GridBagConstraints> componentToConstraints, boolean minimum) {
+            int nrComponents = parent.getComponentCount();
+            Component[] visibleComponents = new Component[nrComponents];
+            GridBagConstraints[] visibleConstraints = new GridBagConstraints[nrComponents];
+            int nrVisibleComponents = 0;
+            int nrColumns = 0;
+            int nrRows = 0;
+            for (int i=0; i<nrComponents; i++) {
+                Component c = parent.getComponent(i);
+                GridBagConstraints gbc = componentToConstraints.get(c);
+                if (c.isVisible() && gbc != null) {
+                    visibleComponents[nrVisibleComponents] = c;
+                    visibleConstraints[nrVisibleComponents] = gbc;
+                    nrVisibleComponents++;
+                    nrColumns = Math.max(nrColumns, gbc.gridx + 1);
+                    nrRows = Math.max(nrRows, gbc.gridy + 1);
+                }
+            }
+
+            components = new Component[nrVisibleComponents];
+            constraints = new GridBagConstraints[nrVisibleComponents];
+            sizes = new Dimension[nrVisibleComponents];
+            columnWidths = new int[nrColumns];
+            rowHeights = new int[nrRows];
+            columnWeights = new double[nrColumns];
+            rowWeights = new double[nrRows];
+            for (int i=0; i<nrVisibleComponents; i++) {
+                Component c = visibleComponents[i];
+                GridBagConstraints gbc = visibleConstraints[i];
+                Dimension size = minimum ? c.getMinimumSize() : c.getPreferredSize();
+                components[i] = c;
+                constraints[i] = gbc;
+                sizes[i] = size;
+                columnWidths[gbc.gridx] = Math.max(columnWidths[gbc.gridx], size.width + gbc.insets.left + gbc.insets.right);
+                rowHeights[gbc.gridy] = Math.max(rowHeights[gbc.gridy], size.height + gbc.insets.top + gbc.insets.bottom);
+                columnWeights[gbc.gridx] = Math.max(columnWeights[gbc.gridx], gbc.weightx);
+                rowWeights[gbc.gridy] = Math.max(rowWeights[gbc.gridy], gbc.weighty);
+            }
+        }
+
+        public Dimension getLayoutSize(Container parent) {
+            Insets insets = parent.getInsets();
+            Dimension size = new Dimension(insets.left + insets.right, insets.top + insets.bottom);
+            for (int columnWidth : columnWidths) {
+                size.width += columnWidth;
+            }
+            for (int rowHeight : rowHeights) {
+                size.height += rowHeight;
+            }
+            return size;
+        }
+    }
+}
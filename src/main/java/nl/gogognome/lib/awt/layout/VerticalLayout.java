@@ -5,6 +5,7 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Insets;
 import java.awt.LayoutManager;
+import java.util.Arrays;
 import java.util.Hashtable;
 /**
  * A vertical layout manager similar to {@link java.awt.FlowLayout}.
@@ -90,12 +91,14 @@ public class VerticalLayout implements LayoutManager{
 		Dimension d;
 		synchronized(parent.getTreeLock()){
 			int n=parent.getComponentCount();
+			int nrVisibleComponents=0;
 			for(int i=0;i<n;i++){
 				Component c=parent.getComponent(i);
 				if(c.isVisible()){
 					d=minimum ? c.getMinimumSize() : c.getPreferredSize();
 					dim.width=Math.max(dim.width,d.width); dim.height+=d.height;
-					if(i>0)dim.height+=vgap;
+					if(nrVisibleComponents>0)dim.height+=vgap;
+					nrVisibleComponents++;
 				}
 			}
 		}
@@ -106,14 +109,20 @@ public class VerticalLayout implements LayoutManager{
 	}
 
 	/**
-	 * Lays out the container.
+	 * Lays out the container. Invisible components are skipped. The preferred size of each component
+	 * is determined once.
 	 */
 	@Override
 	public void layoutContainer(Container parent){
 		Insets insets = parent.getInsets();
 		synchronized(parent.getTreeLock()){
 			Dimension pd=parent.getSize();
-			int y = calcTotalHeight(parent);
+			Component[] components = getVisibleComponents(parent);
+			Dimension[] sizes = new Dimension[components.length];
+			for (int i=0; i<components.length; i++) {
+				sizes[i] = components[i].getPreferredSize();
+			}
+			int y = calcTotalHeight(sizes);
 
 			//Work out the anchor paint
 			if (anchor==TOP) {
@@ -124,15 +133,29 @@ public class VerticalLayout implements LayoutManager{
 				y = pd.height - y - insets.bottom;
 			}
 
-			doLayout(parent, y);
+			doLayout(parent, components, sizes, y);
+		}
+	}
+
+	private Component[] getVisibleComponents(Container parent) {
+		int n = parent.getComponentCount();
+		Component[] components = new Component[n];
+		int nrVisibleComponents = 0;
+		for (int i=0; i<n; i++) {
+			Component c = parent.getComponent(i);
+			if (c.isVisible()) {
+				components[nrVisibleComponents++] = c;
+			}
 		}
+		return Arrays.copyOf(components, nrVisibleComponents);
 	}
 
-	private int calcTotalHeight(Container parent) {
+	private int calcTotalHeight(Dimension[] sizes) {
+		if (sizes.length == 0) {
+			return 0;
+		}
 		int height = 0;
-		for (int i=0; i<parent.getComponentCount(); i++){
-			Component c=parent.getComponent(i);
-			Dimension d = c.getPreferredSize();
+		for (Dimension d : sizes) {
 			height += d.height + vgap;
 		}
 
@@ -140,12 +163,12 @@ public class VerticalLayout implements LayoutManager{
 		return height;
 	}
 
-	private void doLayout(Container parent, int y) {
+	private void doLayout(Container parent, Component[] components, Dimension[] sizes, int y) {
 		Insets insets = parent.getInsets();
 		Dimension pd=parent.getSize();
-		for (int i=0; i<parent.getComponentCount(); i++){
-			Component c = parent.getComponent(i);
-			Dimension d = c.getPreferredSize();
+		for (int i=0; i<components.length; i++){
+			Component c = components[i];
+			Dimension d = sizes[i];
 			int x = insets.left;
 			int wid = d.width;
 			if (alignment==CENTER) {
@@ -3,20 +3,28 @@ package nl.gogognome.lib.gui.beans;
 import java.awt.Component;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.event.HierarchyEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
+import nl.gogognome.lib.awt.layout.FormLayout;
 import nl.gogognome.lib.gui.Closeable;
 import nl.gogognome.lib.swing.WidgetFactory;
 import nl.gogognome.lib.swing.models.*;
 import nl.gogognome.lib.util.Factory;
 
 /**
- * Base class for the InputFieldsColumn and InputFieldsRow.
+ * Base class for the InputFieldsColumn and InputFieldsRow. By default the fields are laid out by a
+ * {@link GridBagLayout}. Call {@link #useFormLayout()} to lay them out faster with a {@link FormLayout}.
+ *
+ * <p>If fields are deferred, then the beans of the fields are created when the panel is shown for the first time,
+ * for example when the collapsible panel containing this panel is expanded. The models of the fields are not
+ * affected: they can be changed and validated before the beans exist.
  */
 public abstract class AbstractInputFieldsPanel extends JPanel implements Closeable {
 
@@ -25,9 +33,73 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
 	protected List<Component> components = new ArrayList<>();
     protected BeanFactory beanFactory = Factory.getInstance(BeanFactory.class);
 
+    /** The number of fields, including the deferred fields. */
+    private int nrFields;
+
+    /** The index of the deferred field whose label and bean are being created; -1 if no deferred field is created. */
+    private int indexOfCreatedDeferredField = -1;
+
+    private boolean fieldsDeferred;
+
+    /** Contains the fields whose labels and beans have not been created yet. */
+    private final List<Runnable> deferredFields = new ArrayList<>();
+
     public AbstractInputFieldsPanel() {
         super(new GridBagLayout());
         setOpaque(false);
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+                createDeferredFields();
+            }
+        });
+    }
+
+    /**
+     * Lays out the fields with a {@link FormLayout} instead of a GridBagLayout. A FormLayout caches the sizes of
+     * the components, so panels with many fields are laid out faster. It requires that each component is added with
+     * constraints that specify a single cell at an absolute position. This method must be called before fields
+     * or other components are added.
+     */
+    public void useFormLayout() {
+        if (getComponentCount() > 0 || nrFields > 0) {
+            throw new IllegalStateException("The form layout must be used before fields are added");
+        }
+        setLayout(new FormLayout());
+    }
+
+    /**
+     * Specifies whether the beans of fields that are added after this call are created immediately or
+     * when this panel is shown for the first time. By default beans are created immediately.
+     * @param fieldsDeferred true to create the beans when this panel is shown for the first time
+     */
+    public void setFieldsDeferred(boolean fieldsDeferred) {
+        this.fieldsDeferred = fieldsDeferred;
+    }
+
+    /**
+     * Creates the labels and beans of the deferred fields. This method is called automatically when this panel
+     * is shown for the first time.
+     */
+    public void createDeferredFields() {
+        if (!deferredFields.isEmpty()) {
+            Runnable[] fields = deferredFields.toArray(new Runnable[deferredFields.size()]);
+            deferredFields.clear();
+            for (Runnable field : fields) {
+                field.run();
+            }
+            revalidate();
+            repaint();
+        }
+    }
+
+    /**
+     * Gets the number of fields that have been added, including the fields whose beans have not been created yet.
+     * While the label and bean of a deferred field are created, this is the number of fields that were added
+     * before that field, so that the constraints of the label are the same as when the field was added.
+     * @return the number of fields
+     */
+    protected int getNrFields() {
+        return indexOfCreatedDeferredField >= 0 ? indexOfCreatedDeferredField : nrFields;
     }
 
     /**
@@ -49,7 +121,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the text field
      */
     public void addReadonlyField(String labelId, StringModel model) {
-        addVariableSizeField(labelId, beanFactory.createLabel(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createLabel(model).getComponent());
     }
 
 
@@ -59,7 +131,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the text field
      */
     public void addField(String labelId, StringModel model) {
-        addVariableSizeField(labelId, beanFactory.createTextFieldBean(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createTextFieldBean(model).getComponent());
     }
 
     /**
@@ -70,7 +142,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      *        The value 0 indicates that the width can be determined by the layout manager.
      */
     public void addField(String labelId, StringModel model, int nrColumns) {
-        addVariableSizeField(labelId, beanFactory.createTextFieldBean(model, nrColumns).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createTextFieldBean(model, nrColumns).getComponent());
     }
 
     /**
@@ -79,7 +151,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the text area
      */
     public void addTextArea(String labelId, StringModel model) {
-        addVariableSizeField(labelId, beanFactory.createTextAreaBean(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createTextAreaBean(model).getComponent());
     }
 
     /**
@@ -92,7 +164,29 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      *        The value 0 indicates that the height can be determined by the layout manager.
      */
     public void addTextArea(String labelId, StringModel model, int nrColumns, int nrRows) {
-        addVariableSizeField(labelId, beanFactory.createTextAreaBean(model, nrColumns, nrRows).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createTextAreaBean(model, nrColumns, nrRows).getComponent());
+    }
+
+    /**
+     * Adds a text area that shows the document of a document model.
+     * @param labelId the id of the label that is put in front of the text field
+     * @param model the model controlling the text area
+     */
+    public void addTextArea(String labelId, DocumentModel model) {
+        addVariableSizeField(labelId, () -> beanFactory.createTextAreaBean(model).getComponent());
+    }
+
+    /**
+     * Adds a text area that shows the document of a document model.
+     * @param labelId the id of the label that is put in front of the text field
+     * @param model the model controlling the text area
+     * @param nrColumns the width of the text field as the number of columns.
+     *        The value 0 indicates that the width can be determined by the layout manager.
+     * @param nrRows the height of the text field as the number of rows.
+     *        The value 0 indicates that the height can be determined by the layout manager.
+     */
+    public void addTextArea(String labelId, DocumentModel model, int nrColumns, int nrRows) {
+        addVariableSizeField(labelId, () -> beanFactory.createTextAreaBean(model, nrColumns, nrRows).getComponent());
     }
 
     /**
@@ -101,7 +195,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the text field
      */
     public void addField(String labelId, DoubleModel model) {
-        addVariableSizeField(labelId, beanFactory.createDoubleFieldBean(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createDoubleFieldBean(model).getComponent());
     }
 
     /**
@@ -112,7 +206,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      *        The value 0 indicates that the width can be determined by the layout manager.
      */
     public void addField(String labelId, DoubleModel model, int nrColumns) {
-        addVariableSizeField(labelId, beanFactory.createDoubleFieldBean(model, nrColumns).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createDoubleFieldBean(model, nrColumns).getComponent());
     }
 
    /**
@@ -121,7 +215,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the text field
      */
     public void addField(String labelId, IntegerModel model) {
-        addVariableSizeField(labelId, beanFactory.createIntegerFieldBean(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createIntegerFieldBean(model).getComponent());
     }
 
     /**
@@ -132,7 +226,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      *        The value 0 indicates that the width can be determined by the layout manager.
      */
     public void addField(String labelId, IntegerModel model, int nrColumns) {
-        addVariableSizeField(labelId, beanFactory.createIntegerFieldBean(model, nrColumns).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createIntegerFieldBean(model, nrColumns).getComponent());
     }
 
     /**
@@ -143,7 +237,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      *        The value 0 indicates that the width can be determined by the layout manager.
      */
     public void addPasswordField(String labelId, StringModel model, int nrColumns) {
-        addVariableSizeField(labelId, beanFactory.createPasswordBean(model, nrColumns).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createPasswordBean(model, nrColumns).getComponent());
     }
 
     /**
@@ -152,7 +246,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the check box
      */
     public void addField(String labelId, BooleanModel model) {
-        addVariableSizeField(labelId, beanFactory.createCheckBoxBean(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createCheckBoxBean(model).getComponent());
     }
 
     /**
@@ -161,7 +255,7 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the file seleciton bean
      */
     public void addField(String labelId, FileModel model) {
-        addVariableSizeField(labelId, beanFactory.createFileSelectionBean(model).getComponent());
+        addVariableSizeField(labelId, () -> beanFactory.createFileSelectionBean(model).getComponent());
     }
 
     /**
@@ -174,13 +268,23 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
         addLabelAndFieldWithConstraints(labelId, component, getVariableSizeFieldConstraints());
     }
 
+    /**
+     * Adds a component that is created when it is needed. Use this method to add components for which the general
+     * models (StringModel, DateModel etc.) cannot be used.
+     * @param labelId the id of the label that is put in front of the component
+     * @param componentSupplier creates the component
+     */
+    public void addVariableSizeField(String labelId, Supplier<JComponent> componentSupplier) {
+        addLabelAndFieldWithConstraints(labelId, componentSupplier, getVariableSizeFieldConstraints());
+    }
+
     /**
      * Adds a field to edit a string.
      * @param labelId the id of the label that is put in front of the text field
      * @param model the model controlling the text field
      */
     public void addField(String labelId, DateModel model) {
-        addLabelAndFieldWithConstraints(labelId, beanFactory.createDateSelectionBean(model).getComponent(),
+        addLabelAndFieldWithConstraints(labelId, () -> beanFactory.createDateSelectionBean(model).getComponent(),
         		getFixedSizeFieldConstraints());
     }
 
@@ -190,30 +294,74 @@ public abstract class AbstractInputFieldsPanel extends JPanel implements Closeab
      * @param model the model controlling the combo box
      */
     public <T> void addComboBoxField(String labelId, ListModel<T> model, ObjectFormatter<T> itemFormatter) {
-    	Bean bean = beanFactory.createComboBoxBean(model, itemFormatter);
-        addLabelAndFieldWithConstraints(labelId, bean.getComponent(), getFixedSizeFieldConstraints());
+        addLabelAndFieldWithConstraints(labelId, () -> beanFactory.createComboBoxBean(model, itemFormatter).getComponent(),
+                getFixedSizeFieldConstraints());
     }
 
+    /**
+     * Adds a label and a field. All fields are added by this method, also the fields that are added with
+     * a supplier, so subclasses can override this method to change how fields are added.
+     * @param labelId the id of the label that is put in front of the component
+     * @param component the component
+     * @param constraints the constraints of the component
+     */
     protected void addLabelAndFieldWithConstraints(String labelId, JComponent component, GridBagConstraints constraints) {
         JLabel label = Factory.getInstance(WidgetFactory.class).createLabel(labelId, component);
         add(label, getLabelConstraints());
         add(component, constraints);
         components.add(component);
+        if (indexOfCreatedDeferredField < 0) {
+            nrFields++;
+        }
+    }
+
+    /**
+     * Adds a label and a field. If fields are deferred and this panel is not showing, then the component is
+     * created and added by {@link #addLabelAndFieldWithConstraints(String, JComponent, GridBagConstraints)}
+     * when this panel is shown for the first time.
+     * @param labelId the id of the label that is put in front of the component
+     * @param componentSupplier creates the component
+     * @param constraints the constraints of the component
+     */
+    protected void addLabelAndFieldWithConstraints(String labelId, Supplier<JComponent> componentSupplier,
+            GridBagConstraints constraints) {
+        if (fieldsDeferred && !isShowing()) {
+            int fieldIndex = nrFields++;
+            deferredFields.add(() -> {
+                indexOfCreatedDeferredField = fieldIndex;
+                try {
+                    addLabelAndFieldWithConstraints(labelId, componentSupplier.get(), constraints);
+                } finally {
+                    indexOfCreatedDeferredField = -1;
+                }
+            });
+        } else {
+            addLabelAndFieldWithConstraints(labelId, componentSupplier.get(), constraints);
+        }
     }
 
 	protected abstract GridBagConstraints getLabelConstraints();
 	protected abstract GridBagConstraints getFixedSizeFieldConstraints();
 	protected abstract GridBagConstraints getVariableSizeFieldConstraints();
 
+    /**
+     * Requests the focus for the first field. Deferred fields are created first.
+     */
     @Override
     public void requestFocus() {
+    	createDeferredFields();
     	if (!components.isEmpty()) {
     		components.get(0).requestFocus();
     	}
     }
 
+    /**
+     * Requests the focus for the first field. Deferred fields are created first.
+     * @return false if the request is guaranteed to fail; true if it is likely to succeed
+     */
     @Override
     public boolean requestFocusInWindow() {
+    	createDeferredFields();
     	if (!components.isEmpty()) {
     		return components.get(0).requestFocusInWindow();
     	} else {
@@ -3,11 +3,11 @@ package nl.gogognome.lib.gui.beans;
 import nl.gogognome.lib.swing.SwingUtils;
 import nl.gogognome.lib.swing.models.AbstractModel;
 import nl.gogognome.lib.swing.models.ModelChangeListener;
+import nl.gogognome.lib.util.ComparatorUtil;
 
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.border.LineBorder;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.FocusListener;
 import java.text.ParseException;
@@ -15,16 +15,27 @@ import java.text.ParseException;
 /**
  * Base class for a text field bean. Make sure that after instantiation
  * first the method {@link #initBean()} is called.
+ *
+ * <p>The {@link CommitPolicy} determines when the text entered by the user is parsed and copied to the model.
+ * By default this happens after each change of the text. Text that has not been committed yet is kept
+ * when the model notifies its listeners without changing its value, for example after validation.
  */
 public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends JPanel implements Bean {
 
+    private final static Border VALID_INPUT_BORDER = new LineBorder(Color.GRAY);
+    private final static Border INVALID_INPUT_BORDER = new LineBorder(Color.RED);
+
 	protected M model;
     private ModelChangeListener modelChangeListener;
 
     private int horizontalAlignment = JTextField.LEFT;
     private final int nrColumns;
     private JTextField textField;
-    private DocumentListener documentListener;
+    private CommitPolicy commitPolicy = CommitPolicy.immediate();
+    private UserInputCommitter userInputCommitter;
+
+    /** The value of the model after the text was last copied from or to the model. */
+    private Object committedValue;
 
     /**
      * Constructor.
@@ -52,6 +63,17 @@ public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends
         }
     }
 
+    /**
+     * Sets the policy that determines when the entered text is parsed and copied to the model.
+     * @param commitPolicy the commit policy
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+        if (userInputCommitter != null) {
+            userInputCommitter.setCommitPolicy(commitPolicy);
+        }
+    }
+
     @Override
 	public void initBean() {
         setOpaque(false);
@@ -64,8 +86,9 @@ public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends
         modelChangeListener = m -> updateTextField();
         model.addModelChangeListener(modelChangeListener);
 
-        documentListener = new ParseUserInputOnDocumentChangeListener();
-        textField.getDocument().addDocumentListener(documentListener);
+        userInputCommitter = new UserInputCommitter(textField, this::parseUserInput);
+        userInputCommitter.setCommitPolicy(commitPolicy);
+        userInputCommitter.install();
 
 		if (nrColumns == 0) {
 			// Let text field fill all available horizontal space
@@ -91,8 +114,8 @@ public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends
 
     @Override
 	public void close() {
+        userInputCommitter.uninstall();
         model.removeModelChangeListener(modelChangeListener);
-        textField.getDocument().removeDocumentListener(documentListener);
     }
 
     @Override
@@ -110,11 +133,29 @@ public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends
      */
     private void updateTextField() {
     	textField.setEnabled(model.isEnabled());
+        if (userInputCommitter != null && userInputCommitter.isCommitPending()
+                && ComparatorUtil.equals(model.getValue(), committedValue)) {
+            return;
+        }
         String string = getStringFromModel();
-        if (string != null) {
-            textField.setText(string);
+        if (userInputCommitter == null) {
+            setText(string);
         } else {
-            textField.setText("");
+            userInputCommitter.changeTextWithoutCommit(() -> setText(string));
+            parseUserInput();
+        }
+        committedValue = model.getValue();
+    }
+
+    /**
+     * Sets the text of the text field. The text field is not changed if it already contains the text,
+     * so that the caret keeps its position.
+     * @param string the text; <code>null</code> represents an empty text
+     */
+    private void setText(String string) {
+        String text = string != null ? string : "";
+        if (!text.equals(textField.getText())) {
+            textField.setText(text);
         }
     }
 
@@ -131,16 +172,23 @@ public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends
     private void parseUserInput() {
         try {
             parseUserInput(textField.getText(), modelChangeListener);
-            textField.setBorder(new LineBorder(Color.GRAY));
+            committedValue = model.getValue();
+            setTextFieldBorder(VALID_INPUT_BORDER);
         } catch (ParseException e) {
             if (!textField.getText().isEmpty()) {
-                textField.setBorder(new LineBorder(Color.RED));
+                setTextFieldBorder(INVALID_INPUT_BORDER);
             } else {
-                textField.setBorder(new LineBorder(Color.GRAY));
+                setTextFieldBorder(VALID_INPUT_BORDER);
             }
         }
     }
 
+    private void setTextFieldBorder(Border border) {
+        if (textField.getBorder() != border) {
+            textField.setBorder(border);
+        }
+    }
+
     /**
      * Parses the entered text and updates the model with the parsed value.
      * @param text the entered text
@@ -158,21 +206,4 @@ public abstract class AbstractTextFieldBean<M extends AbstractModel<?>> extends
     public boolean requestFocusInWindow() {
     	return textField.requestFocusInWindow();
     }
-
-    private final class ParseUserInputOnDocumentChangeListener implements DocumentListener {
-    	@Override
-    	public void changedUpdate(DocumentEvent evt) {
-    		parseUserInput();
-    	}
-
-    	@Override
-    	public void insertUpdate(DocumentEvent evt) {
-    		parseUserInput();
-    	}
-
-    	@Override
-    	public void removeUpdate(DocumentEvent evt) {
-    		parseUserInput();
-    	}
-    }
 }
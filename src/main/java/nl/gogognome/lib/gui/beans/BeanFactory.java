@@ -17,10 +17,30 @@ public class BeanFactory {
 
     private final TextResource textResource;
 
+    private CommitPolicy commitPolicy = CommitPolicy.immediate();
+
     public BeanFactory(TextResource textResource) {
         this.textResource = textResource;
     }
 
+    /**
+     * Sets the commit policy for text field and text area beans that are created after this call.
+     * @param commitPolicy the commit policy
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+    }
+
+    private <B extends AbstractTextFieldBean<?>> B withCommitPolicy(B bean) {
+        bean.setCommitPolicy(commitPolicy);
+        return bean;
+    }
+
+    private TextAreaBean withCommitPolicy(TextAreaBean bean) {
+        bean.setCommitPolicy(commitPolicy);
+        return bean;
+    }
+
     /**
      * Creates a check box bean for the specified model.
      * @param model the model
@@ -92,7 +112,7 @@ public class BeanFactory {
      * @return the text field bean
      */
     public Bean createTextFieldBean(StringModel model) {
-        Bean bean = new ErrorMessageDecorator(new TextFieldBean(model), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new TextFieldBean(model)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -105,6 +125,7 @@ public class BeanFactory {
     public Bean createRightAlignedTextFieldBean(StringModel model) {
         TextFieldBean textFieldBean = new TextFieldBean(model);
         textFieldBean.setHorizontalAlignment(JTextField.RIGHT);
+        textFieldBean.setCommitPolicy(commitPolicy);
         Bean bean = new ErrorMessageDecorator(textFieldBean, model, textResource);
         bean.initBean();
         return bean;
@@ -117,7 +138,7 @@ public class BeanFactory {
      * @return the text field bean
      */
     public Bean createTextFieldBean(StringModel model, int nrColumns) {
-        Bean bean = new ErrorMessageDecorator(new TextFieldBean(model, nrColumns), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new TextFieldBean(model, nrColumns)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -128,7 +149,7 @@ public class BeanFactory {
      * @return the text area bean
      */
     public Bean createTextAreaBean(StringModel model) {
-        Bean bean = new ErrorMessageDecorator(new TextAreaBean(model), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new TextAreaBean(model)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -141,6 +162,30 @@ public class BeanFactory {
      * @return the text area bean
      */
     public Bean createTextAreaBean(StringModel model, int nrColumns, int nrRows) {
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new TextAreaBean(model, nrColumns, nrRows)), model, textResource);
+        bean.initBean();
+        return bean;
+    }
+
+    /**
+     * Creates a text area bean that shows the document of the specified document model.
+     * @param model the document model
+     * @return the text area bean
+     */
+    public Bean createTextAreaBean(DocumentModel model) {
+        Bean bean = new ErrorMessageDecorator(new TextAreaBean(model), model, textResource);
+        bean.initBean();
+        return bean;
+    }
+
+    /**
+     * Creates a text area bean that shows the document of the specified document model.
+     * @param model the document model
+     * @param nrColumns the number of columns
+     * @param nrRows the number of rows
+     * @return the text area bean
+     */
+    public Bean createTextAreaBean(DocumentModel model, int nrColumns, int nrRows) {
         Bean bean = new ErrorMessageDecorator(new TextAreaBean(model, nrColumns, nrRows), model, textResource);
         bean.initBean();
         return bean;
@@ -164,7 +209,7 @@ public class BeanFactory {
      * @return the double field bean
      */
     public Bean createDoubleFieldBean(DoubleModel model) {
-        Bean bean = new ErrorMessageDecorator(new DoubleFieldBean(model), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new DoubleFieldBean(model)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -176,7 +221,7 @@ public class BeanFactory {
      * @return the double field bean
      */
     public Bean createDoubleFieldBean(DoubleModel model, int nrColumns) {
-        Bean bean = new ErrorMessageDecorator(new DoubleFieldBean(model, nrColumns), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new DoubleFieldBean(model, nrColumns)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -187,7 +232,7 @@ public class BeanFactory {
      * @return the integer field bean
      */
     public Bean createIntegerFieldBean(IntegerModel model) {
-        Bean bean = new ErrorMessageDecorator(new IntegerFieldBean(model), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new IntegerFieldBean(model)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -199,7 +244,7 @@ public class BeanFactory {
      * @return the integer field bean
      */
     public Bean createIntegerFieldBean(IntegerModel model, int nrColumns) {
-        Bean bean = new ErrorMessageDecorator(new IntegerFieldBean(model, nrColumns), model, textResource);
+        Bean bean = new ErrorMessageDecorator(withCommitPolicy(new IntegerFieldBean(model, nrColumns)), model, textResource);
         bean.initBean();
         return bean;
     }
@@ -210,7 +255,8 @@ public class BeanFactory {
      * @return the date field bean
      */
     public Bean createDateSelectionBean(DateModel model) {
-        Bean bean = new ErrorMessageDecorator(new DateSelectionBean(model, Calendar.getInstance(textResource.getLocale())), model, textResource);
+        Bean bean = new ErrorMessageDecorator(
+                withCommitPolicy(new DateSelectionBean(model, Calendar.getInstance(textResource.getLocale()))), model, textResource);
         bean.initBean();
         return bean;
     }
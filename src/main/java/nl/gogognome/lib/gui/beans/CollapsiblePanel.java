@@ -8,7 +8,14 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-
+import java.util.function.Supplier;
+
+/**
+ * This class implements a panel with a header and contents. Clicking on the header shows or hides the contents.
+ *
+ * <p>The contents can be supplied when they are shown for the first time. Models used by the contents
+ * should be created outside of the supplier, so that they can be used before the contents exist.
+ */
 public class CollapsiblePanel extends JPanel {
 
     private JPanel headerPanel;
@@ -16,22 +23,51 @@ public class CollapsiblePanel extends JPanel {
 
     private BooleanModel collapsedModel = new BooleanModel();
 
+    /** Creates the contents. Null if the contents have been created. */
+    private Supplier<? extends Component> contentsSupplier;
+
     public CollapsiblePanel(Component contents) {
         this(null, contents);
     }
 
     public CollapsiblePanel(String title, Component contents) {
+        this(title, () -> contents);
+        createContents();
+    }
+
+    /**
+     * Constructor.
+     * @param contentsSupplier creates the contents when they are shown for the first time
+     */
+    public CollapsiblePanel(Supplier<? extends Component> contentsSupplier) {
+        this(null, contentsSupplier);
+    }
+
+    /**
+     * Constructor.
+     * @param title the title; may be <code>null</code>
+     * @param contentsSupplier creates the contents when they are shown for the first time
+     */
+    public CollapsiblePanel(String title, Supplier<? extends Component> contentsSupplier) {
         setLayout(new BorderLayout());
 
         headerPanel = createHeader(title);
         add(headerPanel, BorderLayout.NORTH);
 
-        contentsPanel = createContentsPanel(contents);
+        this.contentsSupplier = contentsSupplier;
+        contentsPanel = createContentsPanel();
         add(contentsPanel, BorderLayout.CENTER);
 
         collapsedModel.addModelChangeListener(m -> onToggle());
     }
 
+    /**
+     * @return <code>true</code> if the contents have been created; <code>false</code> otherwise
+     */
+    public boolean isContentsCreated() {
+        return contentsSupplier == null;
+    }
+
     private JPanel createHeader(String title) {
         HeaderPanel panel = new HeaderPanel();
         panel.setLayout(new BorderLayout());
@@ -52,14 +88,24 @@ public class CollapsiblePanel extends JPanel {
         return panel;
     }
 
-    private JPanel createContentsPanel(Component contents) {
+    private JPanel createContentsPanel() {
         JPanel contentsPanel = new JPanel(new BorderLayout());
-        contentsPanel.add(contents, BorderLayout.CENTER);
         contentsPanel.setVisible(collapsedModel.getBoolean());
         return contentsPanel;
     }
 
+    private void createContents() {
+        if (contentsSupplier != null) {
+            Supplier<? extends Component> supplier = contentsSupplier;
+            contentsSupplier = null;
+            contentsPanel.add(supplier.get(), BorderLayout.CENTER);
+        }
+    }
+
     private void onToggle() {
+        if (collapsedModel.getBoolean()) {
+            createContents();
+        }
         contentsPanel.setVisible(collapsedModel.getBoolean());
         Component root = SwingUtilities.getRoot(this);
         if (root instanceof JDialog) {
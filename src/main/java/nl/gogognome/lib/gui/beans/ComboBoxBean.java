@@ -1,36 +1,30 @@
 package nl.gogognome.lib.gui.beans;
 
 import java.awt.Component;
-import java.awt.event.ItemEvent;
-import java.awt.event.ItemListener;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicComboBoxRenderer;
 
 import nl.gogognome.lib.swing.JComboBoxWithKeyboardInput;
-import nl.gogognome.lib.swing.models.AbstractModel;
 import nl.gogognome.lib.swing.models.ListModel;
-import nl.gogognome.lib.swing.models.ModelChangeListener;
+import nl.gogognome.lib.swing.models.ListModelEvent;
+import nl.gogognome.lib.swing.models.ListModelListener;
 
 /**
  * This class implements a bean for selecting an item in a list of items.
+ *
+ * <p>The combo box shows the items of the list model directly, without copying them.
+ * The string representations of the items are determined when they are needed.
  */
 public class ComboBoxBean<T> extends JComboBoxWithKeyboardInput implements Bean {
 
 	private static final long serialVersionUID = 1L;
 
-	private List<T> items;
-
 	private ListModel<T> listModel;
 
-	private ModelChangeListener modelChangeListener;
-
-	private ItemListener itemListener;
+	private ListModelComboBoxModel<T> comboBoxModel;
 
-	private ObjectFormatter<T> itemFormatter;
+	private ListModelListener<T> listModelListener;
 
 	/**
 	 * Constructor.
@@ -39,24 +33,23 @@ public class ComboBoxBean<T> extends JComboBoxWithKeyboardInput implements Bean
 	public ComboBoxBean(ListModel<T> listModel) {
 		super();
 		this.listModel = listModel;
+		comboBoxModel = new ListModelComboBoxModel<T>(listModel);
 	}
 
 	@Override
 	public void initBean() {
-		updateItems();
-
-		int index = listModel.getSelectedIndex();
-		if (0 <= index && index < getItemCount()) {
-			setSelectedIndex(index);
-		}
-
-		modelChangeListener = model -> onModelChanged();
+		comboBoxModel.install();
+		setComboBoxModel();
+		updateItemStrings();
 
-		listModel.addModelChangeListener(modelChangeListener);
+		listModelListener = this::onListModelChanged;
+		listModel.addListModelListener(listModelListener);
+		setEnabled(listModel.isEnabled());
+	}
 
-		itemListener = e -> updateSelectedItemInModel();
-		addItemListener(itemListener);
-		updateSelectionInCombobox();
+	@SuppressWarnings("unchecked") // JComboBoxWithKeyboardInput extends the raw type JComboBox
+	private void setComboBoxModel() {
+		setModel(comboBoxModel);
 	}
 
     @Override
@@ -64,57 +57,37 @@ public class ComboBoxBean<T> extends JComboBoxWithKeyboardInput implements Bean
         return this;
     }
 
-    private void updateSelectionInCombobox() {
-		setSelectedIndex(listModel.getSelectedIndex());
-	}
-
 	public void setItemFormatter(ObjectFormatter<T> itemFormatter) {
-		this.itemFormatter = itemFormatter;
+		comboBoxModel.setItemFormatter(itemFormatter);
 		if (itemFormatter != null) {
-			setRenderer(new ItemFormatterRenderer<T>(itemFormatter));
+			setRenderer(new ItemFormatterRenderer<T>(comboBoxModel));
 		} else {
 			setRenderer(new DefaultListCellRenderer());
 		}
-		updateItems();
+		updateItemStrings();
 	}
 
-	private void updateItems() {
-		int prevSelIndex = getSelectedIndex();
-		removeAllItems();
-		items = new ArrayList<T>(listModel.getItems());
-		for (T item : listModel.getItems()) {
-			if (itemFormatter != null) {
-				addItemWithStringRepresentation(item, itemFormatter.format(item));
-			} else {
-				addItem(item);
-			}
-		}
-		setSelectedIndex(prevSelIndex);
+	private void updateItemStrings() {
+		setItemStrings(comboBoxModel::getFormattedItem);
 	}
 
-	private void onModelChanged() {
-		if (!Arrays.equals(listModel.getItems().toArray(), items.toArray())) {
-			updateItems();
-		}
-
-		if (getSelectedIndex() != listModel.getSelectedIndex()) {
-			updateSelectionInCombobox();
-		}
-
-		setEnabled(listModel.isEnabled());
-	}
-
-	private void updateSelectedItemInModel() {
-		if (getSelectedIndex() != listModel.getSelectedIndex()) {
-			listModel.setSelectedIndex(getSelectedIndex(), modelChangeListener);
+	private void onListModelChanged(ListModelEvent<T> event) {
+		switch (event.getType()) {
+			case ENABLED_CHANGED:
+				setEnabled(listModel.isEnabled());
+				break;
+			case SELECTION_CHANGED:
+				break;
+			default:
+				updateItemStrings();
 		}
 	}
 
 	@Override
 	public void close() {
 		super.close();
-		listModel.removeModelChangeListener(modelChangeListener);
-		removeItemListener(itemListener);
+		listModel.removeListModelListener(listModelListener);
+		comboBoxModel.uninstall();
 	}
 }
 
@@ -122,20 +95,20 @@ class ItemFormatterRenderer<T> extends BasicComboBoxRenderer {
 
 	private static final long serialVersionUID = 1L;
 
-	private ObjectFormatter<T> itemFormatter;
+	private ListModelComboBoxModel<T> comboBoxModel;
 
-	public ItemFormatterRenderer(ObjectFormatter<T> itemFormatter) {
+	public ItemFormatterRenderer(ListModelComboBoxModel<T> comboBoxModel) {
 		super();
-		this.itemFormatter = itemFormatter;
+		this.comboBoxModel = comboBoxModel;
 	}
 
 	@Override
 	public Component getListCellRendererComponent(JList list, Object value,
 			int index, boolean isSelected, boolean cellHasFocus) {
 
-		String formattedValue = itemFormatter.format((T) value);
+		String formattedValue = comboBoxModel.getFormattedItem((T) value, index);
 
 		return super.getListCellRendererComponent(list, formattedValue, index, isSelected,
 				cellHasFocus);
 	}
-}
\ No newline at end of file
+}
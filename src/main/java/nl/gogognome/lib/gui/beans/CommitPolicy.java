@@ -0,0 +1,68 @@
+package nl.gogognome.lib.gui.beans;
+
+/**
+ * This class specifies when a bean copies the text entered by the user to its model.
+ * Instances are immutable.
+ */
+public class CommitPolicy {
+
+    public enum Mode {
+        /** The text is copied to the model after each change of the text. */
+        IMMEDIATE,
+
+        /** The text is copied to the model when the user has not changed the text for some time. */
+        DEBOUNCED,
+
+        /** The text is copied to the model when the input component loses the focus or when the user presses enter. */
+        ON_FOCUS_LOST_OR_ENTER
+    }
+
+    private final static CommitPolicy IMMEDIATE = new CommitPolicy(Mode.IMMEDIATE, 0);
+    private final static CommitPolicy ON_FOCUS_LOST_OR_ENTER = new CommitPolicy(Mode.ON_FOCUS_LOST_OR_ENTER, 0);
+
+    private final Mode mode;
+    private final int delayMilliseconds;
+
+    private CommitPolicy(Mode mode, int delayMilliseconds) {
+        this.mode = mode;
+        this.delayMilliseconds = delayMilliseconds;
+    }
+
+    /**
+     * @return a policy that copies the text after each change
+     */
+    public static CommitPolicy immediate() {
+        return IMMEDIATE;
+    }
+
+    /**
+     * Gets a policy that copies the text when the user has not changed the text for the specified delay.
+     * Pending changes are also copied when the input component loses the focus or when the user presses enter.
+     * @param delayMilliseconds the delay in milliseconds
+     * @return the policy
+     */
+    public static CommitPolicy debounced(int delayMilliseconds) {
+        if (delayMilliseconds <= 0) {
+            throw new IllegalArgumentException("The delay must be positive");
+        }
+        return new CommitPolicy(Mode.DEBOUNCED, delayMilliseconds);
+    }
+
+    /**
+     * @return a policy that copies the text when the input component loses the focus or when the user presses enter
+     */
+    public static CommitPolicy onFocusLostOrEnter() {
+        return ON_FOCUS_LOST_OR_ENTER;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the delay in milliseconds for the {@link Mode#DEBOUNCED} mode; 0 for the other modes
+     */
+    public int getDelayMilliseconds() {
+        return delayMilliseconds;
+    }
+}
@@ -4,11 +4,21 @@ import nl.gogognome.lib.swing.WidgetFactory;
 import nl.gogognome.lib.swing.models.AbstractModel;
 import nl.gogognome.lib.swing.models.ModelChangeListener;
 import nl.gogognome.lib.text.TextResource;
-import nl.gogognome.lib.util.Factory;
 
 import javax.swing.*;
 import java.awt.*;
-
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class decorates a bean with a label that shows the error messages of the model of the bean.
+ *
+ * <p>The label is created when the model reports an error for the first time, so beans whose input is
+ * never invalid get no extra components. The error messages are only formatted again if the
+ * {@link AbstractModel#getErrorVersion() error version} of the model has changed or, for models that
+ * modify their error resource ids directly, if the resource ids differ from the ids that are shown.
+ */
 public class ErrorMessageDecorator implements Bean {
 
     private final AbstractModel<?> model;
@@ -19,6 +29,12 @@ public class ErrorMessageDecorator implements Bean {
     private JPanel panel;
     private JLabel errorMessages;
 
+    /** The error version of the model that is shown by the error messages label. */
+    private int errorVersion;
+
+    /** The resource ids of the error messages that are shown by the error messages label. */
+    private List<String> shownErrorResourceIds = Collections.emptyList();
+
     public ErrorMessageDecorator(Bean decoratedBean, AbstractModel<?> model, TextResource textResource) {
         this.decoratedBean = decoratedBean;
         this.model = model;
@@ -27,11 +43,6 @@ public class ErrorMessageDecorator implements Bean {
 
     @Override
     public void initBean() {
-        errorMessages = new JLabel();
-        errorMessages.setIcon(new WidgetFactory(Factory.getInstance(TextResource.class)).createIcon("validationError.icon"));
-        errorMessages.setForeground(Color.RED);
-        errorMessages.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 0));
-
         panel = new JPanel() {
             @Override
             protected boolean requestFocusInWindow(boolean temporary) {
@@ -50,7 +61,6 @@ public class ErrorMessageDecorator implements Bean {
         };
         panel.setLayout(new BorderLayout());
         panel.add(decoratedBean.getComponent(), BorderLayout.CENTER);
-        panel.add(errorMessages, BorderLayout.EAST);
 
         modelChangeListener = this::updateErrorMessages;
         model.addModelChangeListener(modelChangeListener);
@@ -75,8 +85,30 @@ public class ErrorMessageDecorator implements Bean {
         decoratedBean.close();
     }
 
+    /**
+     * Gets the label that shows the error messages.
+     * @return the label or <code>null</code> if no error has been shown yet
+     */
+    JLabel getErrorMessagesLabel() {
+        return errorMessages;
+    }
+
     private void updateErrorMessages(AbstractModel<?> model) {
+        int newErrorVersion = model.getErrorVersion();
+        List<String> errorResourceIds = model.getErrorResourceIds();
+        if (newErrorVersion == errorVersion && errorResourceIds.equals(shownErrorResourceIds)) {
+            return;
+        }
+        errorVersion = newErrorVersion;
+        shownErrorResourceIds = new ArrayList<>(errorResourceIds);
+
         String newErrorMessages = formatErrorMessages(model);
+        if (errorMessages == null) {
+            if (newErrorMessages == null) {
+                return;
+            }
+            createErrorMessagesLabel();
+        }
         String oldErrorMessages = errorMessages.getText();
         if (oldErrorMessages == null || !oldErrorMessages.equals(newErrorMessages)) {
             errorMessages.setText(newErrorMessages);
@@ -85,6 +117,15 @@ public class ErrorMessageDecorator implements Bean {
         errorMessages.setVisible(newErrorMessages != null);
     }
 
+    private void createErrorMessagesLabel() {
+        errorMessages = new JLabel();
+        errorMessages.setIcon(new WidgetFactory(textResource).createIcon("validationError.icon"));
+        errorMessages.setForeground(Color.RED);
+        errorMessages.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 0));
+        panel.add(errorMessages, BorderLayout.EAST);
+        panel.revalidate();
+    }
+
     private String formatErrorMessages(AbstractModel<?> model) {
         String newErrorMessages = model.getErrorResourceIds().stream().map(id -> textResource.getString(id)).reduce((t, u) -> t + ' ' + u).orElse(null);
         if (newErrorMessages != null && newErrorMessages.isEmpty()) {
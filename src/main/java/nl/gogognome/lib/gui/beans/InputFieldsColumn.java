@@ -25,22 +25,22 @@ public class InputFieldsColumn extends AbstractInputFieldsPanel {
 		// an InputFIeldsColumn.
 		addLabelAndFieldWithConstraints(
 				labelId,
-				beanFactory.createDateSelectionBean(model).getComponent(),
+				() -> beanFactory.createDateSelectionBean(model).getComponent(),
 				getVariableSizeFieldConstraints());
 	}
 
 	@Override
 	protected GridBagConstraints getLabelConstraints() {
-		return SwingUtils.createLabelGBConstraints(0, components.size());
+		return SwingUtils.createLabelGBConstraints(0, getNrFields());
 	}
 
 	@Override
 	protected GridBagConstraints getFixedSizeFieldConstraints() {
-		return SwingUtils.createLabelGBConstraints(1, components.size());
+		return SwingUtils.createLabelGBConstraints(1, getNrFields());
 	}
 
 	@Override
 	protected GridBagConstraints getVariableSizeFieldConstraints() {
-		return SwingUtils.createTextFieldGBConstraints(1, components.size());
+		return SwingUtils.createTextFieldGBConstraints(1, getNrFields());
 	}
 }
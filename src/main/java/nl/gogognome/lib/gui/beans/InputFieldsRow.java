@@ -25,8 +25,8 @@ public class InputFieldsRow extends AbstractInputFieldsPanel {
 
 	@Override
 	protected GridBagConstraints getLabelConstraints() {
-		GridBagConstraints gbc = SwingUtils.createLabelGBConstraints(2 * components.size(), 0);
-		if (!components.isEmpty()) {
+		GridBagConstraints gbc = SwingUtils.createLabelGBConstraints(2 * getNrFields(), 0);
+		if (getNrFields() > 0) {
 			gbc.insets.left += 10;
 		}
 		return gbc;
@@ -34,11 +34,11 @@ public class InputFieldsRow extends AbstractInputFieldsPanel {
 
 	@Override
 	protected GridBagConstraints getFixedSizeFieldConstraints() {
-		return SwingUtils.createLabelGBConstraints(2 * components.size() + 1, 0);
+		return SwingUtils.createLabelGBConstraints(2 * getNrFields() + 1, 0);
 	}
 
 	@Override
 	protected GridBagConstraints getVariableSizeFieldConstraints() {
-		return SwingUtils.createTextFieldGBConstraints(2 * components.size() + 1, 0);
+		return SwingUtils.createTextFieldGBConstraints(2 * getNrFields() + 1, 0);
 	}
 }
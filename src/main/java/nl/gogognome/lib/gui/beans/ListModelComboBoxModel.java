@@ -0,0 +1,209 @@
+package nl.gogognome.lib.gui.beans;
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+
+import nl.gogognome.lib.swing.models.ListModel;
+import nl.gogognome.lib.swing.models.ListModelEvent;
+import nl.gogognome.lib.swing.models.ListModelListener;
+
+/**
+ * This class adapts a {@link ListModel} to a {@link ComboBoxModel}. The items of the list model are
+ * not copied: the combo box reads them directly from the list model. The selected item of the combo box
+ * is the selected item of the list model.
+ *
+ * <p>The string representations of the items are determined when they are needed for the first time and
+ * are cached until the items change. Changes of the list model are passed on as events for exactly
+ * the changed items, so that the items never need to be compared one by one.
+ *
+ * <p>An item that is selected by the combo box has normally just been returned by {@link #getElementAt(int)}.
+ * Its index is remembered, so that selecting the item needs no search and selects exactly that item,
+ * even if the list model contains equal items.
+ *
+ * <p>This class must be used on the AWT event thread.
+ */
+class ListModelComboBoxModel<T> extends AbstractListModel<T> implements ComboBoxModel<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final static String[] NO_FORMATTED_ITEMS = new String[0];
+
+    private final ListModel<T> listModel;
+
+    private ObjectFormatter<T> itemFormatter;
+
+    private final ListModelListener<T> listModelListener = this::onListModelChanged;
+
+    /** Contains the string representations of the items. An element is null if it has not been determined yet. */
+    private String[] formattedItems = NO_FORMATTED_ITEMS;
+
+    /** The index of the item that was last returned by {@link #getElementAt(int)}; -1 if no item has been returned yet. */
+    private int lastElementIndex = -1;
+
+    /**
+     * Constructor.
+     * @param listModel the list model
+     */
+    public ListModelComboBoxModel(ListModel<T> listModel) {
+        this.listModel = listModel;
+    }
+
+    /**
+     * Starts listening to changes of the list model.
+     */
+    public void install() {
+        listModel.addListModelListener(listModelListener);
+    }
+
+    /**
+     * Stops listening to changes of the list model.
+     */
+    public void uninstall() {
+        listModel.removeListModelListener(listModelListener);
+    }
+
+    /**
+     * Sets the formatter that determines the string representations of the items.
+     * @param itemFormatter the formatter; <code>null</code> to use the <code>toString()</code> method of the items
+     */
+    public void setItemFormatter(ObjectFormatter<T> itemFormatter) {
+        this.itemFormatter = itemFormatter;
+        formattedItems = NO_FORMATTED_ITEMS;
+        int size = getSize();
+        if (size > 0) {
+            fireContentsChanged(this, 0, size - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        List<T> items = listModel.getValue();
+        return items != null ? items.size() : 0;
+    }
+
+    @Override
+    public T getElementAt(int index) {
+        T element = listModel.getValue().get(index);
+        lastElementIndex = index;
+        return element;
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        int index = listModel.getSelectedIndex();
+        return 0 <= index && index < getSize() ? getElementAt(index) : null;
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        listModel.setSelectedIndex(indexOf(item), null);
+    }
+
+    /**
+     * Gets the index of an item. If the item is the item that was last returned by {@link #getElementAt(int)},
+     * then its index is used without searching the items.
+     * @param item the item; can be <code>null</code>
+     * @return the index of the item; -1 if the item is <code>null</code> or not present
+     */
+    private int indexOf(Object item) {
+        if (item == null) {
+            return -1;
+        }
+        List<T> items = listModel.getValue();
+        if (0 <= lastElementIndex && lastElementIndex < items.size() && items.get(lastElementIndex) == item) {
+            return lastElementIndex;
+        }
+        return items.indexOf(item);
+    }
+
+    /**
+     * Gets the string representation of an item.
+     * @param index the index of the item
+     * @return the string representation
+     */
+    public String getFormattedItem(int index) {
+        int size = getSize();
+        if (formattedItems.length != size) {
+            formattedItems = new String[size];
+        }
+        String formattedItem = formattedItems[index];
+        if (formattedItem == null) {
+            formattedItem = format(getElementAt(index));
+            formattedItems[index] = formattedItem;
+        }
+        return formattedItem;
+    }
+
+    /**
+     * Gets the string representation of an item that is rendered at some index.
+     * @param item the item
+     * @param index the index of the item; -1 if the item is rendered outside of the list
+     * @return the string representation
+     */
+    public String getFormattedItem(T item, int index) {
+        if (index == -1) {
+            index = listModel.getSelectedIndex();
+        }
+        if (0 <= index && index < getSize() && getElementAt(index) == item) {
+            return getFormattedItem(index);
+        }
+        return format(item);
+    }
+
+    private String format(T item) {
+        if (itemFormatter != null) {
+            return itemFormatter.format(item);
+        }
+        return item != null ? item.toString() : "";
+    }
+
+    private void onListModelChanged(ListModelEvent<T> event) {
+        int firstIndex = event.getFirstIndex();
+        int lastIndex = event.getLastIndex();
+        switch (event.getType()) {
+            case ITEMS_ADDED:
+                updateFormattedItems(firstIndex, lastIndex - firstIndex + 1);
+                fireIntervalAdded(this, firstIndex, lastIndex);
+                break;
+            case ITEMS_REMOVED:
+                updateFormattedItems(firstIndex, -(lastIndex - firstIndex + 1));
+                fireIntervalRemoved(this, firstIndex, lastIndex);
+                break;
+            case ITEMS_REPLACED:
+                updateFormattedItems(firstIndex, 0);
+                for (int i=firstIndex; i<=lastIndex && i<formattedItems.length; i++) {
+                    formattedItems[i] = null;
+                }
+                fireContentsChanged(this, firstIndex, lastIndex);
+                break;
+            case SELECTION_CHANGED:
+                fireContentsChanged(this, -1, -1);
+                break;
+            default:
+                // the enabled state is handled by the bean
+        }
+    }
+
+    /**
+     * Keeps the cached string representations of the items that have not changed.
+     * @param index the index of the first inserted or removed item
+     * @param delta the number of inserted items or minus the number of removed items
+     */
+    private void updateFormattedItems(int index, int delta) {
+        int newSize = getSize();
+        if (formattedItems.length + delta != newSize || index > formattedItems.length) {
+            formattedItems = NO_FORMATTED_ITEMS;
+            return;
+        }
+        if (delta != 0) {
+            String[] newFormattedItems = new String[newSize];
+            System.arraycopy(formattedItems, 0, newFormattedItems, 0, index);
+            int nrTrailingItems = delta > 0 ? formattedItems.length - index : newSize - index;
+            System.arraycopy(formattedItems, delta > 0 ? index : index - delta, newFormattedItems,
+                    delta > 0 ? index + delta : index, nrTrailingItems);
+            formattedItems = newFormattedItems;
+        }
+    }
+}
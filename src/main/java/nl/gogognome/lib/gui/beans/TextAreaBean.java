@@ -1,28 +1,44 @@
 package nl.gogognome.lib.gui.beans;
 
 import nl.gogognome.lib.swing.SwingUtils;
+import nl.gogognome.lib.swing.models.DocumentModel;
 import nl.gogognome.lib.swing.models.ModelChangeListener;
 import nl.gogognome.lib.swing.models.StringModel;
+import nl.gogognome.lib.util.ComparatorUtil;
 
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.border.LineBorder;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
 import java.awt.*;
 
 import static java.awt.GridBagConstraints.*;
 
 /**
  * This class implements a bean for entering a <code>String</code>.
+ *
+ * <p>If the bean is created for a {@link DocumentModel}, then the text area shows the document of the model.
+ * Each change made by the user changes the model directly, without copying the text.
+ *
+ * <p>If the bean is created for a {@link StringModel}, then the {@link CommitPolicy} determines when the text entered by the user is copied to the model.
+ * By default this happens after each change of the text. For large texts consider a debounced policy,
+ * because each commit copies the complete text. Text that has not been committed yet is kept
+ * when the model notifies its listeners without changing its value, for example after validation.
  */
 public class TextAreaBean extends JPanel implements Bean {
 
+    private final static Border TEXT_AREA_BORDER = new LineBorder(Color.GRAY);
+
     protected StringModel model;
+    private DocumentModel documentModel;
     private ModelChangeListener modelChangeListener;
     private int nrColumns;
     private int nrRows;
     private JTextArea textArea;
-    private DocumentListener documentListener;
+    private CommitPolicy commitPolicy = CommitPolicy.immediate();
+    private UserInputCommitter userInputCommitter;
+
+    /** The value of the model after the text was last copied from or to the model. */
+    private String committedString;
 
     /**
      * Constructs a text area bean.
@@ -46,42 +62,109 @@ public class TextAreaBean extends JPanel implements Bean {
         this.nrRows = nrRows;
     }
 
+    /**
+     * Constructs a text area bean that shows the document of a document model.
+     * @param documentModel the document model
+     */
+    public TextAreaBean(DocumentModel documentModel) {
+        this(documentModel, 0, 0);
+    }
+
+    /**
+     * Constructs a text area bean that shows the document of a document model.
+     * @param documentModel the document model
+     * @param nrColumns the width of the text field as the number of columns.
+     *        The value 0 indicates that the width can be determined by the layout manager.
+     * @param nrRows the width of the text field as the number of columns.
+     *        The value 0 indicates that the width can be determined by the layout manager.
+     */
+    protected TextAreaBean(DocumentModel documentModel, int nrColumns, int nrRows) {
+        this.documentModel = documentModel;
+        this.nrColumns = nrColumns;
+        this.nrRows = nrRows;
+    }
+
+    /**
+     * Sets the policy that determines when the entered text is copied to the model.
+     * @param commitPolicy the commit policy
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+        if (userInputCommitter != null) {
+            userInputCommitter.setCommitPolicy(commitPolicy);
+        }
+    }
+
     @Override
     public void initBean() {
         setOpaque(false);
         setLayout(new BorderLayout());
 
         if (nrColumns == 0 || nrRows == 0) {
-            textArea = new JTextArea();
+            nrColumns = 0;
+            nrRows = 0;
+        }
+        textArea = new JTextArea(documentModel != null ? documentModel.getDocument() : null, null, nrRows, nrColumns);
+        textArea.setBorder(TEXT_AREA_BORDER);
+
+        if (documentModel != null) {
+            bindToDocumentModel();
         } else {
-            textArea = new JTextArea(nrRows, nrColumns);
+            bindToStringModel();
         }
 
+        JScrollPane scrollPane = new JScrollPane(textArea);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    private void bindToDocumentModel() {
+        textArea.setEnabled(documentModel.isEnabled());
+        modelChangeListener = m -> {
+            textArea.setEnabled(documentModel.isEnabled());
+            if (textArea.getDocument() != documentModel.getDocument()) {
+                textArea.setDocument(documentModel.getDocument());
+            }
+        };
+        documentModel.addModelChangeListener(modelChangeListener);
+    }
+
+    private void bindToStringModel() {
         updateTextAreaWithValuesFromModel();
         updateModelWithValueFromTextArea();
         modelChangeListener = m -> updateTextAreaWithValuesFromModel();
         model.addModelChangeListener(modelChangeListener);
 
-        documentListener = new ParseUserInputOnDocumentChangeListener();
-        textArea.getDocument().addDocumentListener(documentListener);
-
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        add(scrollPane, BorderLayout.CENTER);
+        userInputCommitter = new UserInputCommitter(textArea, this::updateModelWithValueFromTextArea);
+        userInputCommitter.setCommitPolicy(commitPolicy);
+        userInputCommitter.install();
     }
 
     private void updateTextAreaWithValuesFromModel() {
         textArea.setEnabled(model.isEnabled());
         String string = model.getString();
-        if (string != null) {
-            textArea.setText(string);
-        } else {
-            textArea.setText("");
+        if (userInputCommitter == null) {
+            setText(string);
+        } else if (!userInputCommitter.isCommitPending() || !ComparatorUtil.equals(string, committedString)) {
+            userInputCommitter.changeTextWithoutCommit(() -> setText(string));
+        }
+        committedString = string;
+    }
+
+    /**
+     * Sets the text of the text area. The text area is not changed if it already contains the text,
+     * so that the caret keeps its position.
+     * @param string the text; <code>null</code> represents an empty text
+     */
+    private void setText(String string) {
+        String text = string != null ? string : "";
+        if (!text.equals(textArea.getText())) {
+            textArea.setText(text);
         }
     }
 
     private void updateModelWithValueFromTextArea() {
         model.setString(textArea.getText(), modelChangeListener);
-        textArea.setBorder(new LineBorder(Color.GRAY));
+        committedString = model.getString();
     }
 
     @Override
@@ -91,24 +174,11 @@ public class TextAreaBean extends JPanel implements Bean {
 
     @Override
     public void close() {
-        model.removeModelChangeListener(modelChangeListener);
-        textArea.getDocument().removeDocumentListener(documentListener);
-    }
-
-    private final class ParseUserInputOnDocumentChangeListener implements DocumentListener {
-        @Override
-        public void changedUpdate(DocumentEvent evt) {
-            updateModelWithValueFromTextArea();
-        }
-
-        @Override
-        public void insertUpdate(DocumentEvent evt) {
-            updateModelWithValueFromTextArea();
-        }
-
-        @Override
-        public void removeUpdate(DocumentEvent evt) {
-            updateModelWithValueFromTextArea();
+        if (documentModel != null) {
+            documentModel.removeModelChangeListener(modelChangeListener);
+        } else {
+            userInputCommitter.uninstall();
+            model.removeModelChangeListener(modelChangeListener);
         }
     }
 
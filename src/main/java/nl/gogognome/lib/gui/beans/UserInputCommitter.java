@@ -0,0 +1,156 @@
+package nl.gogognome.lib.gui.beans;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+
+/**
+ * This class listens to changes of the text of a text component and commits the text
+ * according to a {@link CommitPolicy}.
+ *
+ * <p>Pressing enter is detected with a key listener instead of an action listener, because a text field
+ * with an action listener does not pass enter to the default button anymore.
+ */
+class UserInputCommitter implements DocumentListener, FocusListener {
+
+    private final JTextComponent textComponent;
+    private final Runnable commitAction;
+    private final Timer debounceTimer;
+    private final KeyListener enterKeyListener = new KeyAdapter() {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                commitPendingChanges();
+            }
+        }
+    };
+
+    private CommitPolicy commitPolicy = CommitPolicy.immediate();
+    private boolean commitPending;
+    private boolean ignoreDocumentChanges;
+
+    /**
+     * Constructor.
+     * @param textComponent the text component
+     * @param commitAction copies the text of the text component to the model
+     */
+    public UserInputCommitter(JTextComponent textComponent, Runnable commitAction) {
+        this.textComponent = textComponent;
+        this.commitAction = commitAction;
+        debounceTimer = new Timer(0, e -> commitPendingChanges());
+        debounceTimer.setRepeats(false);
+    }
+
+    public void install() {
+        textComponent.getDocument().addDocumentListener(this);
+        textComponent.addFocusListener(this);
+        if (textComponent instanceof JTextField) {
+            textComponent.addKeyListener(enterKeyListener);
+        }
+    }
+
+    /**
+     * Commits pending changes and stops listening to the text component.
+     */
+    public void uninstall() {
+        commitPendingChanges();
+        textComponent.getDocument().removeDocumentListener(this);
+        textComponent.removeFocusListener(this);
+        if (textComponent instanceof JTextField) {
+            textComponent.removeKeyListener(enterKeyListener);
+        }
+    }
+
+    /**
+     * Sets the commit policy. Pending changes are committed first.
+     * @param commitPolicy the commit policy
+     */
+    public void setCommitPolicy(CommitPolicy commitPolicy) {
+        commitPendingChanges();
+        this.commitPolicy = commitPolicy;
+        debounceTimer.setInitialDelay(commitPolicy.getDelayMilliseconds());
+    }
+
+    /**
+     * Changes the text component without committing the changes of the text.
+     * @param runnable changes the text component
+     */
+    public void changeTextWithoutCommit(Runnable runnable) {
+        boolean oldIgnoreDocumentChanges = ignoreDocumentChanges;
+        ignoreDocumentChanges = true;
+        try {
+            runnable.run();
+        } finally {
+            ignoreDocumentChanges = oldIgnoreDocumentChanges;
+        }
+        commitPending = false;
+        debounceTimer.stop();
+    }
+
+    /**
+     * Checks whether the text has been changed since the last commit.
+     * @return true if the text has been changed since the last commit; false otherwise
+     */
+    public boolean isCommitPending() {
+        return commitPending;
+    }
+
+    /**
+     * Commits the text if it has been changed since the last commit.
+     */
+    public void commitPendingChanges() {
+        if (commitPending) {
+            commitPending = false;
+            debounceTimer.stop();
+            commitAction.run();
+        }
+    }
+
+    private void onTextChanged() {
+        if (ignoreDocumentChanges) {
+            return;
+        }
+        switch (commitPolicy.getMode()) {
+            case IMMEDIATE:
+                commitAction.run();
+                break;
+            case DEBOUNCED:
+                commitPending = true;
+                debounceTimer.restart();
+                break;
+            case ON_FOCUS_LOST_OR_ENTER:
+                commitPending = true;
+                break;
+        }
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent evt) {
+        onTextChanged();
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent evt) {
+        onTextChanged();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent evt) {
+        onTextChanged();
+    }
+
+    @Override
+    public void focusGained(FocusEvent e) {
+    }
+
+    @Override
+    public void focusLost(FocusEvent e) {
+        commitPendingChanges();
+    }
+}
@@ -0,0 +1,832 @@
+package nl.gogognome.lib.swing;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableModel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RowSorter} for large tables. Unlike {@link javax.swing.table.TableRowSorter} it does not
+ * sort on the AWT event thread. When the sort order changes, the values of the sorted columns are
+ * copied from the model once. Then a parallel merge sort determines the new order on a background thread.
+ * The new order is applied on the AWT event thread. Until then the table shows the rows in the previous order.
+ *
+ * <p>If the model is a {@link ColumnarTableModel}, then the values of columns of type INT, LONG or DOUBLE
+ * that have no comparator are copied into primitive arrays and compared without boxing them.
+ *
+ * <p>Inserted, deleted and updated rows are moved to their position without sorting all rows again.
+ * Tables with at most {@value #MAX_ROWS_TO_SORT_SYNCHRONOUSLY} rows are sorted immediately.
+ *
+ * <p>Optionally a filter can be set. Only rows accepted by the filter are shown.
+ *
+ * <p>The comparators are used by multiple threads at the same time, so they must be thread-safe.
+ * All other methods of this class must be called from the AWT event thread.
+ *
+ * @param <M> the type of the table model
+ */
+public class BackgroundRowSorter<M extends TableModel> extends RowSorter<M> {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(BackgroundRowSorter.class);
+
+    /** Tables with at most this number of rows are sorted synchronously. */
+    private final static int MAX_ROWS_TO_SORT_SYNCHRONOUSLY = 10_000;
+
+    /** Parts of the rows with at most this number of rows are sorted by a single thread. */
+    private final static int MAX_ROWS_TO_SORT_BY_SINGLE_THREAD = 8_192;
+
+    /** Parts of the rows with at most this number of rows are sorted by insertion sort. */
+    private final static int MAX_ROWS_FOR_INSERTION_SORT = 16;
+
+    /** Collators are not thread-safe, so each thread uses its own collator. */
+    private final static ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(Collator::getInstance);
+
+    private final static Comparator<Object> COLLATOR_COMPARATOR =
+            (o1, o2) -> COLLATOR.get().compare(o1.toString(), o2.toString());
+
+    @SuppressWarnings("unchecked")
+    private final static Comparator<Object> COMPARABLE_COMPARATOR =
+            (o1, o2) -> ((Comparable<Object>) o1).compareTo(o2);
+
+    private final M model;
+    private final Executor sortExecutor;
+    private final Executor resultExecutor;
+
+    private final Map<Integer, Comparator<?>> comparators = new HashMap<>();
+    private IntPredicate modelRowFilter;
+    private int maxSortKeys = 3;
+    private List<SortKey> sortKeys = Collections.emptyList();
+
+    /** The sort keys that determine the current order of the rows. */
+    private List<SortKey> appliedSortKeys = Collections.emptyList();
+
+    /** For each applied sort key the values of the column indexed by model row. */
+    private SortValues<?>[] appliedValues = new SortValues<?>[0];
+
+    /** Maps view indices to model indices. <code>null</code> if all rows are shown in model order. */
+    private int[] viewToModel;
+
+    /** Maps model indices to view indices. <code>null</code> if all rows are shown in model order. */
+    private int[] modelToView;
+
+    private int modelRowCount;
+    private int modelColumnCount;
+
+    /** Identifies the most recently started sort. Results of older background sorts are ignored. */
+    private int sortGeneration;
+    private boolean sortPending;
+
+    /**
+     * Constructor.
+     * @param model the table model
+     */
+    public BackgroundRowSorter(M model) {
+        this(model, ForkJoinPool.commonPool(), SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Constructor.
+     * @param model the table model
+     * @param sortExecutor executes the background sorts
+     * @param resultExecutor applies the result of a background sort; must execute on the AWT event thread
+     */
+    BackgroundRowSorter(M model, Executor sortExecutor, Executor resultExecutor) {
+        this.model = model;
+        this.sortExecutor = sortExecutor;
+        this.resultExecutor = resultExecutor;
+        modelRowCount = model.getRowCount();
+        modelColumnCount = model.getColumnCount();
+    }
+
+    @Override
+    public M getModel() {
+        return model;
+    }
+
+    /**
+     * Sets the comparator for a column. If no comparator is set, strings are compared with a collator,
+     * comparable values by their natural order and other values by their string representation.
+     * @param column the index of the column
+     * @param comparator the comparator; must be thread-safe
+     */
+    public void setComparator(int column, Comparator<?> comparator) {
+        checkColumn(column);
+        comparators.put(column, comparator);
+        if (containsColumn(sortKeys, column)) {
+            sort();
+        }
+    }
+
+    /**
+     * Sets a filter. Only rows accepted by the filter are shown.
+     * @param modelRowFilter the filter; it gets the model index of a row. <code>null</code> shows all rows.
+     */
+    public void setModelRowFilter(IntPredicate modelRowFilter) {
+        this.modelRowFilter = modelRowFilter;
+        sort();
+    }
+
+    /**
+     * Sets the maximum number of sort keys.
+     * @param maxSortKeys the maximum number of sort keys
+     */
+    public void setMaxSortKeys(int maxSortKeys) {
+        if (maxSortKeys < 1) {
+            throw new IllegalArgumentException("Invalid max sort keys: " + maxSortKeys);
+        }
+        this.maxSortKeys = maxSortKeys;
+    }
+
+    /**
+     * Checks whether a background sort has been started of which the result has not been applied yet.
+     * @return true if a background sort is pending; false otherwise
+     */
+    public boolean isSortPending() {
+        return sortPending;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        checkColumn(column);
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        SortOrder sortOrder = SortOrder.ASCENDING;
+        for (int i=0; i<keys.size(); i++) {
+            if (keys.get(i).getColumn() == column) {
+                if (i == 0 && keys.get(i).getSortOrder() == SortOrder.ASCENDING) {
+                    sortOrder = SortOrder.DESCENDING;
+                }
+                keys.remove(i);
+                break;
+            }
+        }
+        keys.add(0, new SortKey(column, sortOrder));
+        if (keys.size() > maxSortKeys) {
+            keys = keys.subList(0, maxSortKeys);
+        }
+        setSortKeys(keys);
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            checkRowIndex(index, model.getRowCount());
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            checkRowIndex(index, model.getRowCount());
+            return index;
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newSortKeys = keys != null ? new ArrayList<>(keys) : Collections.<SortKey>emptyList();
+        for (SortKey key : newSortKeys) {
+            checkColumn(key.getColumn());
+        }
+        if (!newSortKeys.equals(sortKeys)) {
+            sortKeys = Collections.unmodifiableList(newSortKeys);
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel != null ? viewToModel.length : model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        if (model.getColumnCount() != modelColumnCount) {
+            modelColumnCount = model.getColumnCount();
+            comparators.clear();
+            if (!sortKeys.isEmpty()) {
+                sortKeys = Collections.emptyList();
+                fireSortOrderChanged();
+            }
+        }
+        sort();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        sort();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        checkRange(firstRow, endRow, model.getRowCount() - 1);
+        if (firstRow > modelRowCount) {
+            throw new IndexOutOfBoundsException("Invalid range: " + firstRow + " - " + endRow);
+        }
+        int count = endRow - firstRow + 1;
+        modelRowCount = model.getRowCount();
+        if (viewToModel == null) {
+            restartPendingSort();
+            return;
+        }
+
+        for (SortValues<?> values : appliedValues) {
+            values.insert(firstRow, count);
+        }
+        for (int i=0; i<viewToModel.length; i++) {
+            if (viewToModel[i] >= firstRow) {
+                viewToModel[i] += count;
+            }
+        }
+
+        int[] insertedRows = getAcceptedRows(firstRow, endRow);
+        if (isIncrementalChange(count)) {
+            insertInView(insertedRows, createRowComparator(appliedSortKeys, appliedValues));
+            updateModelToView();
+            restartPendingSort();
+        } else {
+            int oldLength = viewToModel.length;
+            viewToModel = Arrays.copyOf(viewToModel, oldLength + insertedRows.length);
+            System.arraycopy(insertedRows, 0, viewToModel, oldLength, insertedRows.length);
+            updateModelToView();
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        checkRange(firstRow, endRow, modelRowCount - 1);
+        int count = endRow - firstRow + 1;
+        modelRowCount = model.getRowCount();
+        if (viewToModel != null) {
+            int size = 0;
+            for (int modelIndex : viewToModel) {
+                if (modelIndex < firstRow) {
+                    viewToModel[size++] = modelIndex;
+                } else if (modelIndex > endRow) {
+                    viewToModel[size++] = modelIndex - count;
+                }
+            }
+            viewToModel = Arrays.copyOf(viewToModel, size);
+            for (SortValues<?> values : appliedValues) {
+                values.delete(firstRow, count);
+            }
+            updateModelToView();
+        }
+        restartPendingSort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        checkRange(firstRow, endRow, modelRowCount - 1);
+        if (viewToModel == null) {
+            restartPendingSort();
+            return;
+        }
+
+        for (SortValues<?> values : appliedValues) {
+            for (int row=firstRow; row<=endRow; row++) {
+                values.update(row);
+            }
+        }
+
+        if (isIncrementalChange(endRow - firstRow + 1)) {
+            int[] oldViewToModel = viewToModel.clone();
+            int size = 0;
+            for (int modelIndex : viewToModel) {
+                if (modelIndex < firstRow || modelIndex > endRow) {
+                    viewToModel[size++] = modelIndex;
+                }
+            }
+            viewToModel = Arrays.copyOf(viewToModel, size);
+            insertInView(getAcceptedRows(firstRow, endRow), createRowComparator(appliedSortKeys, appliedValues));
+            updateModelToView();
+            if (!Arrays.equals(oldViewToModel, viewToModel)) {
+                fireRowSorterChanged(oldViewToModel);
+            }
+            restartPendingSort();
+        } else {
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        checkColumn(column);
+        if (modelRowFilter != null || containsColumn(appliedSortKeys, column) || containsColumn(sortKeys, column)) {
+            rowsUpdated(firstRow, endRow);
+        }
+    }
+
+    private void restartPendingSort() {
+        if (sortPending) {
+            sort();
+        }
+    }
+
+    /**
+     * Determines the order of all rows for the current sort keys and filter. Large tables
+     * are sorted in the background. If the current order does not match the number of rows
+     * of the model anymore, then the rows are shown in model order until the background sort finishes.
+     */
+    private void sort() {
+        sortGeneration++;
+        sortPending = false;
+        int rowCount = model.getRowCount();
+        boolean currentOrderValid = viewToModel == null || rowCount == modelRowCount;
+        modelRowCount = rowCount;
+
+        if (sortKeys.isEmpty() && modelRowFilter == null) {
+            applyOrder(sortKeys, new SortValues<?>[0], null);
+            return;
+        }
+
+        List<SortKey> keys = sortKeys;
+        SortValues<?>[] values = extractValues(keys);
+        int[] rows = getAcceptedRows(0, rowCount - 1);
+        RowComparator comparator = createRowComparator(keys, values);
+        if (rowCount <= MAX_ROWS_TO_SORT_SYNCHRONOUSLY) {
+            mergeSort(rows, comparator, false);
+            applyOrder(keys, values, rows);
+            return;
+        }
+
+        if (!currentOrderValid) {
+            applyOrder(Collections.<SortKey>emptyList(), new SortValues<?>[0], modelRowFilter != null ? rows.clone() : null);
+        }
+        sortPending = true;
+        int generation = sortGeneration;
+        sortExecutor.execute(() -> {
+            try {
+                mergeSort(rows, comparator, true);
+                resultExecutor.execute(() -> {
+                    if (generation == sortGeneration) {
+                        sortPending = false;
+                        applyOrder(keys, values, rows);
+                    }
+                });
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to sort rows: " + e.getMessage(), e);
+                resultExecutor.execute(() -> {
+                    if (generation == sortGeneration) {
+                        sortPending = false;
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyOrder(List<SortKey> keys, SortValues<?>[] values, int[] newViewToModel) {
+        int[] oldViewToModel = viewToModel != null ? viewToModel : new int[0];
+        appliedSortKeys = keys;
+        appliedValues = values;
+        viewToModel = newViewToModel;
+        updateModelToView();
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    private void updateModelToView() {
+        if (viewToModel == null) {
+            modelToView = null;
+            return;
+        }
+        if (modelToView == null || modelToView.length != modelRowCount) {
+            modelToView = new int[modelRowCount];
+        }
+        Arrays.fill(modelToView, -1);
+        for (int viewIndex=0; viewIndex<viewToModel.length; viewIndex++) {
+            modelToView[viewToModel[viewIndex]] = viewIndex;
+        }
+    }
+
+    private SortValues<?>[] extractValues(List<SortKey> keys) {
+        SortValues<?>[] values = new SortValues<?>[keys.size()];
+        for (int k=0; k<keys.size(); k++) {
+            values[k] = createSortValues(keys.get(k).getColumn());
+            values[k].loadAll(modelRowCount);
+        }
+        return values;
+    }
+
+    private SortValues<?> createSortValues(int column) {
+        if (model instanceof ColumnarTableModel && !comparators.containsKey(column)) {
+            ColumnarTableModel<?> columnarModel = (ColumnarTableModel<?>) model;
+            switch (columnarModel.getColumnDefinition(column).getValueType()) {
+                case INT: return new IntSortValues(columnarModel, column);
+                case LONG: return new LongSortValues(columnarModel, column);
+                case DOUBLE: return new DoubleSortValues(columnarModel, column);
+                default: break;
+            }
+        }
+        return new ObjectSortValues(model, column, getComparator(column));
+    }
+
+    private int[] getAcceptedRows(int firstRow, int endRow) {
+        int[] rows = new int[endRow - firstRow + 1];
+        int size = 0;
+        for (int row=firstRow; row<=endRow; row++) {
+            if (isAccepted(row)) {
+                rows[size++] = row;
+            }
+        }
+        return size == rows.length ? rows : Arrays.copyOf(rows, size);
+    }
+
+    private boolean isAccepted(int modelIndex) {
+        return modelRowFilter == null || modelRowFilter.test(modelIndex);
+    }
+
+    /**
+     * Inserts rows at their position in the view. The rows are sorted first. Then the position of
+     * each row is found by a binary search, so that the view is copied only once.
+     * The model to view mapping is not updated.
+     */
+    private void insertInView(int[] rows, RowComparator comparator) {
+        mergeSort(rows, comparator, false);
+        int[] newViewToModel = new int[viewToModel.length + rows.length];
+        int sourceIndex = 0;
+        int destinationIndex = 0;
+        for (int row : rows) {
+            int low = sourceIndex;
+            int high = viewToModel.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(viewToModel[middle], row) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            System.arraycopy(viewToModel, sourceIndex, newViewToModel, destinationIndex, low - sourceIndex);
+            destinationIndex += low - sourceIndex;
+            sourceIndex = low;
+            newViewToModel[destinationIndex++] = row;
+        }
+        System.arraycopy(viewToModel, sourceIndex, newViewToModel, destinationIndex, viewToModel.length - sourceIndex);
+        viewToModel = newViewToModel;
+    }
+
+    /**
+     * Checks whether a change of the specified number of rows is handled by moving the changed rows
+     * instead of sorting all rows again.
+     */
+    private boolean isIncrementalChange(int nrChangedRows) {
+        return nrChangedRows <= Math.max(1, viewToModel.length / 10);
+    }
+
+    private static RowComparator createRowComparator(List<SortKey> keys, SortValues<?>[] values) {
+        int nrKeys = keys.size();
+        boolean[] descending = new boolean[nrKeys];
+        for (int k=0; k<nrKeys; k++) {
+            descending[k] = keys.get(k).getSortOrder() == SortOrder.DESCENDING;
+        }
+
+        return (row1, row2) -> {
+            for (int k=0; k<nrKeys; k++) {
+                int result = values[k].compare(row1, row2);
+                if (result != 0) {
+                    return descending[k] ? -result : result;
+                }
+            }
+            return row1 - row2;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparator<Object> getComparator(int column) {
+        Comparator<?> comparator = comparators.get(column);
+        if (comparator != null) {
+            return (Comparator<Object>) comparator;
+        }
+        Class<?> columnClass = model.getColumnClass(column);
+        if (columnClass == String.class) {
+            return COLLATOR_COMPARATOR;
+        }
+        if (Comparable.class.isAssignableFrom(columnClass)) {
+            return COMPARABLE_COMPARATOR;
+        }
+        return COLLATOR_COMPARATOR;
+    }
+
+    private static boolean containsColumn(List<SortKey> keys, int column) {
+        for (SortKey key : keys) {
+            if (key.getColumn() == column) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= model.getColumnCount()) {
+            throw new IndexOutOfBoundsException("Invalid column: " + column);
+        }
+    }
+
+    private static void checkRowIndex(int index, int rowCount) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+    }
+
+    private static void checkRange(int firstRow, int endRow, int lastValidRow) {
+        if (firstRow > endRow || firstRow < 0 || endRow > lastValidRow) {
+            throw new IndexOutOfBoundsException("Invalid range: " + firstRow + " - " + endRow);
+        }
+    }
+
+    private static void mergeSort(int[] rows, RowComparator comparator, boolean parallel) {
+        MergeSortTask task = new MergeSortTask(rows.clone(), rows, 0, rows.length, comparator, parallel);
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+    }
+
+    /**
+     * The values of a column indexed by model row. The values are copied from the model on the AWT event thread.
+     * Once copied, they can be compared by multiple threads at the same time.
+     * @param <A> the type of the array that contains the values
+     */
+    private static abstract class SortValues<A> {
+
+        private A values;
+        private int length;
+
+        /**
+         * Replaces the values by the values of all rows of the model.
+         * @param rowCount the number of rows of the model
+         */
+        void loadAll(int rowCount) {
+            values = newArray(rowCount);
+            length = rowCount;
+            for (int row=0; row<rowCount; row++) {
+                load(values, row);
+            }
+        }
+
+        /**
+         * Inserts the values of rows that have been inserted in the model.
+         * @param firstRow the index of the first inserted row
+         * @param count the number of inserted rows
+         */
+        void insert(int firstRow, int count) {
+            A newValues = newArray(length + count);
+            System.arraycopy(values, 0, newValues, 0, firstRow);
+            System.arraycopy(values, firstRow, newValues, firstRow + count, length - firstRow);
+            values = newValues;
+            length += count;
+            for (int row=firstRow; row<firstRow + count; row++) {
+                load(values, row);
+            }
+        }
+
+        /**
+         * Removes the values of rows that have been deleted from the model.
+         * @param firstRow the index of the first deleted row
+         * @param count the number of deleted rows
+         */
+        void delete(int firstRow, int count) {
+            A newValues = newArray(length - count);
+            System.arraycopy(values, 0, newValues, 0, firstRow);
+            System.arraycopy(values, firstRow + count, newValues, firstRow, length - count - firstRow);
+            values = newValues;
+            length -= count;
+        }
+
+        void update(int row) {
+            load(values, row);
+        }
+
+        int compare(int row1, int row2) {
+            return compare(values, row1, row2);
+        }
+
+        abstract A newArray(int length);
+        abstract void load(A values, int row);
+        abstract int compare(A values, int row1, int row2);
+    }
+
+    private static class ObjectSortValues extends SortValues<Object[]> {
+
+        private final TableModel model;
+        private final int column;
+        private final Comparator<Object> comparator;
+
+        ObjectSortValues(TableModel model, int column, Comparator<Object> comparator) {
+            this.model = model;
+            this.column = column;
+            this.comparator = comparator;
+        }
+
+        @Override
+        Object[] newArray(int length) {
+            return new Object[length];
+        }
+
+        @Override
+        void load(Object[] values, int row) {
+            values[row] = model.getValueAt(row, column);
+        }
+
+        @Override
+        int compare(Object[] values, int row1, int row2) {
+            Object value1 = values[row1];
+            Object value2 = values[row2];
+            if (value1 == null) {
+                return value2 == null ? 0 : -1;
+            }
+            if (value2 == null) {
+                return 1;
+            }
+            return comparator.compare(value1, value2);
+        }
+    }
+
+    private static class IntSortValues extends SortValues<int[]> {
+
+        private final ColumnarTableModel<?> model;
+        private final int column;
+
+        IntSortValues(ColumnarTableModel<?> model, int column) {
+            this.model = model;
+            this.column = column;
+        }
+
+        @Override
+        int[] newArray(int length) {
+            return new int[length];
+        }
+
+        @Override
+        void load(int[] values, int row) {
+            values[row] = model.getInt(row, column);
+        }
+
+        @Override
+        int compare(int[] values, int row1, int row2) {
+            return Integer.compare(values[row1], values[row2]);
+        }
+    }
+
+    private static class LongSortValues extends SortValues<long[]> {
+
+        private final ColumnarTableModel<?> model;
+        private final int column;
+
+        LongSortValues(ColumnarTableModel<?> model, int column) {
+            this.model = model;
+            this.column = column;
+        }
+
+        @Override
+        long[] newArray(int length) {
+            return new long[length];
+        }
+
+        @Override
+        void load(long[] values, int row) {
+            values[row] = model.getLong(row, column);
+        }
+
+        @Override
+        int compare(long[] values, int row1, int row2) {
+            return Long.compare(values[row1], values[row2]);
+        }
+    }
+
+    private static class DoubleSortValues extends SortValues<double[]> {
+
+        private final ColumnarTableModel<?> model;
+        private final int column;
+
+        DoubleSortValues(ColumnarTableModel<?> model, int column) {
+            this.model = model;
+            this.column = column;
+        }
+
+        @Override
+        double[] newArray(int length) {
+            return new double[length];
+        }
+
+        @Override
+        void load(double[] values, int row) {
+            values[row] = model.getDouble(row, column);
+        }
+
+        @Override
+        int compare(double[] values, int row1, int row2) {
+            return Double.compare(values[row1], values[row2]);
+        }
+    }
+
+    /**
+     * Compares two rows by their model indices.
+     */
+    private interface RowComparator {
+        int compare(int modelIndex1, int modelIndex2);
+    }
+
+    /**
+     * Stable merge sort of model indices. The source and destination contain the same
+     * indices when the task starts. After the task, the destination is sorted.
+     * Large parts are split into two tasks that are executed in parallel.
+     */
+    private static class MergeSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] source;
+        private final int[] destination;
+        private final int from;
+        private final int to;
+        private final RowComparator comparator;
+        private final boolean parallel;
+
+        MergeSortTask(int[] source, int[] destination, int from, int to, RowComparator comparator, boolean parallel) {
+            this.source = source;
+            this.destination = destination;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MAX_ROWS_FOR_INSERTION_SORT) {
+                insertionSort();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            MergeSortTask left = new MergeSortTask(destination, source, from, middle, comparator, parallel);
+            MergeSortTask right = new MergeSortTask(destination, source, middle, to, comparator, parallel);
+            if (parallel && to - from > MAX_ROWS_TO_SORT_BY_SINGLE_THREAD) {
+                invokeAll(left, right);
+            } else {
+                left.compute();
+                right.compute();
+            }
+            merge(middle);
+        }
+
+        private void insertionSort() {
+            for (int i=from + 1; i<to; i++) {
+                int value = destination[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(destination[j], value) > 0) {
+                    destination[j + 1] = destination[j];
+                    j--;
+                }
+                destination[j + 1] = value;
+            }
+        }
+
+        private void merge(int middle) {
+            if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+                System.arraycopy(source, from, destination, from, to - from);
+                return;
+            }
+            int left = from;
+            int right = middle;
+            for (int i=from; i<to; i++) {
+                if (right >= to || (left < middle && comparator.compare(source[left], source[right]) <= 0)) {
+                    destination[i] = source[left++];
+                } else {
+                    destination[i] = source[right++];
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,9 @@ package nl.gogognome.lib.swing;
 
 import java.util.Comparator;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import javax.swing.table.TableCellEditor;
 import javax.swing.table.TableCellRenderer;
@@ -16,6 +19,14 @@ import nl.gogognome.lib.util.Factory;
  */
 public class ColumnDefinition<R> {
 
+    /**
+     * The type of the values of a column. Columns of a primitive type can be read without boxing
+     * by table models that support it, like {@link ColumnarTableModel}.
+     */
+    public enum ValueType {
+        OBJECT, INT, LONG, DOUBLE
+    }
+
     /** The identifier for the name of the column. */
     private String id;
 
@@ -48,6 +59,18 @@ public class ColumnDefinition<R> {
      */
     private Function<R, Object> getValueForColumn;
 
+    /** The type of the values of this column. */
+    private ValueType valueType = ValueType.OBJECT;
+
+    /** Function that gets the int value for this column. Only set for columns of type INT. */
+    private ToIntFunction<R> getIntForColumn;
+
+    /** Function that gets the long value for this column. Only set for columns of type LONG. */
+    private ToLongFunction<R> getLongForColumn;
+
+    /** Function that gets the double value for this column. Only set for columns of type DOUBLE. */
+    private ToDoubleFunction<R> getDoubleForColumn;
+
     /**
      * Constructor.
      * @param id the id of the column's name
@@ -88,6 +111,22 @@ public class ColumnDefinition<R> {
         return getValueForColumn.apply(row);
     }
 
+    public ValueType getValueType() {
+        return valueType;
+    }
+
+    public int getIntForColumn(R row) {
+        return getIntForColumn.applyAsInt(row);
+    }
+
+    public long getLongForColumn(R row) {
+        return getLongForColumn.applyAsLong(row);
+    }
+
+    public double getDoubleForColumn(R row) {
+        return getDoubleForColumn.applyAsDouble(row);
+    }
+
     public static <R> Builder<R> builder(String id, Class<?> classOfValues, int widthInPixels) {
         return new Builder(id, classOfValues, widthInPixels);
     }
@@ -120,10 +159,32 @@ public class ColumnDefinition<R> {
         }
 
         public Builder<R> add(Function<R, Object> getValueForColumn) {
+        	columnDefinition.valueType = ValueType.OBJECT;
         	columnDefinition.getValueForColumn = getValueForColumn;
         	return this;
         }
 
+        public Builder<R> addInt(ToIntFunction<R> getIntForColumn) {
+        	columnDefinition.valueType = ValueType.INT;
+        	columnDefinition.getIntForColumn = getIntForColumn;
+        	columnDefinition.getValueForColumn = row -> getIntForColumn.applyAsInt(row);
+        	return this;
+        }
+
+        public Builder<R> addLong(ToLongFunction<R> getLongForColumn) {
+        	columnDefinition.valueType = ValueType.LONG;
+        	columnDefinition.getLongForColumn = getLongForColumn;
+        	columnDefinition.getValueForColumn = row -> getLongForColumn.applyAsLong(row);
+        	return this;
+        }
+
+        public Builder<R> addDouble(ToDoubleFunction<R> getDoubleForColumn) {
+        	columnDefinition.valueType = ValueType.DOUBLE;
+        	columnDefinition.getDoubleForColumn = getDoubleForColumn;
+        	columnDefinition.getValueForColumn = row -> getDoubleForColumn.applyAsDouble(row);
+        	return this;
+        }
+
         public ColumnDefinition<R> build() {
         	return columnDefinition;
         }
@@ -0,0 +1,288 @@
+package nl.gogognome.lib.swing;
+
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Insets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.Icon;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class sets the preferred widths of the columns of a table to the widths of their contents.
+ *
+ * <p>Only a bounded sample of the rows is measured: the first rows, the last rows and randomly chosen rows
+ * in between. The number of measured cells therefore does not depend on the number of rows of the table.
+ * The texts of the cells are obtained from the renderers on the AWT event thread. If the table has more rows
+ * than the sample contains, then the texts are measured in the background and the widths are applied on
+ * the AWT event thread afterwards. The widths of texts are cached per font, because many cells of a table
+ * typically contain the same text.
+ *
+ * <p>The methods of this class must be called from the AWT event thread.
+ */
+public class ColumnWidthFitter {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ColumnWidthFitter.class);
+
+    public final static int DEFAULT_NR_HEAD_ROWS = 100;
+    public final static int DEFAULT_NR_TAIL_ROWS = 100;
+    public final static int DEFAULT_NR_RANDOM_ROWS = 200;
+    public final static int DEFAULT_MAX_COLUMN_WIDTH = 500;
+
+    /** Extra space added to the widest cell of a column, so that the text is not cut off. */
+    private final static int PADDING = 4;
+
+    /** The maximum number of texts for which the width is cached per font. If exceeded, the cache of the font is cleared. */
+    private final static int MAX_NR_CACHED_TEXT_WIDTHS = 10000;
+
+    private final static Map<Font, Map<String, Integer>> FONT_TO_TEXT_WIDTHS = new ConcurrentHashMap<>();
+
+    private final Executor measureExecutor;
+    private final Executor resultExecutor;
+    private final Random random;
+
+    private int nrHeadRows = DEFAULT_NR_HEAD_ROWS;
+    private int nrTailRows = DEFAULT_NR_TAIL_ROWS;
+    private int nrRandomRows = DEFAULT_NR_RANDOM_ROWS;
+    private int maxColumnWidth = DEFAULT_MAX_COLUMN_WIDTH;
+
+    /**
+     * Constructor.
+     */
+    public ColumnWidthFitter() {
+        this(ForkJoinPool.commonPool(), SwingUtilities::invokeLater, new Random());
+    }
+
+    /**
+     * Constructor.
+     * @param measureExecutor measures the texts of large tables in the background
+     * @param resultExecutor applies the widths measured in the background; must execute on the AWT event thread
+     * @param random chooses the random rows of the sample
+     */
+    ColumnWidthFitter(Executor measureExecutor, Executor resultExecutor, Random random) {
+        this.measureExecutor = measureExecutor;
+        this.resultExecutor = resultExecutor;
+        this.random = random;
+    }
+
+    /**
+     * Sets the size of the sample of rows that is measured.
+     * @param nrHeadRows the number of first rows
+     * @param nrTailRows the number of last rows
+     * @param nrRandomRows the number of randomly chosen rows in between
+     * @return this fitter
+     */
+    public ColumnWidthFitter setSampleSize(int nrHeadRows, int nrTailRows, int nrRandomRows) {
+        this.nrHeadRows = nrHeadRows;
+        this.nrTailRows = nrTailRows;
+        this.nrRandomRows = nrRandomRows;
+        return this;
+    }
+
+    /**
+     * Sets the maximum width of a column. Columns containing wider texts get this width.
+     * @param maxColumnWidth the maximum width in pixels
+     * @return this fitter
+     */
+    public ColumnWidthFitter setMaxColumnWidth(int maxColumnWidth) {
+        this.maxColumnWidth = maxColumnWidth;
+        return this;
+    }
+
+    /**
+     * Sets the preferred widths of the columns of a table to the widths of their contents.
+     * @param table the table
+     */
+    public void fitColumns(JTable table) {
+        int nrRows = table.getRowCount();
+        int[] rows = selectSampleRows(nrRows);
+        CellSize[][] cellSizes = getCellSizes(table, rows);
+        if (rows.length == nrRows) {
+            applyWidths(table, cellSizes.length, measure(cellSizes));
+        } else {
+            measureExecutor.execute(() -> {
+                try {
+                    int[] widths = measure(cellSizes);
+                    resultExecutor.execute(() -> applyWidths(table, cellSizes.length, widths));
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to measure the column widths: " + e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Selects the rows that are measured: the first rows, the last rows and randomly chosen rows in between.
+     * @param nrRows the number of rows of the table
+     * @return the selected rows in ascending order, without duplicates
+     */
+    int[] selectSampleRows(int nrRows) {
+        if (nrRows <= nrHeadRows + nrTailRows + nrRandomRows) {
+            int[] rows = new int[nrRows];
+            for (int i=0; i<nrRows; i++) {
+                rows[i] = i;
+            }
+            return rows;
+        }
+
+        int[] rows = new int[nrHeadRows + nrTailRows + nrRandomRows];
+        int nrSelectedRows = 0;
+        for (int i=0; i<nrHeadRows; i++) {
+            rows[nrSelectedRows++] = i;
+        }
+        for (int i=0; i<nrTailRows; i++) {
+            rows[nrSelectedRows++] = nrRows - nrTailRows + i;
+        }
+        int nrMiddleRows = nrRows - nrHeadRows - nrTailRows;
+        for (int i=0; i<nrRandomRows; i++) {
+            rows[nrSelectedRows++] = nrHeadRows + random.nextInt(nrMiddleRows);
+        }
+
+        Arrays.sort(rows);
+        int nrDistinctRows = 0;
+        for (int i=0; i<rows.length; i++) {
+            if (nrDistinctRows == 0 || rows[nrDistinctRows - 1] != rows[i]) {
+                rows[nrDistinctRows++] = rows[i];
+            }
+        }
+        return Arrays.copyOf(rows, nrDistinctRows);
+    }
+
+    /**
+     * Gets the sizes of the header and the sampled cells of each column. Texts are not measured yet.
+     * @param table the table
+     * @param rows the sampled rows
+     * @return for each column the sizes of its header and of its sampled cells
+     */
+    private CellSize[][] getCellSizes(JTable table, int[] rows) {
+        int nrColumns = table.getColumnCount();
+        JTableHeader header = table.getTableHeader();
+        CellSize[][] cellSizes = new CellSize[nrColumns][];
+        for (int column=0; column<nrColumns; column++) {
+            CellSize[] columnCellSizes = new CellSize[rows.length + 1];
+            columnCellSizes[0] = getHeaderSize(table, header, column);
+            for (int i=0; i<rows.length; i++) {
+                int row = rows[i];
+                TableCellRenderer renderer = table.getCellRenderer(row, column);
+                columnCellSizes[i + 1] = getCellSize(table.prepareRenderer(renderer, row, column));
+            }
+            cellSizes[column] = columnCellSizes;
+        }
+        return cellSizes;
+    }
+
+    private CellSize getHeaderSize(JTable table, JTableHeader header, int column) {
+        if (header == null) {
+            return null;
+        }
+        TableColumn tableColumn = table.getColumnModel().getColumn(column);
+        TableCellRenderer renderer = tableColumn.getHeaderRenderer();
+        if (renderer == null) {
+            renderer = header.getDefaultRenderer();
+        }
+        return getCellSize(renderer.getTableCellRendererComponent(table, tableColumn.getHeaderValue(),
+                false, false, -1, column));
+    }
+
+    private CellSize getCellSize(Component component) {
+        if (component instanceof JLabel) {
+            JLabel label = (JLabel) component;
+            Insets insets = label.getInsets();
+            int extraWidth = insets.left + insets.right;
+            Icon icon = label.getIcon();
+            if (icon != null) {
+                extraWidth += icon.getIconWidth() + label.getIconTextGap();
+            }
+            String text = label.getText();
+            Font font = label.getFont();
+            if (text != null && !text.isEmpty() && font != null) {
+                return new CellSize(extraWidth, text, label.getFontMetrics(font));
+            }
+            return new CellSize(extraWidth, null, null);
+        }
+        return new CellSize(component.getPreferredSize().width, null, null);
+    }
+
+    /**
+     * Determines the width of each column. This method can be called from any thread.
+     * @param cellSizes for each column the sizes of its header and of its sampled cells
+     * @return the widths of the columns
+     */
+    private int[] measure(CellSize[][] cellSizes) {
+        int[] widths = new int[cellSizes.length];
+        for (int column=0; column<cellSizes.length; column++) {
+            int width = 0;
+            for (CellSize cellSize : cellSizes[column]) {
+                if (cellSize != null) {
+                    width = Math.max(width, cellSize.getWidth());
+                }
+            }
+            widths[column] = Math.min(width + PADDING, maxColumnWidth);
+        }
+        return widths;
+    }
+
+    private void applyWidths(JTable table, int nrColumns, int[] widths) {
+        TableColumnModel columnModel = table.getColumnModel();
+        if (columnModel.getColumnCount() != nrColumns) {
+            return; // the columns have changed while the widths were measured
+        }
+        for (int column=0; column<nrColumns; column++) {
+            columnModel.getColumn(column).setPreferredWidth(widths[column] + columnModel.getColumnMargin());
+        }
+    }
+
+    /**
+     * Gets the width of a text. Widths are cached per font.
+     * @param text the text
+     * @param fontMetrics the font metrics of the font of the text
+     * @return the width in pixels
+     */
+    static int getTextWidth(String text, FontMetrics fontMetrics) {
+        Map<String, Integer> textWidths = FONT_TO_TEXT_WIDTHS.computeIfAbsent(fontMetrics.getFont(),
+                font -> new ConcurrentHashMap<>());
+        Integer width = textWidths.get(text);
+        if (width == null) {
+            width = fontMetrics.stringWidth(text);
+            if (textWidths.size() >= MAX_NR_CACHED_TEXT_WIDTHS) {
+                textWidths.clear();
+            }
+            textWidths.put(text, width);
+        }
+        return width;
+    }
+
+    /**
+     * The size of a cell. The width of the text, if any, is determined when the width is requested.
+     */
+    private static class CellSize {
+        private final int extraWidth;
+        private final String text;
+        private final FontMetrics fontMetrics;
+
+        public CellSize(int extraWidth, String text, FontMetrics fontMetrics) {
+            this.extraWidth = extraWidth;
+            this.text = text;
+            this.fontMetrics = fontMetrics;
+        }
+
+        public int getWidth() {
+            return text != null ? extraWidth + getTextWidth(text, fontMetrics) : extraWidth;
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package nl.gogognome.lib.swing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+
+/**
+ * This table model stores the values of each column in a separate array. The values are
+ * extracted from the rows once, when the rows are added to the model.
+ *
+ * <p>Columns of type INT, LONG or DOUBLE (see {@link ColumnDefinition.ValueType}) are stored
+ * in primitive arrays. Columns of strings are dictionary encoded: each distinct string is stored
+ * once and each row refers to it by an index. All other columns are stored in an array of objects.
+ *
+ * <p>{@link #getValueAt(int, int)} must return an object, so it boxes primitive values. Use
+ * {@link #getInt(int, int)}, {@link #getLong(int, int)}, {@link #getDouble(int, int)} and
+ * {@link #compare(int, int, int)} to access the values without allocating objects.
+ *
+ * @param <R> the type of rows
+ */
+public class ColumnarTableModel<R> extends AbstractTableModel<R> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final static int INITIAL_CAPACITY = 16;
+
+    private final List<R> rows = new ArrayList<>();
+    private List<Column<R>> columns;
+
+    /**
+     * Constructor.
+     * @param columnDefinitions the column definitions
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs") // the array is only read, through a list of the same element type
+    public ColumnarTableModel(ColumnDefinition<R>... columnDefinitions) {
+        this(asList(columnDefinitions));
+    }
+
+    /**
+     * Constructor.
+     * @param columnDefinitions the column definitions
+     */
+    public ColumnarTableModel(List<ColumnDefinition<R>> columnDefinitions) {
+        this(columnDefinitions, Collections.<R>emptyList());
+    }
+
+    /**
+     * Constructor.
+     * @param columnDefinitions the column definitions
+     * @param initialRows the initial rows
+     */
+    public ColumnarTableModel(List<ColumnDefinition<R>> columnDefinitions, List<R> initialRows) {
+        super(columnDefinitions);
+        createColumns(columnDefinitions);
+        rows.addAll(initialRows);
+        extractAllValues();
+    }
+
+    @Override
+    public void setColumnDefinitions(List<ColumnDefinition<R>> columnDefinitions) {
+        super.setColumnDefinitions(columnDefinitions);
+        createColumns(columnDefinitions);
+        extractAllValues();
+        fireTableStructureChanged();
+    }
+
+    private void createColumns(List<ColumnDefinition<R>> columnDefinitions) {
+        columns = new ArrayList<>(columnDefinitions.size());
+        for (ColumnDefinition<R> columnDefinition : columnDefinitions) {
+            columns.add(createColumn(columnDefinition));
+        }
+    }
+
+    private static <R> Column<R> createColumn(ColumnDefinition<R> columnDefinition) {
+        switch (columnDefinition.getValueType()) {
+            case INT: return new IntColumn<>(columnDefinition);
+            case LONG: return new LongColumn<>(columnDefinition);
+            case DOUBLE: return new DoubleColumn<>(columnDefinition);
+            default:
+                if (columnDefinition.getClassOfValues() == String.class) {
+                    return new DictionaryColumn<>(columnDefinition);
+                }
+                return new ObjectColumn<>(columnDefinition);
+        }
+    }
+
+    private void extractAllValues() {
+        for (Column<R> column : columns) {
+            column.clear();
+            column.ensureCapacity(rows.size());
+            for (int i=0; i<rows.size(); i++) {
+                column.set(i, rows.get(i));
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Adds a row to the table model.
+     * Notifies all listeners about the change in the table.
+     * This method must be called from the AWT event thread.
+     * @param row the row
+     */
+    public void addRow(R row) {
+        int index = rows.size();
+        rows.add(row);
+        for (Column<R> column : columns) {
+            column.ensureCapacity(rows.size());
+            column.set(index, row);
+        }
+        fireTableRowsInserted(index, index);
+    }
+
+    /**
+     * Removes a row from the table model.
+     * Notifies all listeners about the change in the table.
+     * This method must be called from the AWT event thread.
+     * @param index the index of the row
+     */
+    public void removeRow(int index) {
+        rows.remove(index);
+        for (Column<R> column : columns) {
+            column.remove(index, rows.size());
+        }
+        fireTableRowsDeleted(index, index);
+    }
+
+    /**
+     * Updates a row.
+     * Notifies all listeners about the change in the table.
+     * This method must be called from the AWT event thread.
+     * @param index the index of the row
+     * @param row the new value of the row
+     */
+    public void updateRow(int index, R row) {
+        rows.set(index, row);
+        for (Column<R> column : columns) {
+            column.set(index, row);
+        }
+        fireTableRowsUpdated(index, index);
+    }
+
+    /**
+     * Removes all rows from the table model.
+     * Notifies all listeners about the change in the table.
+     * This method must be called from the AWT event thread.
+     */
+    public void clear() {
+        if (!rows.isEmpty()) {
+            rows.clear();
+            for (Column<R> column : columns) {
+                column.clear();
+            }
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Updates all rows of the table.
+     * @param newRows the new rows
+     */
+    public void setRows(List<R> newRows) {
+        rows.clear();
+        rows.addAll(newRows);
+        extractAllValues();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Gets a row.
+     * @param index the index of the row
+     * @return the row
+     */
+    public R getRow(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Gets the rows of the table.
+     *
+     * @return an unmodifiable list of rows
+     */
+    public List<R> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return columns.get(columnIndex).getValue(rowIndex);
+    }
+
+    /**
+     * Gets the value of a column of type INT.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value
+     */
+    public int getInt(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return ((IntColumn<R>) columns.get(columnIndex)).values[rowIndex];
+    }
+
+    /**
+     * Gets the value of a column of type LONG.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value
+     */
+    public long getLong(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return ((LongColumn<R>) columns.get(columnIndex)).values[rowIndex];
+    }
+
+    /**
+     * Gets the value of a column of type DOUBLE.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @return the value
+     */
+    public double getDouble(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return ((DoubleColumn<R>) columns.get(columnIndex)).values[rowIndex];
+    }
+
+    /**
+     * Compares the values of two rows in the specified column without boxing the values.
+     * If the column definition has a comparator, then that comparator is used for columns
+     * of objects and strings.
+     * @param columnIndex the index of the column
+     * @param rowIndex1 the index of the first row
+     * @param rowIndex2 the index of the second row
+     * @return a negative integer, zero, or a positive integer as the value of the first row
+     *         is less than, equal to, or greater than the value of the second row
+     */
+    public int compare(int columnIndex, int rowIndex1, int rowIndex2) {
+        checkRowIndex(rowIndex1);
+        checkRowIndex(rowIndex2);
+        return columns.get(columnIndex).compare(rowIndex1, rowIndex2);
+    }
+
+    private void checkRowIndex(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rows.size()) {
+            throw new IndexOutOfBoundsException("Index: " + rowIndex + ", Size: " + rows.size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareObjects(Object o1, Object o2, Comparator<Object> comparator) {
+        if (comparator != null) {
+            return comparator.compare(o1, o2);
+        }
+        if (o1 == null || o2 == null) {
+            return o1 == null ? (o2 == null ? 0 : -1) : 1;
+        }
+        if (o1 instanceof Comparable) {
+            return ((Comparable<Object>) o1).compareTo(o2);
+        }
+        return o1.toString().compareTo(o2.toString());
+    }
+
+    /**
+     * Stores the values of a single column.
+     */
+    private static abstract class Column<R> {
+
+        protected final ColumnDefinition<R> columnDefinition;
+
+        Column(ColumnDefinition<R> columnDefinition) {
+            this.columnDefinition = columnDefinition;
+        }
+
+        static int grow(int currentCapacity, int minCapacity) {
+            return Math.max(minCapacity, Math.max(INITIAL_CAPACITY, currentCapacity * 2));
+        }
+
+        abstract void ensureCapacity(int capacity);
+        abstract void set(int rowIndex, R row);
+        abstract Object getValue(int rowIndex);
+        abstract int compare(int rowIndex1, int rowIndex2);
+        abstract void remove(int rowIndex, int newSize);
+        abstract void clear();
+    }
+
+    private static class IntColumn<R> extends Column<R> {
+
+        int[] values = new int[0];
+
+        IntColumn(ColumnDefinition<R> columnDefinition) {
+            super(columnDefinition);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int rowIndex, R row) {
+            values[rowIndex] = columnDefinition.getIntForColumn(row);
+        }
+
+        @Override
+        Object getValue(int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        int compare(int rowIndex1, int rowIndex2) {
+            return Integer.compare(values[rowIndex1], values[rowIndex2]);
+        }
+
+        @Override
+        void remove(int rowIndex, int newSize) {
+            System.arraycopy(values, rowIndex + 1, values, rowIndex, newSize - rowIndex);
+        }
+
+        @Override
+        void clear() {
+            values = new int[0];
+        }
+    }
+
+    private static class LongColumn<R> extends Column<R> {
+
+        long[] values = new long[0];
+
+        LongColumn(ColumnDefinition<R> columnDefinition) {
+            super(columnDefinition);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int rowIndex, R row) {
+            values[rowIndex] = columnDefinition.getLongForColumn(row);
+        }
+
+        @Override
+        Object getValue(int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        int compare(int rowIndex1, int rowIndex2) {
+            return Long.compare(values[rowIndex1], values[rowIndex2]);
+        }
+
+        @Override
+        void remove(int rowIndex, int newSize) {
+            System.arraycopy(values, rowIndex + 1, values, rowIndex, newSize - rowIndex);
+        }
+
+        @Override
+        void clear() {
+            values = new long[0];
+        }
+    }
+
+    private static class DoubleColumn<R> extends Column<R> {
+
+        double[] values = new double[0];
+
+        DoubleColumn(ColumnDefinition<R> columnDefinition) {
+            super(columnDefinition);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int rowIndex, R row) {
+            values[rowIndex] = columnDefinition.getDoubleForColumn(row);
+        }
+
+        @Override
+        Object getValue(int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        int compare(int rowIndex1, int rowIndex2) {
+            return Double.compare(values[rowIndex1], values[rowIndex2]);
+        }
+
+        @Override
+        void remove(int rowIndex, int newSize) {
+            System.arraycopy(values, rowIndex + 1, values, rowIndex, newSize - rowIndex);
+        }
+
+        @Override
+        void clear() {
+            values = new double[0];
+        }
+    }
+
+    private static class ObjectColumn<R> extends Column<R> {
+
+        Object[] values = new Object[0];
+
+        ObjectColumn(ColumnDefinition<R> columnDefinition) {
+            super(columnDefinition);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int rowIndex, R row) {
+            values[rowIndex] = columnDefinition.getValueForColumn(row);
+        }
+
+        @Override
+        Object getValue(int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        int compare(int rowIndex1, int rowIndex2) {
+            return compareObjects(values[rowIndex1], values[rowIndex2], columnDefinition.getComparator());
+        }
+
+        @Override
+        void remove(int rowIndex, int newSize) {
+            System.arraycopy(values, rowIndex + 1, values, rowIndex, newSize - rowIndex);
+            values[newSize] = null;
+        }
+
+        @Override
+        void clear() {
+            values = new Object[0];
+        }
+    }
+
+    /**
+     * Stores each distinct value once in a dictionary. The rows contain the index of their
+     * value in the dictionary. The sort order of the dictionary entries is determined once
+     * after the dictionary has changed, so that comparing two rows is an integer comparison.
+     * Entries that are no longer used stay in the dictionary until the column is cleared.
+     */
+    private static class DictionaryColumn<R> extends Column<R> {
+
+        int[] codes = new int[0];
+        final List<Object> dictionary = new ArrayList<>();
+        final Map<Object, Integer> valueToCode = new HashMap<>();
+        int[] ranks;
+
+        DictionaryColumn(ColumnDefinition<R> columnDefinition) {
+            super(columnDefinition);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (codes.length < capacity) {
+                codes = Arrays.copyOf(codes, grow(codes.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int rowIndex, R row) {
+            Object value = columnDefinition.getValueForColumn(row);
+            Integer code = valueToCode.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                valueToCode.put(value, code);
+                ranks = null;
+            }
+            codes[rowIndex] = code;
+        }
+
+        @Override
+        Object getValue(int rowIndex) {
+            return dictionary.get(codes[rowIndex]);
+        }
+
+        @Override
+        int compare(int rowIndex1, int rowIndex2) {
+            if (ranks == null) {
+                ranks = determineRanks();
+            }
+            return Integer.compare(ranks[codes[rowIndex1]], ranks[codes[rowIndex2]]);
+        }
+
+        private int[] determineRanks() {
+            Integer[] sortedCodes = new Integer[dictionary.size()];
+            for (int i=0; i<sortedCodes.length; i++) {
+                sortedCodes[i] = i;
+            }
+            Comparator<Object> comparator = columnDefinition.getComparator();
+            Arrays.sort(sortedCodes, (c1, c2) -> compareObjects(dictionary.get(c1), dictionary.get(c2), comparator));
+
+            int[] newRanks = new int[sortedCodes.length];
+            for (int rank=0; rank<sortedCodes.length; rank++) {
+                boolean sameAsPrevious = rank > 0
+                        && compareObjects(dictionary.get(sortedCodes[rank - 1]), dictionary.get(sortedCodes[rank]), comparator) == 0;
+                newRanks[sortedCodes[rank]] = sameAsPrevious ? newRanks[sortedCodes[rank - 1]] : rank;
+            }
+            return newRanks;
+        }
+
+        @Override
+        void remove(int rowIndex, int newSize) {
+            System.arraycopy(codes, rowIndex + 1, codes, rowIndex, newSize - rowIndex);
+        }
+
+        @Override
+        void clear() {
+            codes = new int[0];
+            dictionary.clear();
+            valueToCode.clear();
+            ranks = null;
+        }
+    }
+}
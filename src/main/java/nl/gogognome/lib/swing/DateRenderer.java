@@ -1,25 +1,49 @@
 package nl.gogognome.lib.swing;
 
-import java.awt.Component;
 import java.util.Date;
-
-import javax.swing.JTable;
-import javax.swing.table.DefaultTableCellRenderer;
+import java.util.HashMap;
+import java.util.Map;
 
 import nl.gogognome.lib.text.TextResource;
 import nl.gogognome.lib.util.Factory;
 
 /**
  * Table cell renderere for dates.
+ *
+ * <p>The text resource is looked up once. Formatted dates are cached per date, because tables typically
+ * contain many cells with the same date.
  */
-public class DateRenderer extends DefaultTableCellRenderer {
+public class DateRenderer extends FormattingTableCellRenderer {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum number of dates for which the formatted date is cached. If exceeded, the cache is cleared. */
+    private final static int MAX_NR_CACHED_DATES = 1000;
+
+    private TextResource textResource;
+
+    private final Map<Long, String> timeToFormattedDate = new HashMap<>();
 
     @Override
-	public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
-            boolean hasFocus, int row, int column) {
+    protected String format(Object value) {
         if (value instanceof Date) {
-            value = Factory.getInstance(TextResource.class).formatDate("gen.dateFormat", (Date) value);
+            return formatDate((Date) value);
+        }
+        return value != null ? value.toString() : "";
+    }
+
+    private String formatDate(Date date) {
+        String formattedDate = timeToFormattedDate.get(date.getTime());
+        if (formattedDate == null) {
+            if (textResource == null) {
+                textResource = Factory.getInstance(TextResource.class);
+            }
+            formattedDate = textResource.formatDate("gen.dateFormat", date);
+            if (timeToFormattedDate.size() >= MAX_NR_CACHED_DATES) {
+                timeToFormattedDate.clear();
+            }
+            timeToFormattedDate.put(date.getTime(), formattedDate);
         }
-        return super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+        return formattedDate;
     }
-}
\ No newline at end of file
+}
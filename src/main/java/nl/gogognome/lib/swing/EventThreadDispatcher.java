@@ -0,0 +1,69 @@
+package nl.gogognome.lib.swing;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class executes actions on the AWT event thread. Actions can be scheduled from any thread.
+ * Actions that are scheduled shortly after each other are executed in a single batch,
+ * at most once per interval, instead of posting a separate event for each action.
+ */
+public class EventThreadDispatcher {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(EventThreadDispatcher.class);
+
+    public final static int DEFAULT_INTERVAL_MILLISECONDS = 16;
+
+    private final static EventThreadDispatcher INSTANCE = new EventThreadDispatcher(DEFAULT_INTERVAL_MILLISECONDS);
+
+    private final Queue<Runnable> pendingActions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean batchScheduled = new AtomicBoolean();
+    private final Timer timer;
+
+    /**
+     * Constructor.
+     * @param intervalMilliseconds the number of milliseconds between scheduling the first action and
+     *         executing the batch
+     */
+    public EventThreadDispatcher(int intervalMilliseconds) {
+        timer = new Timer(intervalMilliseconds, e -> executePendingActions());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * @return the dispatcher that is shared by the whole application
+     */
+    public static EventThreadDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Schedules an action to be executed on the AWT event thread in the next batch.
+     * This method can be called from any thread.
+     * @param action the action
+     */
+    public void schedule(Runnable action) {
+        pendingActions.add(action);
+        if (batchScheduled.compareAndSet(false, true)) {
+            timer.start();
+        }
+    }
+
+    private void executePendingActions() {
+        batchScheduled.set(false);
+        Runnable action;
+        while ((action = pendingActions.poll()) != null) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Scheduled action failed: " + e.getMessage(), e);
+            }
+        }
+    }
+}
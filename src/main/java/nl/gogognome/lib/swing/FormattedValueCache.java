@@ -0,0 +1,105 @@
+package nl.gogognome.lib.swing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+
+/**
+ * This class memoizes formatted values of the cells of a table model. The cells are identified by their
+ * row and column in the table model, so that sorting and moving columns do not invalidate the values.
+ * The values of changed cells are discarded when the table model fires an event.
+ */
+class FormattedValueCache implements TableModelListener {
+
+    /** The maximum number of rows for which values are memoized. If exceeded, all values are discarded. */
+    private final static int MAX_NR_ROWS = 10000;
+
+    private TableModel tableModel;
+
+    /** Maps rows to the formatted values of their columns. */
+    private final Map<Integer, String[]> rowToFormattedValues = new HashMap<>();
+
+    /**
+     * Gets a memoized value.
+     * @param tableModel the table model containing the cell. If this differs from the previous table model,
+     *        then all values are discarded and this cache starts listening to the new table model.
+     * @param row the row in the table model
+     * @param column the column in the table model
+     * @return the formatted value; <code>null</code> if no value is memoized for the cell
+     */
+    public String get(TableModel tableModel, int row, int column) {
+        if (tableModel != this.tableModel) {
+            clear();
+            this.tableModel = tableModel;
+            tableModel.addTableModelListener(this);
+        }
+        String[] formattedValues = rowToFormattedValues.get(row);
+        return formattedValues != null && column < formattedValues.length ? formattedValues[column] : null;
+    }
+
+    /**
+     * Memoizes the formatted value of a cell of the table model passed to the last call of
+     * {@link #get(TableModel, int, int)}.
+     * @param row the row in the table model
+     * @param column the column in the table model
+     * @param formattedValue the formatted value
+     */
+    public void put(int row, int column, String formattedValue) {
+        String[] formattedValues = rowToFormattedValues.get(row);
+        if (formattedValues == null || column >= formattedValues.length) {
+            if (rowToFormattedValues.size() >= MAX_NR_ROWS) {
+                rowToFormattedValues.clear();
+            }
+            int nrColumns = Math.max(column + 1, tableModel.getColumnCount());
+            String[] newFormattedValues = new String[nrColumns];
+            if (formattedValues != null) {
+                System.arraycopy(formattedValues, 0, newFormattedValues, 0, formattedValues.length);
+            }
+            formattedValues = newFormattedValues;
+            rowToFormattedValues.put(row, formattedValues);
+        }
+        formattedValues[column] = formattedValue;
+    }
+
+    /**
+     * Discards all values and stops listening to the table model.
+     */
+    public void clear() {
+        if (tableModel != null) {
+            tableModel.removeTableModelListener(this);
+            tableModel = null;
+        }
+        rowToFormattedValues.clear();
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        int firstRow = e.getFirstRow();
+        int lastRow = e.getLastRow();
+        if (firstRow == TableModelEvent.HEADER_ROW || lastRow == Integer.MAX_VALUE) {
+            rowToFormattedValues.clear();
+        } else if (e.getType() != TableModelEvent.UPDATE) {
+            // inserted and deleted rows change the indices of the rows below them
+            rowToFormattedValues.keySet().removeIf(row -> row >= firstRow);
+        } else if (e.getColumn() == TableModelEvent.ALL_COLUMNS) {
+            if (lastRow - firstRow > rowToFormattedValues.size()) {
+                rowToFormattedValues.keySet().removeIf(row -> firstRow <= row && row <= lastRow);
+            } else {
+                for (int row=firstRow; row<=lastRow; row++) {
+                    rowToFormattedValues.remove(row);
+                }
+            }
+        } else {
+            int column = e.getColumn();
+            for (Map.Entry<Integer, String[]> entry : rowToFormattedValues.entrySet()) {
+                int row = entry.getKey();
+                if (firstRow <= row && row <= lastRow && column < entry.getValue().length) {
+                    entry.getValue()[column] = null;
+                }
+            }
+        }
+    }
+}
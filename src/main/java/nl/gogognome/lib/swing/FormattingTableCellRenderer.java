@@ -0,0 +1,76 @@
+package nl.gogognome.lib.swing;
+
+import java.awt.Component;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+
+/**
+ * Base class for table cell renderers that show a formatted representation of the value of a cell.
+ *
+ * <p>Optionally the formatted values are memoized per cell of the table model. Then painting a cell whose value
+ * has not changed does not format the value again, for example when the user scrolls. The memoized values are
+ * invalidated by the events of the table model, so the table model must fire an event for each change.
+ * If the renderer is used for another table model, the memoized values of the previous table model are discarded.
+ *
+ * <p>This renderer must be used on the AWT event thread.
+ */
+public abstract class FormattingTableCellRenderer extends DefaultTableCellRenderer {
+
+    private static final long serialVersionUID = 1L;
+
+    private FormattedValueCache formattedValueCache;
+
+    /**
+     * Enables or disables memoizing formatted values per cell.
+     * @param memoizeFormattedValues true to memoize formatted values; false to format the value each time a cell is rendered
+     */
+    public void setMemoizeFormattedValues(boolean memoizeFormattedValues) {
+        if (memoizeFormattedValues && formattedValueCache == null) {
+            formattedValueCache = new FormattedValueCache();
+        } else if (!memoizeFormattedValues && formattedValueCache != null) {
+            formattedValueCache.clear();
+            formattedValueCache = null;
+        }
+    }
+
+    public boolean isMemoizeFormattedValues() {
+        return formattedValueCache != null;
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+            boolean hasFocus, int row, int column) {
+        return super.getTableCellRendererComponent(table, getFormattedValue(table, value, row, column),
+                isSelected, hasFocus, row, column);
+    }
+
+    /**
+     * Gets the formatted value of a cell. Uses the memoized value if available.
+     * @param table the table
+     * @param value the value of the cell
+     * @param row the row of the cell in view coordinates
+     * @param column the column of the cell in view coordinates
+     * @return the formatted value
+     */
+    protected String getFormattedValue(JTable table, Object value, int row, int column) {
+        if (formattedValueCache == null || table == null || row < 0 || column < 0) {
+            return format(value);
+        }
+        int modelRow = table.convertRowIndexToModel(row);
+        int modelColumn = table.convertColumnIndexToModel(column);
+        String formattedValue = formattedValueCache.get(table.getModel(), modelRow, modelColumn);
+        if (formattedValue == null) {
+            formattedValue = format(value);
+            formattedValueCache.put(modelRow, modelColumn, formattedValue);
+        }
+        return formattedValue;
+    }
+
+    /**
+     * Formats a value.
+     * @param value the value; can be <code>null</code>
+     * @return the formatted value (never <code>null</code>)
+     */
+    protected abstract String format(Object value);
+}
@@ -0,0 +1,336 @@
+package nl.gogognome.lib.swing;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.ImageIcon;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class caches the images of icons for the whole application. It can be used from any thread.
+ *
+ * <p>Decoded images are kept by soft references, so that the garbage collector can reclaim them when memory
+ * gets low. The number of cached images is bounded. Scaled variants of an image are cached per size.
+ *
+ * <p>Icons returned by this class are proxies: the image is decoded when the icon is painted for the first time.
+ * Only the header of the image is read to determine the size of the icon before that.
+ *
+ * <p>When the cache is created, the icons referred to by the resource bundle of this library are decoded
+ * on a background thread, so that they are available when the first forms are shown.
+ */
+public class IconCache {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(IconCache.class);
+
+    public final static int MAX_NR_CACHED_IMAGES = 256;
+
+    /** The resource bundle whose icons are decoded in the background when the cache is created. */
+    private final static String PRELOADED_RESOURCE_BUNDLE = "/gogolibstrings.properties";
+
+    private static IconCache instance;
+
+    private final Map<ImageKey, SoftReference<Image>> images = new ConcurrentHashMap<>();
+    private final Map<String, Dimension> imageSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor. Use {@link #getInstance()} to get the cache that is shared by the whole application.
+     */
+    IconCache() {
+    }
+
+    /**
+     * @return the cache that is shared by the whole application
+     */
+    public static synchronized IconCache getInstance() {
+        if (instance == null) {
+            instance = new IconCache();
+            instance.preloadIcons(PRELOADED_RESOURCE_BUNDLE, ForkJoinPool.commonPool());
+        }
+        return instance;
+    }
+
+    /**
+     * Gets an icon. The image of the icon is decoded when the icon is painted for the first time.
+     * @param url the URL of the image
+     * @param description the description of the icon; may be <code>null</code>
+     * @return the icon
+     */
+    public ImageIcon getIcon(URL url, String description) {
+        return getIcon(url, description, 0);
+    }
+
+    /**
+     * Gets an icon that is not larger than the specified size. Images that are larger are scaled down,
+     * keeping their aspect ratio. The image of the icon is decoded when the icon is painted for the first time.
+     * @param url the URL of the image
+     * @param description the description of the icon; may be <code>null</code>
+     * @param maxSize the maximum width and height of the icon in pixels; 0 for the original size
+     * @return the icon
+     */
+    public ImageIcon getIcon(URL url, String description, int maxSize) {
+        return new LazyImageIcon(this, url, description, maxSize);
+    }
+
+    /**
+     * Gets an image.
+     * @param url the URL of the image
+     * @return the image or <code>null</code> if the image could not be read
+     */
+    public Image getImage(URL url) {
+        return getImage(url, 0);
+    }
+
+    /**
+     * Gets an image that is not larger than the specified size. Images that are larger are scaled down,
+     * keeping their aspect ratio.
+     * @param url the URL of the image
+     * @param maxSize the maximum width and height of the image in pixels; 0 for the original size
+     * @return the image or <code>null</code> if the image could not be read
+     */
+    public Image getImage(URL url, int maxSize) {
+        Image image = getCachedImage(url, maxSize);
+        if (image == null) {
+            image = maxSize > 0 ? scale(getImage(url, 0), maxSize) : read(url);
+            if (image != null) {
+                put(new ImageKey(url.toString(), maxSize), image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Gets an image from the cache without decoding it.
+     * @param url the URL of the image
+     * @param maxSize the maximum width and height of the image in pixels; 0 for the original size
+     * @return the image or <code>null</code> if the image is not cached
+     */
+    Image getCachedImage(URL url, int maxSize) {
+        SoftReference<Image> reference = images.get(new ImageKey(url.toString(), maxSize));
+        return reference != null ? reference.get() : null;
+    }
+
+    /**
+     * Gets the size of an image without decoding the image, if the image has not been decoded yet.
+     * @param url the URL of the image
+     * @param maxSize the maximum width and height of the image in pixels; 0 for the original size
+     * @return the size of the image or <code>null</code> if the image could not be read
+     */
+    Dimension getImageSize(URL url, int maxSize) {
+        Dimension size = imageSizes.get(url.toString());
+        if (size == null) {
+            size = readSize(url);
+            if (size == null) {
+                Image image = getImage(url);
+                if (image == null) {
+                    return null;
+                }
+                size = new Dimension(image.getWidth(null), image.getHeight(null));
+            }
+            imageSizes.put(url.toString(), size);
+        }
+        return maxSize > 0 ? fit(size, maxSize) : size;
+    }
+
+    /**
+     * Decodes the images referred to by the keys ending with <code>.icon</code> or <code>.icon16</code>
+     * of a resource bundle.
+     * @param resourceBundle the name of the properties file of the resource bundle
+     * @param executor decodes the images
+     */
+    void preloadIcons(String resourceBundle, Executor executor) {
+        executor.execute(() -> {
+            Properties properties = new Properties();
+            try (InputStream inputStream = IconCache.class.getResourceAsStream(resourceBundle)) {
+                if (inputStream == null) {
+                    return;
+                }
+                properties.load(inputStream);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to read " + resourceBundle + ": " + e.getMessage(), e);
+                return;
+            }
+            for (String key : properties.stringPropertyNames()) {
+                if (key.endsWith(".icon") || key.endsWith(".icon16")) {
+                    URL url = IconCache.class.getResource(properties.getProperty(key).trim());
+                    if (url != null) {
+                        getImage(url);
+                    }
+                }
+            }
+        });
+    }
+
+    private void put(ImageKey key, Image image) {
+        if (images.size() >= MAX_NR_CACHED_IMAGES) {
+            images.values().removeIf(reference -> reference.get() == null);
+            if (images.size() >= MAX_NR_CACHED_IMAGES) {
+                Iterator<ImageKey> iterator = images.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        images.put(key, new SoftReference<>(image));
+    }
+
+    private static Image read(URL url) {
+        try {
+            return ImageIO.read(url);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to load image " + url + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static Dimension readSize(URL url) {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(url.openStream())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(inputStream, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Dimension fit(Dimension size, int maxSize) {
+        if (size.width <= maxSize && size.height <= maxSize) {
+            return size;
+        }
+        double scale = Math.min((double) maxSize / size.width, (double) maxSize / size.height);
+        return new Dimension(Math.max(1, (int) Math.round(size.width * scale)),
+                Math.max(1, (int) Math.round(size.height * scale)));
+    }
+
+    private static Image scale(Image image, int maxSize) {
+        if (image == null) {
+            return null;
+        }
+        Dimension size = new Dimension(image.getWidth(null), image.getHeight(null));
+        Dimension scaledSize = fit(size, maxSize);
+        if (scaledSize == size) {
+            return image;
+        }
+        BufferedImage scaledImage = new BufferedImage(scaledSize.width, scaledSize.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaledImage.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, scaledSize.width, scaledSize.height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaledImage;
+    }
+
+    private static class ImageKey {
+        private final String url;
+        private final int maxSize;
+
+        public ImageKey(String url, int maxSize) {
+            this.url = url;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ImageKey)) {
+                return false;
+            }
+            ImageKey that = (ImageKey) obj;
+            return this.maxSize == that.maxSize && this.url.equals(that.url);
+        }
+
+        @Override
+        public int hashCode() {
+            return url.hashCode() * 31 + maxSize;
+        }
+    }
+
+    /**
+     * An image icon whose image is obtained from the cache when the icon is painted for the first time.
+     * It extends {@link ImageIcon}, so that look and feels can derive a disabled icon from it.
+     */
+    private static class LazyImageIcon extends ImageIcon {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient IconCache iconCache;
+        private final URL url;
+        private final int maxSize;
+        private boolean realized;
+
+        public LazyImageIcon(IconCache iconCache, URL url, String description, int maxSize) {
+            this.iconCache = iconCache;
+            this.url = url;
+            this.maxSize = maxSize;
+            setDescription(description);
+        }
+
+        @Override
+        public int getIconWidth() {
+            if (!realized) {
+                Dimension size = iconCache.getImageSize(url, maxSize);
+                return size != null ? size.width : -1;
+            }
+            return super.getIconWidth();
+        }
+
+        @Override
+        public int getIconHeight() {
+            if (!realized) {
+                Dimension size = iconCache.getImageSize(url, maxSize);
+                return size != null ? size.height : -1;
+            }
+            return super.getIconHeight();
+        }
+
+        @Override
+        public Image getImage() {
+            realize();
+            return super.getImage();
+        }
+
+        @Override
+        public synchronized void paintIcon(Component c, Graphics g, int x, int y) {
+            realize();
+            super.paintIcon(c, g, x, y);
+        }
+
+        private synchronized void realize() {
+            if (!realized) {
+                realized = true;
+                Image image = iconCache.getImage(url, maxSize);
+                if (image != null) {
+                    setImage(image);
+                }
+            }
+        }
+    }
+}
@@ -4,31 +4,32 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
+import java.util.function.IntFunction;
 
 import javax.swing.JComboBox;
 
 import nl.gogognome.lib.gui.Closeable;
-import nl.gogognome.lib.text.StringMatcher;
 
 /**
  * This class extends the standard combo box implementation with keyboard input:
  * the user can select an item by typing a substring of the items name.
+ * The typed substring is reset when the combo box gains the focus or when the user
+ * has not typed for some time.
  */
 public class JComboBoxWithKeyboardInput extends JComboBox
 		implements KeyListener, FocusListener, Closeable {
 
 	private static final long serialVersionUID = 1L;
 
-	/**
-     * Contains the string representation of the parties in the <code>parties</code>
-     * field. All strings are converted to lower case to make case-insensitive
-     * searches easy.
-     */
-    private ArrayList<String> itemStrings = new ArrayList<String>();
+	public final static int DEFAULT_TYPE_AHEAD_TIMEOUT_MILLISECONDS = 1000;
+
+	/** Contains the string representations of the items and the substring entered by the user. */
+	private final TypeAheadIndex typeAheadIndex = new TypeAheadIndex();
+
+	private int typeAheadTimeoutMilliseconds = DEFAULT_TYPE_AHEAD_TIMEOUT_MILLISECONDS;
 
-	/** The substring entered by the user. */
-	private StringBuilder substring = new StringBuilder();
+	/** The time at which the user typed the last character of the substring. */
+	private long lastKeyPressedTime;
 
     /**
      * Constructor.
@@ -39,6 +40,15 @@ public class JComboBoxWithKeyboardInput extends JComboBox
 		addFocusListener(this);
     }
 
+    /**
+     * Sets the time after which the substring entered by the user is reset.
+     * @param typeAheadTimeoutMilliseconds the time in milliseconds; 0 to never reset the substring
+     *        while the combo box has the focus
+     */
+    public void setTypeAheadTimeout(int typeAheadTimeoutMilliseconds) {
+        this.typeAheadTimeoutMilliseconds = typeAheadTimeoutMilliseconds;
+    }
+
     @Override
     public void close() {
     	removeKeyListener(this);
@@ -52,13 +62,24 @@ public class JComboBoxWithKeyboardInput extends JComboBox
 
     public void addItemWithStringRepresentation(Object item, String representation) {
     	super.addItem(item);
-        itemStrings.add(representation);
+        typeAheadIndex.add(representation);
+    }
+
+    /**
+     * Sets the string representations of the items of the combo box model. Use this method instead of
+     * {@link #addItemWithStringRepresentation(Object, String)} when the combo box model is filled by other means.
+     * Call this method again each time the contents of the combo box model change.
+     * @param itemStrings gets the string representation of the item with the specified index.
+     *        It is called when the user types for the first time after this call.
+     */
+    protected void setItemStrings(IntFunction<String> itemStrings) {
+        typeAheadIndex.setItems(getItemCount(), itemStrings);
     }
 
     @Override
     public void removeAllItems() {
     	super.removeAllItems();
-    	itemStrings.clear();
+    	typeAheadIndex.clear();
     }
 
 	/**
@@ -69,30 +90,24 @@ public class JComboBoxWithKeyboardInput extends JComboBox
 	public void keyPressed(KeyEvent e) {
 		char c = e.getKeyChar();
 		if (Character.isLetterOrDigit(c)) {
-			substring.append(Character.toLowerCase(c));
-			selectItemWithSubstring(substring.toString());
-		} else if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
-			if (substring.length() > 0)	{
-				substring.deleteCharAt(substring.length()-1);
-				selectItemWithSubstring(substring.toString());
+			if (typeAheadTimeoutMilliseconds > 0 && e.getWhen() - lastKeyPressedTime > typeAheadTimeoutMilliseconds) {
+				typeAheadIndex.reset();
 			}
+			lastKeyPressedTime = e.getWhen();
+			selectItem(typeAheadIndex.append(c));
+		} else if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
+			lastKeyPressedTime = e.getWhen();
+			selectItem(typeAheadIndex.removeLastCharacter());
 		}
 	}
 
 	/**
-	 * Selects the first party in the list that has the specified string as
-	 * substring. If the specified string is not a substring of any party, then
-	 * the currently selected party stays selected.
-	 *
-	 * @param s the string that should be matched as substring.
+	 * Selects an item. If no item is specified, then the currently selected item stays selected.
+	 * @param index the index of the item; -1 if no item is specified
 	 */
-	private void selectItemWithSubstring(String s) {
-		StringMatcher matcher = new StringMatcher(s, true);
-		for (int i=0; i<itemStrings.size(); i++) {
-			if (matcher.match(itemStrings.get(i)) != -1) {
-				setSelectedIndex(i);
-				return;
-			}
+	private void selectItem(int index) {
+		if (index != -1) {
+			setSelectedIndex(index);
 		}
 	}
 
@@ -120,7 +135,7 @@ public class JComboBoxWithKeyboardInput extends JComboBox
 	 */
 	@Override
 	public void focusGained(FocusEvent event) {
-		substring.delete(0, substring.length());
+		typeAheadIndex.reset();
 	}
 
 	/**
@@ -0,0 +1,33 @@
+package nl.gogognome.lib.swing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements a {@link RowSource} that gets its rows from a list.
+ *
+ * @param <R> the type of rows
+ */
+public class ListRowSource<R> implements RowSource<R> {
+
+    private final List<R> rows;
+
+    /**
+     * Constructor.
+     * @param rows the rows. The list is not copied, so changes in the list are visible to the row source.
+     */
+    public ListRowSource(List<R> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public List<R> getRows(int firstRow, int nrRows) {
+        int endRow = Math.min(rows.size(), firstRow + nrRows);
+        return new ArrayList<>(rows.subList(Math.min(firstRow, endRow), endRow));
+    }
+}
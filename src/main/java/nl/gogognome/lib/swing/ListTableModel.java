@@ -1,9 +1,21 @@
 package nl.gogognome.lib.swing;
 
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import static java.util.Arrays.asList;
 
@@ -12,12 +24,48 @@ import static java.util.Arrays.asList;
  * the rows of the table model in a list. This class offers methods to modify the list.
  * Modifications of the list are signaled the registered TableModelListeners.
  *
+ * <p>Modifications made between {@link #beginUpdate()} and {@link #endUpdate()} are signaled
+ * as a single event when {@link #endUpdate()} is called. Adjacent inserts, adjacent deletes
+ * and updates are combined into a single event for a range of rows. Other combinations of
+ * modifications are signaled as a change of all data.
+ *
+ * <p>By default the rows must be modified on the AWT event thread. In concurrent mode, the methods that modify
+ * rows can be called from any thread. Modifications made on other threads are applied on the AWT event thread
+ * in batches, using {@link EventThreadDispatcher}. Each batch is applied between {@link #beginUpdate()} and
+ * {@link #endUpdate()}, so that the modifications of a batch are combined. Indices passed from other threads
+ * refer to the rows at the moment the modification is applied. The rows must always be read on the
+ * AWT event thread.
+ *
  * @param <R> the type of rows
  */
 public class ListTableModel<R> extends AbstractTableModel<R> {
 
+    /**
+     * If more than this number of ranges of rows are removed at once, then the listeners are
+     * notified with a single data changed event instead of one event per range.
+     */
+    private final static int MAX_NR_DELETED_RANGES = 10;
+
+    /**
+     * If applying a difference between the old and new rows takes more than this number of events,
+     * then all rows are replaced and the listeners are notified with a single data changed event.
+     */
+    private final static int MAX_NR_DIFF_EVENTS = 100;
+
     private final List<R> rows = new ArrayList<>();
 
+    /** The nesting depth of {@link #beginUpdate()} calls. */
+    private int updateDepth;
+
+    /** Combines the changes made since the outermost {@link #beginUpdate()}. Null if nothing has changed. */
+    private TableModelEvent pendingEvent;
+
+    private volatile boolean concurrentMode;
+
+    /** Contains modifications made on other threads that have not been applied yet. */
+    private final Queue<Runnable> pendingModifications = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean modificationsScheduled = new AtomicBoolean();
+
     /**
      * Constructor.
      */
@@ -59,45 +107,126 @@ public class ListTableModel<R> extends AbstractTableModel<R> {
     /**
      * Adds a row to the table model.
      * Notifies all listeners about the change in the table.
-     * This method must be called from the AWT event thread.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
      * @param row the row
      */
     public void addRow(R row) {
+        if (mustApplyLaterOnEventThread()) {
+            applyLaterOnEventThread(() -> addRow(row));
+            return;
+        }
         rows.add(row);
         fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
     }
 
+    /**
+     * Adds rows to the end of the table model.
+     * Notifies all listeners about the change in the table with a single event.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
+     * @param newRows the rows to be added
+     */
+    public void addRows(Collection<? extends R> newRows) {
+        if (mustApplyLaterOnEventThread()) {
+            List<R> copiedRows = new ArrayList<>(newRows);
+            applyLaterOnEventThread(() -> addRows(copiedRows));
+            return;
+        }
+        if (!newRows.isEmpty()) {
+            int firstIndex = rows.size();
+            rows.addAll(newRows);
+            fireTableRowsInserted(firstIndex, rows.size() - 1);
+        }
+    }
+
     /**
      * Removes a row from the table model.
      * Notifies all listeners about the change in the table.
-     * This method must be called from the AWT event thread.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
      * @param index the index of the row
      */
     public void removeRow(int index) {
+        if (mustApplyLaterOnEventThread()) {
+            applyLaterOnEventThread(() -> removeRow(index));
+            return;
+        }
         rows.remove(index);
         fireTableRowsDeleted(index, index);
     }
 
     /**
      * Removes a number of rows from the table model.
-     * Notifies all listeners about the change in the table.
-     * This method must be called from the AWT event thread.
+     * Notifies all listeners about the change in the table. Each range of adjacent rows
+     * is signaled by a single event. If many ranges are removed, then the rows are removed
+     * in a single pass and a single data changed event is fired.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
      * @param indices the indices of the rows to be removed
      */
     public void removeRows(int[] indices) {
-        Arrays.sort(indices);
-        for (int i=indices.length-1; i >= 0; i--) {
-            rows.remove(indices[i]);
+        if (mustApplyLaterOnEventThread()) {
+            int[] copiedIndices = indices.clone();
+            applyLaterOnEventThread(() -> removeRows(copiedIndices));
+            return;
         }
-        fireTableDataChanged();
+        int[] sortedIndices = indices.clone();
+        Arrays.sort(sortedIndices);
+        if (countRanges(sortedIndices) <= MAX_NR_DELETED_RANGES) {
+            removeRangesFromLastToFirst(sortedIndices);
+        } else {
+            removeRowsInSinglePass(sortedIndices);
+            fireTableDataChanged();
+        }
+    }
+
+    private static int countRanges(int[] sortedIndices) {
+        int nrRanges = 0;
+        for (int i=0; i<sortedIndices.length; i++) {
+            if (i == 0 || sortedIndices[i] > sortedIndices[i-1] + 1) {
+                nrRanges++;
+            }
+        }
+        return nrRanges;
+    }
+
+    private void removeRangesFromLastToFirst(int[] sortedIndices) {
+        int end = sortedIndices.length - 1;
+        while (end >= 0) {
+            int start = end;
+            while (start > 0 && sortedIndices[start - 1] >= sortedIndices[start] - 1) {
+                start--;
+            }
+            int firstRow = sortedIndices[start];
+            int lastRow = sortedIndices[end];
+            rows.subList(firstRow, lastRow + 1).clear();
+            fireTableRowsDeleted(firstRow, lastRow);
+            end = start - 1;
+        }
+    }
+
+    private void removeRowsInSinglePass(int[] sortedIndices) {
+        int writeIndex = 0;
+        int nextIndexToRemove = 0;
+        for (int readIndex=0; readIndex<rows.size(); readIndex++) {
+            while (nextIndexToRemove < sortedIndices.length && sortedIndices[nextIndexToRemove] < readIndex) {
+                nextIndexToRemove++;
+            }
+            if (nextIndexToRemove < sortedIndices.length && sortedIndices[nextIndexToRemove] == readIndex) {
+                continue;
+            }
+            rows.set(writeIndex++, rows.get(readIndex));
+        }
+        rows.subList(writeIndex, rows.size()).clear();
     }
 
     /**
      * Removes all rows from the table model.
      * Notifies all listeners about the change in the table.
-     * This method must be called from the AWT event thread.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
      */
     public void clear() {
+        if (mustApplyLaterOnEventThread()) {
+            applyLaterOnEventThread(() -> clear());
+            return;
+        }
         int oldSize = rows.size();
         if (oldSize > 0) {
             rows.clear();
@@ -108,25 +237,241 @@ public class ListTableModel<R> extends AbstractTableModel<R> {
     /**
      * Updates a row.
      * Notifies all listeners about the change in the table.
-     * This method must be called from the AWT event thread.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
      * @param index the index of the row
      * @param row the new value of the row
      */
     public void updateRow(int index, R row) {
+        if (mustApplyLaterOnEventThread()) {
+            applyLaterOnEventThread(() -> updateRow(index, row));
+            return;
+        }
         rows.set(index, row);
         fireTableRowsUpdated(index, index);
     }
 
+    /**
+     * Updates a number of rows.
+     * Notifies all listeners about the change in the table with a single event.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
+     * @param indices the indices of the rows
+     * @param newRows the new values of the rows. The value at position i is stored in the row at indices[i].
+     */
+    public void updateRows(int[] indices, List<R> newRows) {
+        if (mustApplyLaterOnEventThread()) {
+            int[] copiedIndices = indices.clone();
+            List<R> copiedRows = new ArrayList<>(newRows);
+            applyLaterOnEventThread(() -> updateRows(copiedIndices, copiedRows));
+            return;
+        }
+        if (indices.length != newRows.size()) {
+            throw new IllegalArgumentException("The number of indices and the number of rows differ");
+        }
+        if (indices.length > 0) {
+            int firstRow = Integer.MAX_VALUE;
+            int lastRow = -1;
+            for (int i=0; i<indices.length; i++) {
+                rows.set(indices[i], newRows.get(i));
+                firstRow = Math.min(firstRow, indices[i]);
+                lastRow = Math.max(lastRow, indices[i]);
+            }
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
     /**
      * Updates all rows of the table.
      * @param newRows the new rows
      */
     public void setRows(List<R> newRows) {
+        if (mustApplyLaterOnEventThread()) {
+            List<R> copiedRows = new ArrayList<>(newRows);
+            applyLaterOnEventThread(() -> setRows(copiedRows));
+            return;
+        }
         rows.clear();
         rows.addAll(newRows);
         fireTableDataChanged();
     }
 
+    /**
+     * Updates all rows of the table. Rows of the old and new list that have the same key are considered
+     * to be the same row. Only the differences between the old and new rows are signaled to the listeners:
+     * rows that are not present anymore are deleted, new rows are inserted and rows that are not equal
+     * to their old version are updated. Rows that changed position are deleted and inserted again.
+     * Because of this, the selection and the state of a row sorter are kept for unchanged rows.
+     *
+     * <p>If the keys are not unique or if the lists differ too much, then this method behaves
+     * like {@link #setRows(List)}.
+     * This method must be called from the AWT event thread, unless concurrent mode is enabled.
+     * @param newRows the new rows
+     * @param keyExtractor gets the key of a row
+     * @param <K> the type of the key
+     */
+    public <K> void setRows(List<R> newRows, Function<? super R, K> keyExtractor) {
+        if (mustApplyLaterOnEventThread()) {
+            List<R> copiedRows = new ArrayList<>(newRows);
+            applyLaterOnEventThread(() -> setRows(copiedRows, keyExtractor));
+            return;
+        }
+        int[] oldIndexOfNewRow = getOldIndexOfNewRows(newRows, keyExtractor);
+        if (oldIndexOfNewRow == null) {
+            setRows(newRows);
+            return;
+        }
+
+        boolean[] keepOldRow = new boolean[rows.size()];
+        for (int oldIndex : longestIncreasingSubsequence(oldIndexOfNewRow)) {
+            keepOldRow[oldIndex] = true;
+        }
+        boolean[] keepNewRow = new boolean[newRows.size()];
+        for (int i=0; i<keepNewRow.length; i++) {
+            keepNewRow[i] = oldIndexOfNewRow[i] != -1 && keepOldRow[oldIndexOfNewRow[i]];
+        }
+
+        if (countRanges(keepOldRow, false) + countRanges(keepNewRow, false) > MAX_NR_DIFF_EVENTS) {
+            setRows(newRows);
+            return;
+        }
+
+        removeRangesFromLastToFirst(getIndices(keepOldRow, false));
+        insertRows(newRows, keepNewRow);
+        updateRows(newRows, keepNewRow);
+    }
+
+    /**
+     * Determines for each new row the index of the old row with the same key.
+     * @return for each new row the index of the old row or -1 if the new row does not occur in the old rows;
+     *         null if the old or new rows contain duplicate keys
+     */
+    private <K> int[] getOldIndexOfNewRows(List<R> newRows, Function<? super R, K> keyExtractor) {
+        Map<K, Integer> keyToOldIndex = new HashMap<>();
+        for (int i=0; i<rows.size(); i++) {
+            if (keyToOldIndex.put(keyExtractor.apply(rows.get(i)), i) != null) {
+                return null;
+            }
+        }
+
+        int[] oldIndexOfNewRow = new int[newRows.size()];
+        Set<K> newKeys = new HashSet<>();
+        for (int i=0; i<oldIndexOfNewRow.length; i++) {
+            K key = keyExtractor.apply(newRows.get(i));
+            if (!newKeys.add(key)) {
+                return null;
+            }
+            Integer oldIndex = keyToOldIndex.get(key);
+            oldIndexOfNewRow[i] = oldIndex != null ? oldIndex : -1;
+        }
+        return oldIndexOfNewRow;
+    }
+
+    /**
+     * Determines the longest strictly increasing subsequence of the values, ignoring values that are -1.
+     * @param values the values
+     * @return the values of the longest increasing subsequence
+     */
+    private static int[] longestIncreasingSubsequence(int[] values) {
+        int[] tailPositions = new int[values.length];
+        int[] predecessors = new int[values.length];
+        int length = 0;
+        for (int i=0; i<values.length; i++) {
+            if (values[i] == -1) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[tailPositions[middle]] < values[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = low > 0 ? tailPositions[low - 1] : -1;
+            tailPositions[low] = i;
+            length = Math.max(length, low + 1);
+        }
+
+        int[] result = new int[length];
+        for (int i=length-1, position=length > 0 ? tailPositions[length-1] : -1; i>=0; i--) {
+            result[i] = values[position];
+            position = predecessors[position];
+        }
+        return result;
+    }
+
+    private static int countRanges(boolean[] flags, boolean value) {
+        int nrRanges = 0;
+        for (int i=0; i<flags.length; i++) {
+            if (flags[i] == value && (i == 0 || flags[i-1] != value)) {
+                nrRanges++;
+            }
+        }
+        return nrRanges;
+    }
+
+    private static int[] getIndices(boolean[] flags, boolean value) {
+        int[] indices = new int[flags.length];
+        int nrIndices = 0;
+        for (int i=0; i<flags.length; i++) {
+            if (flags[i] == value) {
+                indices[nrIndices++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, nrIndices);
+    }
+
+    /**
+     * Inserts the new rows that are not kept. Inserting from first to last ensures that each
+     * range is inserted at its final index.
+     */
+    private void insertRows(List<R> newRows, boolean[] keepNewRow) {
+        int index = 0;
+        while (index < keepNewRow.length) {
+            if (keepNewRow[index]) {
+                index++;
+                continue;
+            }
+            int start = index;
+            while (index < keepNewRow.length && !keepNewRow[index]) {
+                index++;
+            }
+            rows.addAll(start, newRows.subList(start, index));
+            fireTableRowsInserted(start, index - 1);
+        }
+    }
+
+    /**
+     * Replaces the kept rows by their new version. Rows that are not equal to their old version are signaled
+     * as updated. If there are many ranges of updated rows, then a single event is fired for all of them.
+     */
+    private void updateRows(List<R> newRows, boolean[] keepNewRow) {
+        boolean[] updated = new boolean[keepNewRow.length];
+        for (int i=0; i<keepNewRow.length; i++) {
+            if (keepNewRow[i]) {
+                updated[i] = !Objects.equals(rows.get(i), newRows.get(i));
+                rows.set(i, newRows.get(i));
+            }
+        }
+
+        int[] updatedIndices = getIndices(updated, true);
+        if (updatedIndices.length == 0) {
+            return;
+        }
+        if (countRanges(updated, true) > MAX_NR_DIFF_EVENTS) {
+            fireTableRowsUpdated(updatedIndices[0], updatedIndices[updatedIndices.length - 1]);
+            return;
+        }
+        int start = 0;
+        for (int i=1; i<=updatedIndices.length; i++) {
+            if (i == updatedIndices.length || updatedIndices[i] != updatedIndices[i-1] + 1) {
+                fireTableRowsUpdated(updatedIndices[start], updatedIndices[i-1]);
+                start = i;
+            }
+        }
+    }
+
     /**
      * Gets a row.
      * @param index the index of the row
@@ -151,4 +496,120 @@ public class ListTableModel<R> extends AbstractTableModel<R> {
         return columnDefinition.getValueForColumn(getRow(rowIndex));
     }
 
+    /**
+     * Enables or disables concurrent mode. In concurrent mode, the rows can be modified from any thread.
+     * @param concurrentMode true to enable concurrent mode; false to disable it
+     */
+    public void setConcurrentMode(boolean concurrentMode) {
+        this.concurrentMode = concurrentMode;
+    }
+
+    public boolean isConcurrentMode() {
+        return concurrentMode;
+    }
+
+    /**
+     * Checks whether a modification must be applied later on the AWT event thread.
+     * @return true if this model is in concurrent mode and this method is called from another thread
+     */
+    private boolean mustApplyLaterOnEventThread() {
+        return concurrentMode && !SwingUtilities.isEventDispatchThread();
+    }
+
+    /**
+     * Schedules a modification to be applied on the AWT event thread.
+     * @param modification the modification
+     */
+    private void applyLaterOnEventThread(Runnable modification) {
+        pendingModifications.add(modification);
+        if (modificationsScheduled.compareAndSet(false, true)) {
+            EventThreadDispatcher.getInstance().schedule(this::applyPendingModifications);
+        }
+    }
+
+    private void applyPendingModifications() {
+        modificationsScheduled.set(false);
+        beginUpdate();
+        try {
+            Runnable modification;
+            while ((modification = pendingModifications.poll()) != null) {
+                modification.run();
+            }
+        } finally {
+            endUpdate();
+        }
+    }
+
+    /**
+     * Starts a batch of modifications. Listeners are not notified until the matching call to {@link #endUpdate()}.
+     * Calls to this method can be nested.
+     * This method must be called from the AWT event thread.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends a batch of modifications started by {@link #beginUpdate()}. When the outermost batch ends,
+     * the listeners are notified about all modifications in the batch with a single event.
+     * This method must be called from the AWT event thread.
+     */
+    public void endUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("endUpdate() called without matching beginUpdate()");
+        }
+        updateDepth--;
+        if (updateDepth == 0 && pendingEvent != null) {
+            TableModelEvent event = pendingEvent;
+            pendingEvent = null;
+            super.fireTableChanged(event);
+        }
+    }
+
+    @Override
+    public void fireTableChanged(TableModelEvent event) {
+        if (updateDepth > 0) {
+            pendingEvent = pendingEvent == null ? event : combine(pendingEvent, event);
+        } else {
+            super.fireTableChanged(event);
+        }
+    }
+
+    /**
+     * Combines two events into a single event that describes the result of both changes.
+     * @param previous the event of the first change
+     * @param next the event of the second change
+     * @return the combined event
+     */
+    private TableModelEvent combine(TableModelEvent previous, TableModelEvent next) {
+        if (previous.getFirstRow() == TableModelEvent.HEADER_ROW || next.getFirstRow() == TableModelEvent.HEADER_ROW) {
+            return new TableModelEvent(this, TableModelEvent.HEADER_ROW);
+        }
+
+        int first = previous.getFirstRow();
+        int last = previous.getLastRow();
+        int nextFirst = next.getFirstRow();
+        int nextLast = next.getLastRow();
+        int type = previous.getType();
+        int nextType = next.getType();
+        if (type == TableModelEvent.INSERT && nextType == TableModelEvent.INSERT
+                && first <= nextFirst && nextFirst <= last + 1) {
+            return new TableModelEvent(this, first, last + nextLast - nextFirst + 1,
+                    TableModelEvent.ALL_COLUMNS, TableModelEvent.INSERT);
+        }
+        if (type == TableModelEvent.INSERT && nextType == TableModelEvent.UPDATE
+                && first <= nextFirst && nextLast <= last) {
+            return previous;
+        }
+        if (type == TableModelEvent.DELETE && nextType == TableModelEvent.DELETE
+                && nextFirst <= first && first <= nextLast + 1) {
+            return new TableModelEvent(this, nextFirst, nextLast + last - first + 1,
+                    TableModelEvent.ALL_COLUMNS, TableModelEvent.DELETE);
+        }
+        if (type == TableModelEvent.UPDATE && nextType == TableModelEvent.UPDATE) {
+            return new TableModelEvent(this, Math.min(first, nextFirst), Math.max(last, nextLast),
+                    TableModelEvent.ALL_COLUMNS, TableModelEvent.UPDATE);
+        }
+        return new TableModelEvent(this);
+    }
 }
@@ -0,0 +1,249 @@
+package nl.gogognome.lib.swing;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
+
+import nl.gogognome.lib.gui.Closeable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This table model gets its rows from a {@link RowSource}. Rows are loaded in pages of a fixed size
+ * on a background thread when they are needed for the first time. Only a limited number of pages is kept
+ * in memory; the least recently used page is removed first.
+ *
+ * <p>Until a page has been loaded, {@link #getValueAt(int, int)} returns <code>null</code> for its rows.
+ * When the page has been loaded, the listeners are notified that its rows have been updated.
+ * When a page is used for the first time, the next pages are loaded in advance.
+ *
+ * <p>All methods must be called from the AWT event thread. Call {@link #close()} when the model is not used anymore.
+ *
+ * @param <R> the type of rows
+ */
+public class PagedTableModel<R> extends AbstractTableModel<R> implements Closeable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(PagedTableModel.class);
+
+    public final static int DEFAULT_PAGE_SIZE = 500;
+    public final static int DEFAULT_MAX_NR_CACHED_PAGES = 20;
+    public final static int DEFAULT_NR_PAGES_TO_PREFETCH = 1;
+
+    private final RowSource<R> rowSource;
+    private final int pageSize;
+    private final int nrPagesToPrefetch;
+    private final Executor loadExecutor;
+    private final Executor resultExecutor;
+    private final ExecutorService ownedExecutorService;
+
+    /** The loaded pages in least recently used order. */
+    private final Map<Integer, List<R>> pages;
+
+    /** The pages that are being loaded. */
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private int rowCount;
+    private int lastUsedPage = -1;
+
+    /** Identifies the current contents of the row source. Pages loaded before the last refresh are ignored. */
+    private int generation;
+
+    /**
+     * Constructor. Uses default values for the page size, the number of cached pages and the number of pages
+     * to prefetch. Pages are loaded on a thread that is owned by this model.
+     * @param columnDefinitions the column definitions
+     * @param rowSource the row source
+     */
+    public PagedTableModel(List<ColumnDefinition<R>> columnDefinitions, RowSource<R> rowSource) {
+        this(columnDefinitions, rowSource, DEFAULT_PAGE_SIZE, DEFAULT_MAX_NR_CACHED_PAGES, DEFAULT_NR_PAGES_TO_PREFETCH);
+    }
+
+    /**
+     * Constructor. Pages are loaded on a thread that is owned by this model.
+     * @param columnDefinitions the column definitions
+     * @param rowSource the row source
+     * @param pageSize the number of rows per page
+     * @param maxNrCachedPages the maximum number of pages that are kept in memory; must be larger than
+     *                         the number of pages to prefetch
+     * @param nrPagesToPrefetch the number of pages that are loaded in advance
+     */
+    public PagedTableModel(List<ColumnDefinition<R>> columnDefinitions, RowSource<R> rowSource,
+                           int pageSize, int maxNrCachedPages, int nrPagesToPrefetch) {
+        this(columnDefinitions, rowSource, pageSize, maxNrCachedPages, nrPagesToPrefetch,
+                createLoaderThread(), SwingUtilities::invokeLater, true);
+    }
+
+    /**
+     * Constructor.
+     * @param columnDefinitions the column definitions
+     * @param rowSource the row source
+     * @param pageSize the number of rows per page
+     * @param maxNrCachedPages the maximum number of pages that are kept in memory; must be larger than
+     *                         the number of pages to prefetch
+     * @param nrPagesToPrefetch the number of pages that are loaded in advance
+     * @param loadExecutor executes the calls to the row source
+     * @param resultExecutor processes the loaded rows; must execute on the AWT event thread
+     */
+    PagedTableModel(List<ColumnDefinition<R>> columnDefinitions, RowSource<R> rowSource,
+                    int pageSize, int maxNrCachedPages, int nrPagesToPrefetch,
+                    Executor loadExecutor, Executor resultExecutor) {
+        this(columnDefinitions, rowSource, pageSize, maxNrCachedPages, nrPagesToPrefetch, loadExecutor, resultExecutor, false);
+    }
+
+    private PagedTableModel(List<ColumnDefinition<R>> columnDefinitions, RowSource<R> rowSource,
+                            int pageSize, int maxNrCachedPages, int nrPagesToPrefetch,
+                            Executor loadExecutor, Executor resultExecutor, boolean ownsLoadExecutor) {
+        super(columnDefinitions);
+        if (pageSize < 1 || maxNrCachedPages < 1 || nrPagesToPrefetch < 0) {
+            throw new IllegalArgumentException("Invalid page size, number of cached pages or number of pages to prefetch");
+        }
+        if (maxNrCachedPages <= nrPagesToPrefetch) {
+            throw new IllegalArgumentException("The number of cached pages must be larger than the number of pages to prefetch");
+        }
+        this.rowSource = rowSource;
+        this.pageSize = pageSize;
+        this.nrPagesToPrefetch = nrPagesToPrefetch;
+        this.loadExecutor = loadExecutor;
+        this.resultExecutor = resultExecutor;
+        this.ownedExecutorService = ownsLoadExecutor ? (ExecutorService) loadExecutor : null;
+        this.pages = new LinkedHashMap<Integer, List<R>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<R>> eldest) {
+                return size() > maxNrCachedPages;
+            }
+        };
+        refresh();
+    }
+
+    private static ExecutorService createLoaderThread() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PagedTableModel loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Removes all loaded pages and determines the number of rows again.
+     * The listeners are notified when the number of rows has been determined.
+     */
+    public void refresh() {
+        int refreshGeneration = ++generation;
+        pages.clear();
+        pendingPages.clear();
+        lastUsedPage = -1;
+        loadExecutor.execute(() -> {
+            try {
+                int newRowCount = rowSource.getRowCount();
+                resultExecutor.execute(() -> onRowCountLoaded(refreshGeneration, newRowCount));
+            } catch (Exception e) {
+                LOGGER.warn("Failed to determine the number of rows: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private void onRowCountLoaded(int refreshGeneration, int newRowCount) {
+        if (refreshGeneration == generation) {
+            rowCount = newRowCount;
+            fireTableDataChanged();
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        R row = getRow(rowIndex);
+        return row != null ? getColumnDefinition(columnIndex).getValueForColumn(row) : null;
+    }
+
+    /**
+     * Gets a row. If the row has not been loaded yet, then loading of its page is started.
+     * @param index the index of the row
+     * @return the row or <code>null</code> if the row has not been loaded yet
+     */
+    public R getRow(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowCount);
+        }
+        int page = index / pageSize;
+        List<R> rows = pages.get(page);
+        if (rows == null) {
+            loadPage(page);
+        }
+        if (page != lastUsedPage) {
+            lastUsedPage = page;
+            for (int i=1; i<=nrPagesToPrefetch; i++) {
+                if (!pages.containsKey(page + i)) {
+                    loadPage(page + i);
+                }
+            }
+        }
+        int indexInPage = index - page * pageSize;
+        return rows != null && indexInPage < rows.size() ? rows.get(indexInPage) : null;
+    }
+
+    /**
+     * Checks whether a row has been loaded.
+     * @param index the index of the row
+     * @return true if the row has been loaded; false otherwise
+     */
+    public boolean isRowLoaded(int index) {
+        return pages.containsKey(index / pageSize);
+    }
+
+    private void loadPage(int page) {
+        int firstRow = page * pageSize;
+        if (firstRow >= rowCount || !pendingPages.add(page)) {
+            return;
+        }
+        int loadGeneration = generation;
+        loadExecutor.execute(() -> {
+            try {
+                List<R> rows = rowSource.getRows(firstRow, pageSize);
+                resultExecutor.execute(() -> onPageLoaded(loadGeneration, page, rows));
+            } catch (Exception e) {
+                LOGGER.warn("Failed to load rows " + firstRow + " - " + (firstRow + pageSize - 1) + ": " + e.getMessage(), e);
+                resultExecutor.execute(() -> onPageLoaded(loadGeneration, page, null));
+            }
+        });
+    }
+
+    private void onPageLoaded(int loadGeneration, int page, List<R> rows) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        pendingPages.remove(page);
+        if (rows != null) {
+            pages.put(page, rows);
+            int firstRow = page * pageSize;
+            int lastRow = Math.min(rowCount, firstRow + pageSize) - 1;
+            if (firstRow <= lastRow) {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        }
+    }
+
+    /**
+     * Stops the thread that loads the pages, if that thread is owned by this model.
+     */
+    @Override
+    public void close() {
+        generation++;
+        if (ownedExecutorService != null) {
+            ownedExecutorService.shutdownNow();
+        }
+    }
+}
@@ -5,11 +5,14 @@ import javax.swing.table.DefaultTableCellRenderer;
 
 /**
  * Table cell renderer that right aligns its contents.
+ *
+ * <p>Subclasses can override {@link #setValue(Object)} to format the value. It receives the value of the cell.
  */
 public class RightAlignedRenderer extends DefaultTableCellRenderer {
-    @Override
-	public void setValue(Object value) {
-        super.setValue(value);
+
+    private static final long serialVersionUID = 1L;
+
+    public RightAlignedRenderer() {
         setHorizontalAlignment(SwingConstants.RIGHT);
     }
 }
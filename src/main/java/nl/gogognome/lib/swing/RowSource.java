@@ -0,0 +1,28 @@
+package nl.gogognome.lib.swing;
+
+import java.util.List;
+
+/**
+ * This interface specifies a source of rows for a {@link PagedTableModel}. The methods are called
+ * on a background thread, so they may take some time, for example to execute a database query.
+ *
+ * @param <R> the type of rows
+ */
+public interface RowSource<R> {
+
+    /**
+     * Gets the number of rows.
+     * @return the number of rows
+     * @throws Exception if the number of rows could not be determined
+     */
+    int getRowCount() throws Exception;
+
+    /**
+     * Gets a range of rows.
+     * @param firstRow the index of the first row
+     * @param nrRows the number of rows
+     * @return the rows. If fewer rows exist, then the returned list contains fewer rows.
+     * @throws Exception if the rows could not be obtained
+     */
+    List<R> getRows(int firstRow, int nrRows) throws Exception;
+}
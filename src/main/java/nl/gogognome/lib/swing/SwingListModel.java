@@ -0,0 +1,67 @@
+package nl.gogognome.lib.swing;
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+import nl.gogognome.lib.gui.Closeable;
+import nl.gogognome.lib.swing.models.ListModel;
+import nl.gogognome.lib.swing.models.ListModelEvent;
+import nl.gogognome.lib.swing.models.ListModelListener;
+
+/**
+ * This class offers a {@link ListModel} as a {@link javax.swing.ListModel}, for example to show the items
+ * in a {@link javax.swing.JList}. The items are not copied. Changes of the items are passed on as
+ * interval added, interval removed and contents changed events for exactly the changed items.
+ *
+ * <p>The list model must be changed on the AWT event thread.
+ */
+public class SwingListModel<T> extends AbstractListModel<T> implements Closeable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ListModel<T> listModel;
+
+    private final ListModelListener<T> listModelListener = this::onListModelChanged;
+
+    /**
+     * Constructor.
+     * @param listModel the list model
+     */
+    public SwingListModel(ListModel<T> listModel) {
+        this.listModel = listModel;
+        listModel.addListModelListener(listModelListener);
+    }
+
+    @Override
+    public int getSize() {
+        List<T> items = listModel.getValue();
+        return items != null ? items.size() : 0;
+    }
+
+    @Override
+    public T getElementAt(int index) {
+        return listModel.getValue().get(index);
+    }
+
+    private void onListModelChanged(ListModelEvent<T> event) {
+        switch (event.getType()) {
+            case ITEMS_ADDED:
+                fireIntervalAdded(this, event.getFirstIndex(), event.getLastIndex());
+                break;
+            case ITEMS_REMOVED:
+                fireIntervalRemoved(this, event.getFirstIndex(), event.getLastIndex());
+                break;
+            case ITEMS_REPLACED:
+                fireContentsChanged(this, event.getFirstIndex(), event.getLastIndex());
+                break;
+            default:
+                // the selection and enabled state are not part of a javax.swing.ListModel
+        }
+    }
+
+    @Override
+    public void close() {
+        listModel.removeListModelListener(listModelListener);
+    }
+}
@@ -1,15 +1,22 @@
 package nl.gogognome.lib.swing;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 
-public class TooltipCellRenderer extends DefaultTableCellRenderer {
+public class TooltipCellRenderer extends FormattingTableCellRenderer {
 
+    private static final long serialVersionUID = 1L;
+
+    @Override
     public Component getTableCellRendererComponent(JTable table, Object value,
             boolean isSelected, boolean hasFocus, int row, int column) {
         JLabel renderer = (JLabel)super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-        renderer.setToolTipText(value != null ? value.toString() : null);
+        renderer.setToolTipText(value != null ? renderer.getText() : null);
         return renderer;
     }
+
+    @Override
+    protected String format(Object value) {
+        return value != null ? value.toString() : "";
+    }
 }
@@ -0,0 +1,251 @@
+package nl.gogognome.lib.swing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * This class finds items whose string representation contains the text typed by the user.
+ * Matching is case-insensitive.
+ *
+ * <p>The index maps each character and each sequence of three characters to the items that contain it.
+ * The index is built when it is needed for the first time after items have been added.
+ * While the user types, the matches of the typed text are narrowed down incrementally: the matches of
+ * a text are a subset of the matches of the text without its last character.
+ */
+public class TypeAheadIndex {
+
+    private final static int[] NO_ITEMS = new int[0];
+
+    /** Contains the lower case string representation of each item. */
+    private final List<String> keys = new ArrayList<>();
+
+    /** Supplies the string representations of the items that have not been added to the keys yet. */
+    private IntFunction<String> itemStrings;
+    private int nrSuppliedItems;
+
+    /** Maps n-grams to the sorted indices of the items that contain them. Null if the index must be built. */
+    private Map<Long, int[]> index;
+
+    private final StringBuilder typedText = new StringBuilder();
+
+    /** Contains the matches of the typed text. The element at position i contains the matches of the first i + 1 characters. */
+    private final List<int[]> matchesPerLength = new ArrayList<>();
+
+    /**
+     * Adds an item.
+     * @param itemString the string representation of the item
+     */
+    public void add(String itemString) {
+        addSuppliedItems();
+        keys.add(itemString.toLowerCase());
+        index = null;
+        matchesPerLength.clear();
+    }
+
+    /**
+     * Replaces all items. The string representations are obtained when they are needed for the first time.
+     * @param nrItems the number of items
+     * @param itemStrings gets the string representation of the item with the specified index
+     */
+    public void setItems(int nrItems, IntFunction<String> itemStrings) {
+        clear();
+        this.itemStrings = itemStrings;
+        this.nrSuppliedItems = nrItems;
+    }
+
+    /**
+     * Removes all items and resets the typed text.
+     */
+    public void clear() {
+        keys.clear();
+        itemStrings = null;
+        index = null;
+        reset();
+    }
+
+    public int size() {
+        return itemStrings != null ? nrSuppliedItems : keys.size();
+    }
+
+    private void addSuppliedItems() {
+        if (itemStrings != null) {
+            IntFunction<String> suppliedItemStrings = itemStrings;
+            itemStrings = null;
+            for (int i=0; i<nrSuppliedItems; i++) {
+                keys.add(suppliedItemStrings.apply(i).toLowerCase());
+            }
+        }
+    }
+
+    /**
+     * Resets the typed text.
+     */
+    public void reset() {
+        typedText.setLength(0);
+        matchesPerLength.clear();
+    }
+
+    public String getTypedText() {
+        return typedText.toString();
+    }
+
+    /**
+     * Appends a character to the typed text.
+     * @param c the character
+     * @return the index of the first item that matches the typed text; -1 if no item matches
+     */
+    public int append(char c) {
+        addSuppliedItems();
+        typedText.append(Character.toLowerCase(c));
+        if (matchesPerLength.size() != typedText.length() - 1) {
+            matchesPerLength.clear();
+            for (int length=1; length<typedText.length(); length++) {
+                matchesPerLength.add(findMatches(typedText.substring(0, length), previousMatches()));
+            }
+        }
+        matchesPerLength.add(findMatches(typedText.toString(), previousMatches()));
+        return firstMatch();
+    }
+
+    /**
+     * Removes the last character of the typed text.
+     * @return the index of the first item that matches the typed text; -1 if no item matches
+     *         or if the typed text was empty
+     */
+    public int removeLastCharacter() {
+        if (typedText.length() == 0) {
+            return -1;
+        }
+        typedText.setLength(typedText.length() - 1);
+        if (matchesPerLength.size() > typedText.length()) {
+            matchesPerLength.remove(matchesPerLength.size() - 1);
+        }
+        if (typedText.length() == 0) {
+            return size() == 0 ? -1 : 0;
+        }
+        if (matchesPerLength.size() != typedText.length()) {
+            char lastCharacter = typedText.charAt(typedText.length() - 1);
+            typedText.setLength(typedText.length() - 1);
+            return append(lastCharacter);
+        }
+        return firstMatch();
+    }
+
+    private int[] previousMatches() {
+        return matchesPerLength.isEmpty() ? null : matchesPerLength.get(matchesPerLength.size() - 1);
+    }
+
+    private int firstMatch() {
+        int[] matches = matchesPerLength.get(matchesPerLength.size() - 1);
+        return matches.length > 0 ? matches[0] : -1;
+    }
+
+    /**
+     * Finds the items that contain a text.
+     * @param lowerCaseText the text in lower case
+     * @param candidates the items that might match; <code>null</code> if all items might match
+     * @return the sorted indices of the matching items
+     */
+    int[] findMatches(String lowerCaseText, int[] candidates) {
+        addSuppliedItems();
+        int[] smallestCandidates = candidates;
+        for (int i=0; i<lowerCaseText.length(); i++) {
+            smallestCandidates = smallest(smallestCandidates, getItemsContaining(unigram(lowerCaseText.charAt(i))));
+            if (i + 3 <= lowerCaseText.length()) {
+                smallestCandidates = smallest(smallestCandidates, getItemsContaining(trigram(lowerCaseText, i)));
+            }
+        }
+        if (smallestCandidates == null) {
+            smallestCandidates = getAllItems();
+        }
+
+        int[] matches = new int[smallestCandidates.length];
+        int nrMatches = 0;
+        for (int item : smallestCandidates) {
+            if (keys.get(item).contains(lowerCaseText)) {
+                matches[nrMatches++] = item;
+            }
+        }
+        return nrMatches == matches.length ? matches : Arrays.copyOf(matches, nrMatches);
+    }
+
+    private static int[] smallest(int[] items1, int[] items2) {
+        return items1 == null || items2.length < items1.length ? items2 : items1;
+    }
+
+    private int[] getAllItems() {
+        int[] items = new int[keys.size()];
+        for (int i=0; i<items.length; i++) {
+            items[i] = i;
+        }
+        return items;
+    }
+
+    private int[] getItemsContaining(long nGram) {
+        if (index == null) {
+            buildIndex();
+        }
+        int[] items = index.get(nGram);
+        return items != null ? items : NO_ITEMS;
+    }
+
+    private void buildIndex() {
+        Map<Long, ItemList> itemLists = new HashMap<>();
+        for (int item=0; item<keys.size(); item++) {
+            String key = keys.get(item);
+            for (int i=0; i<key.length(); i++) {
+                addItem(itemLists, unigram(key.charAt(i)), item);
+                if (i + 3 <= key.length()) {
+                    addItem(itemLists, trigram(key, i), item);
+                }
+            }
+        }
+
+        index = new HashMap<>(itemLists.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, ItemList> entry : itemLists.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().toArray());
+        }
+    }
+
+    private static void addItem(Map<Long, ItemList> itemLists, long nGram, int item) {
+        itemLists.computeIfAbsent(nGram, k -> new ItemList()).addUnlessLast(item);
+    }
+
+    private static long unigram(char c) {
+        return (1L << 48) | c;
+    }
+
+    private static long trigram(String s, int start) {
+        return (3L << 48) | ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    /**
+     * A growing list of item indices in ascending order.
+     */
+    private static class ItemList {
+        private int[] items = new int[4];
+        private int size;
+
+        /**
+         * Adds an item unless it is the last item of the list already.
+         * @param item the item
+         */
+        public void addUnlessLast(int item) {
+            if (size > 0 && items[size - 1] == item) {
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = item;
+        }
+
+        public int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+}
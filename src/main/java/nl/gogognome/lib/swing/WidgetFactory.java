@@ -3,10 +3,7 @@ package nl.gogognome.lib.swing;
 import nl.gogognome.lib.swing.action.ActionWrapper;
 import nl.gogognome.lib.text.TextResource;
 import nl.gogognome.lib.util.Factory;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.border.CompoundBorder;
@@ -16,11 +13,8 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
-import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * This class is a factory for buttons, menus, menu items, text fields and
@@ -28,14 +22,9 @@ import java.util.Map;
  */
 public class WidgetFactory {
 
-    private final static Logger LOGGER = LoggerFactory.getLogger(WidgetFactory.class);
-
     /** The <code>TextResource</code> used to obtain string resources. */
     private TextResource textResource;
 
-    private Map<String, Icon> iconCache = new HashMap<>();
-    private Map<String, Image> imageCache = new HashMap<>();
-
     public WidgetFactory(TextResource textResource)
     {
         this.textResource = textResource;
@@ -141,7 +130,8 @@ public class WidgetFactory {
     }
 
 	/**
-	 * Creates a button containing an icon only.
+	 * Creates a button containing an icon only. If the icon is larger than the button,
+	 * then the icon is scaled down to the size of the button.
 	 * @param id the id of the button's description in the resources.
 	 * @param action the action to be performed when the button is pressed
 	 * @param size the width and height in pixels
@@ -151,6 +141,10 @@ public class WidgetFactory {
 	    JButton button = createButton(id, action);
 	    button.setText(null);
 	    button.setPreferredSize(new Dimension(size, size));
+	    Icon icon = button.getIcon();
+	    if (icon != null && (icon.getIconWidth() > size || icon.getIconHeight() > size)) {
+	        button.setIcon(createIcon(id + ".icon16", size));
+	    }
 		return button;
 	}
 
@@ -298,53 +292,39 @@ public class WidgetFactory {
      * Creates an icon.
      * The id specifies a string resource. The string represents the path to the image.
      *
-     * <p>Icons are cached.
+     * <p>The images of icons are cached by the {@link IconCache}. The image is decoded
+     * when the icon is painted for the first time.
      * @param id the id of a string resource. The string resource refers to an image resource
      * @return the icon or <code>null</code> if no icon exists with the specified id
      */
     public Icon createIcon(String id) {
-        Icon icon = iconCache.get(id);
-        if (icon == null) {
-            URL iconUrl = getUrlForResource(id);
-            if (iconUrl == null) {
-                return null;
-            }
+        return createIcon(id, 0);
+    }
 
-            String description = Factory.getInstance(TextResource.class).getString(id + ".description");
-            if (description != null) {
-                icon = new ImageIcon(iconUrl, description);
-            } else {
-                icon = new ImageIcon(iconUrl);
-            }
-            iconCache.put(id, icon);
+    private Icon createIcon(String id, int maxSize) {
+        URL iconUrl = getUrlForResource(id);
+        if (iconUrl == null) {
+            return null;
         }
-        return icon;
+
+        String description = Factory.getInstance(TextResource.class).getString(id + ".description");
+        return IconCache.getInstance().getIcon(iconUrl, description, maxSize);
     }
 
     /**
      * Creates an image.
      * The id specifies a string resource. The string represents the path to the image.
      *
-     * <p>Images are cached.
+     * <p>Images are cached by the {@link IconCache}.
      * @param id the id of a string resource. The string resource refers to an image resource
      * @return the icon or <code>null</code> if no icon exists with the specified id
      */
     public Image createImage(String id) {
-        Image image = imageCache.get(id);
-        if (image == null) {
-            URL imageUrl = getUrlForResource(id);
-            if (imageUrl == null) {
-                return null;
-            }
-
-            try {
-                image = ImageIO.read(imageUrl);
-            } catch (IOException e) {
-                LOGGER.warn("Failed to load image " + imageUrl + ": " + e.getMessage(), e);
-            }
-            imageCache.put(id, image);
+        URL imageUrl = getUrlForResource(id);
+        if (imageUrl == null) {
+            return null;
         }
-        return image;
+        return IconCache.getInstance().getImage(imageUrl);
     }
 
     /**
@@ -1,11 +1,14 @@
 package nl.gogognome.lib.swing.models;
 
+import nl.gogognome.lib.swing.EventThreadDispatcher;
 import nl.gogognome.lib.util.ComparatorUtil;
 
+import javax.swing.SwingUtilities;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class is the base class for all models. It stores and updates a value and it maintains the list of listeners.
@@ -14,18 +17,39 @@ import java.util.List;
  * has no effect on the model itself, but a disabled model that is linked to a bean
  * will disable the input component of the bean to prevent the user from changing the model.
  * The disabled model can still be changed programmatically.
+ *
+ * <p>By default a model must be changed on the AWT event thread. In concurrent mode the value can be set
+ * from any thread. Changes made on other threads are signaled to the listeners on the AWT event thread,
+ * combined with other changes made within the same interval of {@link EventThreadDispatcher}.
+ * Subclasses that keep additional state must protect that state themselves.
  */
 public class AbstractModel<T> {
 
-    private boolean enabled = true;
+    private final static ModelChangeListener[] NO_LISTENERS = new ModelChangeListener[0];
+
+    private volatile boolean enabled = true;
+
+    private volatile boolean concurrentMode;
 
-    /** Contains the resource ids of error messages generated by validate(). */
+    /** Indicates whether listeners will be notified on the AWT event thread about changes made on another thread. */
+    private final AtomicBoolean notificationScheduled = new AtomicBoolean();
+
+    /**
+     * Contains the resource ids of error messages generated by validate().
+     * Use {@link #setErrorResourceIds(List)} to change them, so that the error version is updated.
+     * Subclasses that modify this list directly still work, but do not change the error version.
+     */
     protected List<String> errorResourceIds = new ArrayList<>();
 
-    /** Contains the subscribed listeners. */
-    private LinkedList<ModelChangeListener> listeners = new LinkedList<>();
+    private volatile int errorVersion;
+
+    /**
+     * Contains the subscribed listeners. The array is never modified. Instead, it is replaced by a new array
+     * when a listener is added or removed, so that notifying the listeners needs neither a copy nor an iterator.
+     */
+    private volatile ModelChangeListener[] listeners = NO_LISTENERS;
 
-    private T value;
+    private volatile T value;
 
     public AbstractModel() {
         this(null);
@@ -73,16 +97,28 @@ public class AbstractModel<T> {
      * Adds a model change listener to this model.
      * @param listener the listener
      */
-    public void addModelChangeListener(ModelChangeListener listener) {
-        listeners.add(listener);
+    public synchronized void addModelChangeListener(ModelChangeListener listener) {
+        ModelChangeListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
     }
 
     /**
      * Removes a model change listener from this model.
      * @param listener the listener
      */
-    public void removeModelChangeListener(ModelChangeListener listener) {
-        listeners.remove(listener);
+    public synchronized void removeModelChangeListener(ModelChangeListener listener) {
+        ModelChangeListener[] oldListeners = listeners;
+        for (int i=0; i<oldListeners.length; i++) {
+            if (oldListeners[i].equals(listener)) {
+                ModelChangeListener[] newListeners = oldListeners.length == 1
+                        ? NO_LISTENERS : new ModelChangeListener[oldListeners.length - 1];
+                System.arraycopy(oldListeners, 0, newListeners, 0, i);
+                System.arraycopy(oldListeners, i + 1, newListeners, i, oldListeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
     }
 
     /**
@@ -105,6 +141,18 @@ public class AbstractModel<T> {
 		return enabled;
 	}
 
+    /**
+     * Enables or disables concurrent mode. In concurrent mode, the value of this model can be set from any thread.
+     * @param concurrentMode true to enable concurrent mode; false to disable it
+     */
+    public void setConcurrentMode(boolean concurrentMode) {
+        this.concurrentMode = concurrentMode;
+    }
+
+    public boolean isConcurrentMode() {
+        return concurrentMode;
+    }
+
     /**
      * Validates the input. Updates the error messages.
      * @return true if the input is valid (and error messages are empty) or false if the input is invalid (and error messages are not empty)
@@ -117,16 +165,65 @@ public class AbstractModel<T> {
         return Collections.unmodifiableList(errorResourceIds);
     }
 
+    /**
+     * Replaces the resource ids of the error messages. The error version is incremented if the resource ids differ
+     * from the current resource ids.
+     * @param newErrorResourceIds the new resource ids of the error messages
+     */
+    protected void setErrorResourceIds(List<String> newErrorResourceIds) {
+        if (!errorResourceIds.equals(newErrorResourceIds)) {
+            errorResourceIds = new ArrayList<>(newErrorResourceIds);
+            errorVersion++;
+        }
+    }
+
+    /**
+     * Gets the version of the error messages. The version changes only if {@link #setErrorResourceIds(List)}
+     * has changed the resource ids of the error messages, so listeners can compare versions instead of
+     * processing the error messages each time the model changes. Version 0 indicates that there
+     * are no error messages and that there have never been any.
+     * @return the version of the error messages
+     */
+    public int getErrorVersion() {
+        return errorVersion;
+    }
+
     /**
      * Notifies the subscribed listeners about a change in this model.
+     * Listeners may add or remove listeners while they are notified. Such changes take effect
+     * with the next notification.
+     *
+     * <p>If a {@link ModelTransaction} is active, then the listeners are notified when the transaction ends.
      * @param source if not <code>null</code>, then this indicates the
      *         listener that initiated this notification. If the listener
      *         is subcribed, it will not get notified by this method.
      */
     protected void notifyListeners(ModelChangeListener source) {
-        for (ModelChangeListener listener : listeners) {
-            if (listener != source) {
-                listener.modelChanged(this);
+        if (concurrentMode && !SwingUtilities.isEventDispatchThread()) {
+            if (notificationScheduled.compareAndSet(false, true)) {
+                EventThreadDispatcher.getInstance().schedule(() -> {
+                    notificationScheduled.set(false);
+                    notifyListeners(null);
+                });
+            }
+            return;
+        }
+        if (!ModelTransaction.deferNotification(this, source)) {
+            notifyListenersNow(source);
+        }
+    }
+
+    /**
+     * Notifies the subscribed listeners about a change in this model, even if a transaction is active.
+     * @param source if not <code>null</code>, then this indicates the
+     *         listener that initiated this notification. If the listener
+     *         is subcribed, it will not get notified by this method.
+     */
+    void notifyListenersNow(ModelChangeListener source) {
+        ModelChangeListener[] currentListeners = listeners;
+        for (int i=0; i<currentListeners.length; i++) {
+            if (currentListeners[i] != source) {
+                currentListeners[i].modelChanged(this);
             }
         }
     }
@@ -0,0 +1,219 @@
+package nl.gogognome.lib.swing.models;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class implements a model for a text that can be large. The text is stored in a {@link Document},
+ * which stores the text in a gap buffer. Changing the text costs time proportional to the size of the change
+ * instead of the size of the text.
+ *
+ * <p>The model change listeners are notified after each change of the text. Listeners that need to know
+ * which part of the text has changed, can subscribe as {@link DocumentListener}.
+ *
+ * <p>A text area bean can show the document of this model directly, so that the text is never copied.
+ * If the document is replaced, then the document listeners are moved to the new document.
+ */
+public class DocumentModel extends AbstractModel<Document> {
+
+    private boolean mustBeFilled;
+
+    /** The listeners added by {@link #addDocumentListener(DocumentListener)}. */
+    private final List<DocumentListener> documentListeners = new ArrayList<>();
+
+    /** Indicates whether the text is being replaced by {@link #setText(String)}, which notifies the listeners once. */
+    private boolean replacingText;
+
+    private final DocumentListener documentListener = new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            if (!replacingText) {
+                notifyListeners(null);
+            }
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            if (!replacingText) {
+                notifyListeners(null);
+            }
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+        }
+    };
+
+    /**
+     * Constructs a document model with an empty text.
+     */
+    public DocumentModel() {
+        this(new PlainDocument());
+    }
+
+    /**
+     * Constructs a document model for an existing document.
+     * @param document the document
+     */
+    public DocumentModel(Document document) {
+        super(document);
+        document.addDocumentListener(documentListener);
+    }
+
+    public DocumentModel mustBeFilled(boolean mustBeFilled) {
+        this.mustBeFilled = mustBeFilled;
+        return this;
+    }
+
+    public Document getDocument() {
+        return getValue();
+    }
+
+    /**
+     * Replaces the document. The document listeners are moved from the old document to the new document.
+     * Use {@link #setText(String)} to replace only the text.
+     * @param newValue the new document
+     * @param source the model change listener that sets the document. It will not
+     *         get notified. It may be <code>null</code>.
+     */
+    @Override
+    public void setValue(Document newValue, ModelChangeListener source) {
+        if (newValue == null) {
+            throw new IllegalArgumentException("The document must not be null");
+        }
+        Document oldValue = getDocument();
+        if (newValue == oldValue) {
+            return;
+        }
+        oldValue.removeDocumentListener(documentListener);
+        for (DocumentListener listener : documentListeners) {
+            oldValue.removeDocumentListener(listener);
+            newValue.addDocumentListener(listener);
+        }
+        newValue.addDocumentListener(documentListener);
+        super.setValue(newValue, source);
+    }
+
+    /**
+     * @return the number of characters of the text
+     */
+    public int getLength() {
+        return getDocument().getLength();
+    }
+
+    /**
+     * Gets the complete text. This copies the text, so prefer {@link #getText(int, int)} for large texts.
+     * @return the text
+     */
+    public String getText() {
+        return getText(0, getLength());
+    }
+
+    /**
+     * Gets part of the text.
+     * @param offset the offset of the first character
+     * @param length the number of characters
+     * @return the part of the text
+     */
+    public String getText(int offset, int length) {
+        try {
+            return getDocument().getText(offset, length);
+        } catch (BadLocationException e) {
+            throw new IndexOutOfBoundsException(e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the complete text. The model change listeners are notified once.
+     * @param text the new text. <code>null</code> is treated like an empty text.
+     */
+    public void setText(String text) {
+        Document document = getDocument();
+        if (document.getLength() == 0 && (text == null || text.isEmpty())) {
+            return;
+        }
+        replacingText = true;
+        try {
+            if (document instanceof AbstractDocument) {
+                ((AbstractDocument) document).replace(0, document.getLength(), text, null);
+            } else {
+                document.remove(0, document.getLength());
+                if (text != null && !text.isEmpty()) {
+                    document.insertString(0, text, null);
+                }
+            }
+        } catch (BadLocationException e) {
+            throw new IllegalStateException("Failed to replace the text: " + e.getMessage(), e);
+        } finally {
+            replacingText = false;
+        }
+        notifyListeners(null);
+    }
+
+    /**
+     * Inserts text.
+     * @param offset the offset at which the text is inserted
+     * @param text the text to be inserted
+     */
+    public void insert(int offset, String text) {
+        try {
+            getDocument().insertString(offset, text, null);
+        } catch (BadLocationException e) {
+            throw new IndexOutOfBoundsException(e.getMessage());
+        }
+    }
+
+    /**
+     * Removes part of the text.
+     * @param offset the offset of the first character to be removed
+     * @param length the number of characters to be removed
+     */
+    public void remove(int offset, int length) {
+        try {
+            getDocument().remove(offset, length);
+        } catch (BadLocationException e) {
+            throw new IndexOutOfBoundsException(e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a listener that is notified about each insertion and removal of text.
+     * @param listener the listener
+     */
+    public void addDocumentListener(DocumentListener listener) {
+        documentListeners.add(listener);
+        getDocument().addDocumentListener(listener);
+    }
+
+    /**
+     * Removes a listener that was added by {@link #addDocumentListener(DocumentListener)}.
+     * @param listener the listener
+     */
+    public void removeDocumentListener(DocumentListener listener) {
+        documentListeners.remove(listener);
+        getDocument().removeDocumentListener(listener);
+    }
+
+    @Override
+    public boolean isNull() {
+        return false;
+    }
+
+    @Override
+    public boolean validate() {
+        if (mustBeFilled && getLength() == 0) {
+            setErrorResourceIds(Collections.singletonList("validation.fieldMustBeFilledIn"));
+        } else {
+            setErrorResourceIds(Collections.<String>emptyList());
+        }
+        notifyListeners(null);
+        return errorResourceIds.isEmpty();
+    }
+}
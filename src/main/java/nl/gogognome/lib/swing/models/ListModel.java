@@ -2,16 +2,36 @@ package nl.gogognome.lib.swing.models;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import nl.gogognome.lib.swing.models.ListModelEvent.Type;
+
 /**
  * This class implements a model for a list of items.
+ *
+ * <p>The items version is incremented each time the items are replaced or changed through this model.
+ * Listeners can compare the items version with a previously seen version to check cheaply whether
+ * the items have changed.
+ *
+ * <p>Besides model change listeners, this model supports {@link ListModelListener}s. These are told which
+ * items have been added, removed or replaced, so that they can process a change in time proportional to
+ * the size of the change instead of the size of the list. List model listeners are notified immediately,
+ * also within a {@link ModelTransaction}, on the thread that changes the model.
+ *
+ * <p>The methods that add, insert, remove or replace single items require that the list of items can be modified.
  */
 public class ListModel<T> extends AbstractModel<List<T>> {
 
+    private final static ListModelListener<?>[] NO_LIST_MODEL_LISTENERS = new ListModelListener<?>[0];
+
     private int[] selectedIndices = new int[0];
     private boolean mustBeFilled;
+    private int itemsVersion;
+
+    /** Contains the subscribed list model listeners. The array is replaced when a listener is added or removed. */
+    private volatile ListModelListener<T>[] listModelListeners = noListModelListeners();
 
     public ListModel() {
     }
@@ -20,6 +40,11 @@ public class ListModel<T> extends AbstractModel<List<T>> {
         super(items);
     }
 
+    @SuppressWarnings("unchecked") // the array is empty, so it contains no listeners of another type
+    private static <T> ListModelListener<T>[] noListModelListeners() {
+        return (ListModelListener<T>[]) NO_LIST_MODEL_LISTENERS;
+    }
+
     public ListModel<T> mustBeFilled(boolean mustBeFilled) {
         this.mustBeFilled = mustBeFilled;
         return this;
@@ -44,17 +69,132 @@ public class ListModel<T> extends AbstractModel<List<T>> {
         return this;
     }
 
+    @Override
+    public void setValue(List<T> newValue, ModelChangeListener source) {
+        List<T> oldItems = getValue();
+        if (newValue == oldItems) {
+            return;
+        }
+        itemsVersion++;
+        super.setValue(newValue, source);
+        if (getValue() == newValue) {
+            int oldSize = oldItems != null ? oldItems.size() : 0;
+            int newSize = newValue != null ? newValue.size() : 0;
+            int nrReplacedItems = Math.min(oldSize, newSize);
+            if (nrReplacedItems > 0) {
+                fireListModelEvent(Type.ITEMS_REPLACED, 0, nrReplacedItems - 1);
+            }
+            if (newSize > oldSize) {
+                fireListModelEvent(Type.ITEMS_ADDED, oldSize, newSize - 1);
+            } else if (oldSize > newSize) {
+                fireListModelEvent(Type.ITEMS_REMOVED, newSize, oldSize - 1);
+            }
+        }
+    }
+
     /**
-     * Adds an item to the list model.
+     * Adds an item to the end of the list model.
      * @param item the item
      * @param source the model change listener that sets the items.  It will not
      *        get notified. It may be null.
      */
     public void addItem(T item, ModelChangeListener source) {
-        getValue().add(item);
+        insertItem(getValue().size(), item, source);
+    }
+
+    /**
+     * Adds items to the end of the list model.
+     * @param items the items
+     * @param source the model change listener that sets the items.  It will not
+     *        get notified. It may be null.
+     */
+    public void addItems(Collection<? extends T> items, ModelChangeListener source) {
+        if (items.isEmpty()) {
+            return;
+        }
+        int firstIndex = getValue().size();
+        getValue().addAll(items);
+        itemsVersion++;
+        fireListModelEvent(Type.ITEMS_ADDED, firstIndex, firstIndex + items.size() - 1);
+        notifyListeners(source);
+    }
+
+    /**
+     * Inserts an item in the list model. Selected items stay selected.
+     * @param index the index at which the item is inserted
+     * @param item the item
+     * @param source the model change listener that sets the items.  It will not
+     *        get notified. It may be null.
+     */
+    public void insertItem(int index, T item, ModelChangeListener source) {
+        getValue().add(index, item);
+        itemsVersion++;
+        fireListModelEvent(Type.ITEMS_ADDED, index, index);
+        shiftSelectedIndices(index, 1);
+        notifyListeners(source);
+    }
+
+    /**
+     * Removes an item from the list model. If the item was selected, it is removed from the selection.
+     * Other selected items stay selected.
+     * @param index the index of the item
+     * @param source the model change listener that sets the items.  It will not
+     *        get notified. It may be null.
+     */
+    public void removeItem(int index, ModelChangeListener source) {
+        getValue().remove(index);
+        itemsVersion++;
+        fireListModelEvent(Type.ITEMS_REMOVED, index, index);
+        shiftSelectedIndices(index, -1);
+        notifyListeners(source);
+    }
+
+    /**
+     * Replaces an item of the list model.
+     * @param index the index of the item
+     * @param item the new item
+     * @param source the model change listener that sets the items.  It will not
+     *        get notified. It may be null.
+     */
+    public void replaceItem(int index, T item, ModelChangeListener source) {
+        getValue().set(index, item);
+        itemsVersion++;
+        fireListModelEvent(Type.ITEMS_REPLACED, index, index);
         notifyListeners(source);
     }
 
+    /**
+     * Updates the selected indices after an item has been inserted or removed.
+     * @param index the index of the inserted or removed item
+     * @param delta 1 if an item was inserted; -1 if an item was removed
+     */
+    private void shiftSelectedIndices(int index, int delta) {
+        int[] newSelectedIndices = new int[selectedIndices.length];
+        int nrSelectedIndices = 0;
+        boolean changed = false;
+        for (int selectedIndex : selectedIndices) {
+            if (delta < 0 && selectedIndex == index) {
+                changed = true;
+            } else if (selectedIndex >= index) {
+                newSelectedIndices[nrSelectedIndices++] = selectedIndex + delta;
+                changed = true;
+            } else {
+                newSelectedIndices[nrSelectedIndices++] = selectedIndex;
+            }
+        }
+        if (changed) {
+            selectedIndices = Arrays.copyOf(newSelectedIndices, nrSelectedIndices);
+            fireListModelEvent(Type.SELECTION_CHANGED, -1, -1);
+        }
+    }
+
+    /**
+     * @return a number that changes each time the items are replaced or changed through this model
+     */
+    public int getItemsVersion() {
+        return itemsVersion;
+    }
+
     public List<T> getItems() {
         return Collections.unmodifiableList(getValue());
     }
@@ -84,6 +224,7 @@ public class ListModel<T> extends AbstractModel<List<T>> {
     public void setSelectedIndices(int[] selectedIndices, ModelChangeListener source) {
         if (!Arrays.equals(this.selectedIndices, selectedIndices)) {
             this.selectedIndices = selectedIndices;
+            fireListModelEvent(Type.SELECTION_CHANGED, -1, -1);
             notifyListeners(source);
         }
     }
@@ -142,11 +283,58 @@ public class ListModel<T> extends AbstractModel<List<T>> {
         return list;
     }
 
+    @Override
+    public void setEnabled(boolean enabled, ModelChangeListener source) {
+        boolean changed = enabled != isEnabled();
+        super.setEnabled(enabled, source);
+        if (changed) {
+            fireListModelEvent(Type.ENABLED_CHANGED, -1, -1);
+        }
+    }
+
+    /**
+     * Adds a list model listener to this model.
+     * @param listener the listener
+     */
+    public synchronized void addListModelListener(ListModelListener<T> listener) {
+        ListModelListener<T>[] newListeners = Arrays.copyOf(listModelListeners, listModelListeners.length + 1);
+        newListeners[listModelListeners.length] = listener;
+        listModelListeners = newListeners;
+    }
+
+    /**
+     * Removes a list model listener from this model.
+     * @param listener the listener
+     */
+    public synchronized void removeListModelListener(ListModelListener<T> listener) {
+        ListModelListener<T>[] oldListeners = listModelListeners;
+        for (int i=0; i<oldListeners.length; i++) {
+            if (oldListeners[i].equals(listener)) {
+                ListModelListener<T>[] newListeners = Arrays.copyOf(oldListeners, oldListeners.length - 1);
+                System.arraycopy(oldListeners, i + 1, newListeners, i, oldListeners.length - i - 1);
+                listModelListeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    private void fireListModelEvent(Type type, int firstIndex, int lastIndex) {
+        ListModelListener<T>[] currentListeners = listModelListeners;
+        if (currentListeners.length == 0) {
+            return;
+        }
+        ListModelEvent<T> event = new ListModelEvent<>(this, type, firstIndex, lastIndex);
+        for (int i=0; i<currentListeners.length; i++) {
+            currentListeners[i].listModelChanged(event);
+        }
+    }
+
     @Override
     public boolean validate() {
-        errorResourceIds.clear();
         if (mustBeFilled && getSelectedItem() == null) {
-            errorResourceIds.add("validation.fieldMustBeFilledIn");
+            setErrorResourceIds(Collections.singletonList("validation.fieldMustBeFilledIn"));
+        } else {
+            setErrorResourceIds(Collections.<String>emptyList());
         }
         notifyListeners(null);
         return errorResourceIds.isEmpty();
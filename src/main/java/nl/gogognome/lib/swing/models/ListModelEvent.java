@@ -0,0 +1,65 @@
+package nl.gogognome.lib.swing.models;
+
+/**
+ * This class describes a change of a {@link ListModel}. For changes of the items the event contains
+ * the range of indices of the changed items. The range is inclusive.
+ */
+public class ListModelEvent<T> {
+
+    public enum Type {
+        /** Items have been inserted. The indices refer to the list after the insertion. */
+        ITEMS_ADDED,
+
+        /** Items have been removed. The indices refer to the list before the removal. */
+        ITEMS_REMOVED,
+
+        /** Items have been replaced by other items. The number of items did not change. */
+        ITEMS_REPLACED,
+
+        /** The selected indices have changed. The event contains no indices. */
+        SELECTION_CHANGED,
+
+        /** The model has been enabled or disabled. The event contains no indices. */
+        ENABLED_CHANGED
+    }
+
+    private final ListModel<T> model;
+    private final Type type;
+    private final int firstIndex;
+    private final int lastIndex;
+
+    /**
+     * Constructor.
+     * @param model the model that has changed
+     * @param type the type of the change
+     * @param firstIndex the index of the first changed item; -1 if the change does not concern items
+     * @param lastIndex the index of the last changed item; -1 if the change does not concern items
+     */
+    public ListModelEvent(ListModel<T> model, Type type, int firstIndex, int lastIndex) {
+        this.model = model;
+        this.type = type;
+        this.firstIndex = firstIndex;
+        this.lastIndex = lastIndex;
+    }
+
+    public ListModel<T> getModel() {
+        return model;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + firstIndex + "-" + lastIndex;
+    }
+}
@@ -0,0 +1,14 @@
+package nl.gogognome.lib.swing.models;
+
+/**
+ * This interface specifies a listener for changes in a {@link ListModel}. In contrast to a
+ * {@link ModelChangeListener} this listener is told what has changed.
+ */
+public interface ListModelListener<T> {
+
+    /**
+     * This method is called when the list model has changed.
+     * @param event the event describing the change
+     */
+    public void listModelChanged(ListModelEvent<T> event);
+}
@@ -0,0 +1,110 @@
+package nl.gogognome.lib.swing.models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class groups changes of models. While a transaction is active, models do not notify their listeners.
+ * When the transaction ends, each changed model notifies its listeners once, in the order in which the models
+ * were changed for the first time.
+ *
+ * <p>Transactions are bound to the thread that started them. Typically this is the AWT event thread.
+ * Transactions can be nested; the listeners are notified when the outermost transaction ends.
+ *
+ * <p>Example:
+ * <pre>
+ * ModelTransaction.batch(() -&gt; {
+ *     nameModel.setString(party.getName());
+ *     addressModel.setString(party.getAddress());
+ * });
+ * </pre>
+ */
+public class ModelTransaction {
+
+    private final static ThreadLocal<ModelTransaction> CURRENT_TRANSACTION = new ThreadLocal<>();
+
+    /**
+     * Contains the changed models. Maps each model to the listener that initiated all its changes,
+     * or to <code>null</code> if the changes were initiated by different listeners or not by a listener.
+     */
+    private final Map<AbstractModel<?>, ModelChangeListener> changedModels = new LinkedHashMap<>();
+
+    private int depth;
+
+    private ModelTransaction() {
+    }
+
+    /**
+     * Executes a runnable within a transaction. When the runnable ends, normally or exceptionally,
+     * the listeners of the changed models are notified.
+     * @param runnable the runnable
+     */
+    public static void batch(Runnable runnable) {
+        begin();
+        try {
+            runnable.run();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Begins a transaction. Each call to this method must be followed by a call to {@link #end()},
+     * preferably in a finally block.
+     */
+    public static void begin() {
+        ModelTransaction transaction = CURRENT_TRANSACTION.get();
+        if (transaction == null) {
+            transaction = new ModelTransaction();
+            CURRENT_TRANSACTION.set(transaction);
+        }
+        transaction.depth++;
+    }
+
+    /**
+     * Ends a transaction. If this is the outermost transaction, then the listeners of the changed models are notified.
+     */
+    public static void end() {
+        ModelTransaction transaction = CURRENT_TRANSACTION.get();
+        if (transaction == null) {
+            throw new IllegalStateException("end() called without matching begin()");
+        }
+        transaction.depth--;
+        if (transaction.depth == 0) {
+            CURRENT_TRANSACTION.remove();
+            for (Map.Entry<AbstractModel<?>, ModelChangeListener> entry : transaction.changedModels.entrySet()) {
+                entry.getKey().notifyListenersNow(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current thread is executing a transaction.
+     * @return true if a transaction is active; false otherwise
+     */
+    public static boolean isActive() {
+        return CURRENT_TRANSACTION.get() != null;
+    }
+
+    /**
+     * Registers a change of a model if a transaction is active.
+     * @param model the model that has changed
+     * @param source the listener that initiated the change; may be <code>null</code>
+     * @return true if the change has been registered and the listeners must not be notified yet;
+     *         false if no transaction is active
+     */
+    static boolean deferNotification(AbstractModel<?> model, ModelChangeListener source) {
+        ModelTransaction transaction = CURRENT_TRANSACTION.get();
+        if (transaction == null) {
+            return false;
+        }
+        if (transaction.changedModels.containsKey(model)) {
+            if (transaction.changedModels.get(model) != source) {
+                transaction.changedModels.put(model, null);
+            }
+        } else {
+            transaction.changedModels.put(model, source);
+        }
+        return true;
+    }
+}
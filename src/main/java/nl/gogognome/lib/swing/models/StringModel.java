@@ -1,5 +1,7 @@
 package nl.gogognome.lib.swing.models;
 
+import java.util.Collections;
+
 /**
  * This class implements a model for a String.
  */
@@ -51,9 +53,10 @@ public class StringModel extends AbstractModel<String> {
 
     @Override
     public boolean validate() {
-        errorResourceIds.clear();
         if (mustBeFilled && (getValue() == null || getValue().isEmpty())) {
-            errorResourceIds.add("validation.fieldMustBeFilledIn");
+            setErrorResourceIds(Collections.singletonList("validation.fieldMustBeFilledIn"));
+        } else {
+            setErrorResourceIds(Collections.<String>emptyList());
         }
         notifyListeners(null);
         return errorResourceIds.isEmpty();
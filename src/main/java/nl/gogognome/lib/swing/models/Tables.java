@@ -2,7 +2,10 @@ package nl.gogognome.lib.swing.models;
 
 import nl.gogognome.lib.gui.Closeable;
 import nl.gogognome.lib.swing.AbstractTableModel;
+import nl.gogognome.lib.swing.BackgroundRowSorter;
 import nl.gogognome.lib.swing.ColumnDefinition;
+import nl.gogognome.lib.swing.ColumnWidthFitter;
+import nl.gogognome.lib.swing.ColumnarTableModel;
 import nl.gogognome.lib.swing.RunnableWithException;
 
 import javax.swing.*;
@@ -11,6 +14,7 @@ import javax.swing.event.ListSelectionListener;
 import javax.swing.table.*;
 import java.awt.*;
 import java.util.Comparator;
+import java.util.function.ObjIntConsumer;
 
 public class Tables {
 
@@ -29,10 +33,16 @@ public class Tables {
      * Creates a sortable table based on the specified table model.
      * The columns of the table are defined by the ColumnDefinitions
      * of the table model.
+     *
+     * <p>A {@link ColumnarTableModel} is sorted by a {@link BackgroundRowSorter}, which compares
+     * the values of its numeric columns without boxing them.
      * @param tableModel the table model
      * @return the table
      */
     public static JTable createSortedTable(AbstractTableModel tableModel) {
+        if (tableModel instanceof ColumnarTableModel) {
+            return createTableSortedInBackground(tableModel);
+        }
         JTable table = new JTable(tableModel);
         TableRowSorter<AbstractTableModel> sorter = new TableRowSorter<>(tableModel);
         initTableColumns(table, tableModel);
@@ -41,6 +51,23 @@ public class Tables {
         return table;
     }
 
+    /**
+     * Creates a sortable table based on the specified table model. The table is sorted
+     * by a {@link BackgroundRowSorter}, so that sorting large tables does not block the
+     * AWT event thread. The columns of the table are defined by the ColumnDefinitions
+     * of the table model.
+     * @param tableModel the table model
+     * @return the table
+     */
+    public static JTable createTableSortedInBackground(AbstractTableModel<?> tableModel) {
+        JTable table = new JTable(tableModel);
+        BackgroundRowSorter<AbstractTableModel<?>> sorter = new BackgroundRowSorter<>(tableModel);
+        initTableColumns(table, tableModel);
+        initComparators(tableModel, (comparator, column) -> sorter.setComparator(column, comparator));
+        table.setRowSorter(sorter);
+        return table;
+    }
+
     private static void initTableColumns(JTable table, AbstractTableModel tableModel) {
         TableColumnModel columnModel = table.getColumnModel();
         int nrCols = tableModel.getColumnCount();
@@ -65,12 +92,28 @@ public class Tables {
         }
     }
 
+    /**
+     * Sets the preferred widths of the columns of the table to the widths of their contents.
+     * Only a bounded sample of the rows is measured, so this method is fast for tables with many rows.
+     * For tables with many rows the widths are applied asynchronously.
+     * This method must be called from the AWT event thread.
+     * @param table the table
+     * @see ColumnWidthFitter
+     */
+    public static void autoFitColumns(JTable table) {
+        new ColumnWidthFitter().fitColumns(table);
+    }
+
     private static void initSorterForTableModel(TableRowSorter<AbstractTableModel> sorter, AbstractTableModel tableModel) {
+        initComparators(tableModel, (comparator, column) -> sorter.setComparator(column, comparator));
+    }
+
+    private static void initComparators(AbstractTableModel<?> tableModel, ObjIntConsumer<Comparator<?>> setComparator) {
         for (int c=0; c<tableModel.getColumnCount(); c++) {
-            ColumnDefinition colDef = tableModel.getColumnDefinition(c);
+            ColumnDefinition<?> colDef = tableModel.getColumnDefinition(c);
             Comparator<?> comparator =  colDef.getComparator();
             if (comparator != null) {
-                sorter.setComparator(c, comparator);
+                setComparator.accept(comparator, c);
             }
         }
     }
@@ -9,11 +9,14 @@ import javax.swing.table.TableCellRenderer;
 /**
  * This class wraps a {@link TableCellRenderer}. It uses the wrapped renderer to obtain
  * a table cell renderer component and sets the background color of that component alternatingly.
+ *
+ * @deprecated {@link DefaultTableUI} paints the alternating row backgrounds itself; wrapping renderers is no longer needed
  */
+@Deprecated
 public class AlternatingBackgroundRenderer implements TableCellRenderer {
 
     /** Background color for the odd rows. */
-    private final static Color COLOR_ODD_ROWS = new Color(240, 240, 255);
+    private final static Color COLOR_ODD_ROWS = DefaultTableUI.COLOR_ODD_ROWS;
 
     /** The wrapped renderer. */
     private TableCellRenderer wrappedRenderer;
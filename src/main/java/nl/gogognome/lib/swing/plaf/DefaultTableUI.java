@@ -1,10 +1,14 @@
 package nl.gogognome.lib.swing.plaf;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.Date;
-import java.util.HashSet;
 
+import javax.swing.CellRendererPane;
 import javax.swing.InputMap;
 import javax.swing.JComponent;
 import javax.swing.JTable;
@@ -12,17 +16,23 @@ import javax.swing.KeyStroke;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.basic.BasicTableUI;
 import javax.swing.table.TableCellEditor;
-import javax.swing.table.TableCellRenderer;
-import javax.swing.table.TableColumn;
 
 import nl.gogognome.lib.swing.DateRenderer;
 import nl.gogognome.lib.swing.InitialValueSelectingCellEditor;
 
 /**
  * The default look and feel for a table.
+ *
+ * <p>The rows get an alternating background color. The backgrounds of the odd rows are painted by this
+ * class before the cells are painted. Cells that are not selected are painted without their background,
+ * so that the row background shows through. This works for all renderers, including renderers that are
+ * set after this look and feel has been installed, without wrapping them.
  */
 public class DefaultTableUI extends BasicTableUI {
 
+    /** Background color for the odd rows. */
+    final static Color COLOR_ODD_ROWS = new Color(240, 240, 255);
+
     public static ComponentUI createUI(JComponent c) {
         return new DefaultTableUI();
     }
@@ -30,22 +40,15 @@ public class DefaultTableUI extends BasicTableUI {
     @Override
 	public void installUI(JComponent c) {
         super.installUI(c);
-        final JTable table = (JTable) c;
+        JTable table = (JTable) c;
+
+        table.remove(rendererPane);
+        rendererPane = new RowBackgroundPreservingRendererPane();
+        table.add(rendererPane);
 
         table.setDefaultRenderer(Date.class, new DateRenderer());
 
         installInitialValueSelectingCellEditors(table);
-        installAlternatingBackgroundRenderers(table);
-
-        // Add listener that installs the alternating background renderers each time the model
-        // of the table changes (not when the contents of the model change, but when a new model
-        // is set in the table).
-        table.addPropertyChangeListener("model", new PropertyChangeListener() {
-            @Override
-			public void propertyChange(PropertyChangeEvent evt) {
-                installAlternatingBackgroundRenderers(table);
-            }
-        });
     }
 
     private static void installInitialValueSelectingCellEditors(JTable table) {
@@ -58,8 +61,9 @@ public class DefaultTableUI extends BasicTableUI {
 
 	private static void installInitialValueSelectingCellEditorsForClass(Class<?> clazz, JTable table) {
 		TableCellEditor editor = table.getDefaultEditor(clazz);
-		editor = new InitialValueSelectingCellEditor(editor);
-		table.setDefaultEditor(clazz, editor);
+		if (!(editor instanceof InitialValueSelectingCellEditor)) {
+			table.setDefaultEditor(clazz, new InitialValueSelectingCellEditor(editor));
+		}
 	}
 
 	@Override
@@ -69,31 +73,65 @@ public class DefaultTableUI extends BasicTableUI {
         inputMap.remove(KeyStroke.getKeyStroke("ENTER"));
     }
 
+    @Override
+    public void paint(Graphics g, JComponent c) {
+        paintOddRowBackgrounds(g);
+        super.paint(g, c);
+    }
+
     /**
-     * Install alternating background renderer for the columns.
-     * @param table the table for which the renderers must be installed
+     * Paints the background of the odd rows that intersect the clip bounds.
+     * @param g the graphics
      */
-    private static void installAlternatingBackgroundRenderers(JTable table) {
-        HashSet<Class<?>> classes = new HashSet<Class<?>>();
-        for (int col=0; col<table.getColumnCount(); col++) {
-            Class<?> clazz = table.getColumnClass(col);
-            if (!classes.contains(clazz)) {
-                classes.add(clazz);
-                TableCellRenderer renderer = table.getDefaultRenderer(clazz);
-                table.setDefaultRenderer(clazz, new AlternatingBackgroundRenderer(renderer));
+    private void paintOddRowBackgrounds(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        int nrRows = table.getRowCount();
+        if (clip == null || nrRows == 0) {
+            return;
+        }
+        int firstRow = table.rowAtPoint(new Point(0, Math.max(clip.y, 0)));
+        if (firstRow == -1) {
+            return;
+        }
+        int y = table.getCellRect(firstRow, 0, true).y;
+        int maxY = clip.y + clip.height;
+
+        Color oldColor = g.getColor();
+        g.setColor(COLOR_ODD_ROWS);
+        for (int row=firstRow; row<nrRows && y<maxY; row++) {
+            int rowHeight = table.getRowHeight(row);
+            if (row % 2 != 0) {
+                g.fillRect(clip.x, y, clip.width, rowHeight);
             }
+            y += rowHeight;
+        }
+        g.setColor(oldColor);
+    }
+
+    /**
+     * This renderer pane paints renderer components whose background equals the background of the table
+     * without their background, so that the row background painted by the table UI remains visible.
+     * Renderers based on {@link javax.swing.table.DefaultTableCellRenderer} do this by themselves.
+     */
+    private static class RowBackgroundPreservingRendererPane extends CellRendererPane {
 
-            table.getColumnModel().getColumn(col).addPropertyChangeListener(new PropertyChangeListener() {
-                @Override
-				public void propertyChange(PropertyChangeEvent evt) {
-                    if ("cellRenderer".equals(evt.getPropertyName())) {
-                        if (!(evt.getNewValue() instanceof AlternatingBackgroundRenderer)) {
-                            ((TableColumn) evt.getSource()).setCellRenderer(
-                                new AlternatingBackgroundRenderer((TableCellRenderer)evt.getNewValue()));
-                        }
-                    }
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void paintComponent(Graphics g, Component c, Container p, int x, int y, int w, int h,
+                boolean shouldValidate) {
+            if (c instanceof JComponent && c.isOpaque() && c.getBackground() != null
+                    && c.getBackground().equals(p.getBackground())) {
+                JComponent component = (JComponent) c;
+                component.setOpaque(false);
+                try {
+                    super.paintComponent(g, c, p, x, y, w, h, shouldValidate);
+                } finally {
+                    component.setOpaque(true);
                 }
-            });
+            } else {
+                super.paintComponent(g, c, p, x, y, w, h, shouldValidate);
+            }
         }
     }
 }
@@ -0,0 +1,86 @@
+package nl.gogognome.lib.swing.views;
+
+/**
+ * This class specifies when a {@link ViewTabbedPane} lets views hibernate. A hibernating view has no components:
+ * they are removed from the view and are created again by {@link View#onInit()} when the tab of the view is selected.
+ * Only views that {@link View#isHibernationSupported() support hibernation} hibernate. The view of the selected
+ * tab never hibernates. Instances are immutable.
+ */
+public class HibernationPolicy {
+
+    private final static HibernationPolicy NEVER = new HibernationPolicy(0, 0);
+
+    private final int maxNrInitializedViews;
+    private final int inactivityMilliseconds;
+
+    private HibernationPolicy(int maxNrInitializedViews, int inactivityMilliseconds) {
+        this.maxNrInitializedViews = maxNrInitializedViews;
+        this.inactivityMilliseconds = inactivityMilliseconds;
+    }
+
+    /**
+     * @return a policy that never lets views hibernate
+     */
+    public static HibernationPolicy never() {
+        return NEVER;
+    }
+
+    /**
+     * Gets a policy that limits the number of views that have components. If more views have components,
+     * then the views whose tabs have not been selected for the longest time hibernate.
+     * @param maxNrInitializedViews the maximum number of views that have components
+     * @return the policy
+     */
+    public static HibernationPolicy maxNrInitializedViews(int maxNrInitializedViews) {
+        return NEVER.withMaxNrInitializedViews(maxNrInitializedViews);
+    }
+
+    /**
+     * Gets a policy that lets views hibernate whose tabs have not been selected for the specified time.
+     * @param inactivityMilliseconds the time in milliseconds
+     * @return the policy
+     */
+    public static HibernationPolicy afterInactivity(int inactivityMilliseconds) {
+        return NEVER.withInactivity(inactivityMilliseconds);
+    }
+
+    /**
+     * Gets a policy that equals this policy, but that also limits the number of views that have components.
+     * @param maxNrInitializedViews the maximum number of views that have components
+     * @return the policy
+     */
+    public HibernationPolicy withMaxNrInitializedViews(int maxNrInitializedViews) {
+        if (maxNrInitializedViews <= 0) {
+            throw new IllegalArgumentException("The maximum number of initialized views must be positive");
+        }
+        return new HibernationPolicy(maxNrInitializedViews, inactivityMilliseconds);
+    }
+
+    /**
+     * Gets a policy that equals this policy, but that also lets views hibernate whose tabs have not been selected
+     * for the specified time.
+     * @param inactivityMilliseconds the time in milliseconds
+     * @return the policy
+     */
+    public HibernationPolicy withInactivity(int inactivityMilliseconds) {
+        if (inactivityMilliseconds <= 0) {
+            throw new IllegalArgumentException("The inactivity time must be positive");
+        }
+        return new HibernationPolicy(maxNrInitializedViews, inactivityMilliseconds);
+    }
+
+    /**
+     * @return the maximum number of views that have components; 0 if the number is not limited
+     */
+    public int getMaxNrInitializedViews() {
+        return maxNrInitializedViews;
+    }
+
+    /**
+     * @return the time in milliseconds after which views whose tabs are not selected hibernate;
+     *         0 if views do not hibernate because of inactivity
+     */
+    public int getInactivityMilliseconds() {
+        return inactivityMilliseconds;
+    }
+}
@@ -32,6 +32,12 @@ import java.util.List;
  * for each of these components. By doing so, the deinitialize() method will be called
  * automatically for these components when the view is closed. Otherwise, you have to
  * think about deinitializing them in your onClose() implementation.
+ *
+ * <p>A {@link ViewTabbedPane} can let views hibernate whose tabs have not been selected for some time.
+ * A view that supports hibernation must override {@link #isHibernationSupported()}. When the view hibernates,
+ * its closeables are closed, {@link #onHibernate()} is called and its components are removed. When the tab of
+ * the view is selected again, {@link #onInit()} is called again to create the components. Such a view
+ * typically creates its models in the constructor, so that they survive the hibernation.
  */
 public abstract class View extends JPanel implements Closeable {
 
@@ -52,6 +58,12 @@ public abstract class View extends JPanel implements Closeable {
     private ViewOwner viewOwner;
     private JButton defaultButton;
 
+    /** Indicates whether the view has components, i.e., whether onInit() has been called and the view does not hibernate. */
+    private boolean initialized;
+
+    /** Indicates whether onInit() has been called at least once. */
+    private boolean initializedOnce;
+
     protected TextResource textResource;
     protected WidgetFactory widgetFactory;
     protected BeanFactory beanFactory;
@@ -87,6 +99,23 @@ public abstract class View extends JPanel implements Closeable {
     /** This method is called just before the view is closed. Override this method to free resources. */
     public abstract void onClose();
 
+    /**
+     * Checks whether this view supports hibernation. Override this method to return <code>true</code>
+     * if {@link #onInit()} can be called again after the components of the view have been removed.
+     * @return <code>true</code> if this view supports hibernation; <code>false</code> otherwise
+     */
+    protected boolean isHibernationSupported() {
+        return false;
+    }
+
+    /**
+     * This method is called just before the components of the view are removed because the view hibernates.
+     * Override this method to free resources that are acquired by {@link #onInit()}, except for the
+     * closeables, which are closed automatically.
+     */
+    protected void onHibernate() {
+    }
+
     /**
      * Sets the close action.
      *
@@ -140,20 +169,16 @@ public abstract class View extends JPanel implements Closeable {
     void doClose() {
         logger.debug("Start closing view " + getClass().getName());
 
-        try {
-            onClose();
-        } catch (Exception e) {
-            messageDialog.showErrorMessage(e, "gen.titleError");
-        }
-
-        for (Closeable d : closeables) {
+        if (initializedOnce) {
             try {
-            	d.close();
+                onClose();
             } catch (Exception e) {
-                logger.warn("Ignored exception: " + e.getMessage(), e);
+                messageDialog.showErrorMessage(e, "gen.titleError");
             }
         }
 
+        closeCloseables();
+
         ViewListener[] tempListeners = listeners.toArray(new ViewListener[listeners.size()]);
         for (ViewListener tempListener : tempListeners) {
             try {
@@ -166,13 +191,50 @@ public abstract class View extends JPanel implements Closeable {
         logger.debug("Finished closing view " + getClass().getName());
     }
 
+    private void closeCloseables() {
+        for (Closeable d : closeables) {
+            try {
+            	d.close();
+            } catch (Exception e) {
+                logger.warn("Ignored exception: " + e.getMessage(), e);
+            }
+        }
+        closeables.clear();
+    }
+
 	/** Initializes the view. */
     void doInit() {
         logger.debug("Start initializing view " + getClass().getName());
         onInit();
+        initialized = true;
+        initializedOnce = true;
         logger.debug("Finished initializing view " + getClass().getName());
     }
 
+    /**
+     * Lets the view hibernate: closes the closeables and removes the components of the view.
+     * The view is initialized again by {@link #doInit()}.
+     */
+    void doHibernate() {
+        logger.debug("Start hibernating view " + getClass().getName());
+        try {
+            onHibernate();
+        } catch (Exception e) {
+            logger.warn("Ignored exception: " + e.getMessage(), e);
+        }
+        closeCloseables();
+        removeAll();
+        initialized = false;
+        logger.debug("Finished hibernating view " + getClass().getName());
+    }
+
+    /**
+     * @return <code>true</code> if the view has been initialized and does not hibernate; <code>false</code> otherwise
+     */
+    boolean isInitialized() {
+        return initialized;
+    }
+
     @Override
     public void close() {
     	closeAction.actionPerformed(null);
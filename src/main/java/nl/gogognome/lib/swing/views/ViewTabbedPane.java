@@ -9,9 +9,16 @@ import javax.swing.event.ChangeListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * This class implements a tabbed pane that can hold <code>View</code>s.
+ *
+ * <p>If initialization is deferred, then a view is initialized when its tab is selected for the first time,
+ * instead of when the view is opened. A {@link HibernationPolicy} lets views hibernate whose tabs have not
+ * been selected for some time. Such views are initialized again when their tabs are selected.
  */
 public class ViewTabbedPane extends JTabbedPane {
 
@@ -20,9 +27,68 @@ public class ViewTabbedPane extends JTabbedPane {
 
     private boolean changeInProgress;
 
+    private boolean initializationDeferred;
+
+    private HibernationPolicy hibernationPolicy = HibernationPolicy.never();
+
+    /** Checks periodically whether views must hibernate because of inactivity. Null if not needed. */
+    private Timer inactivityTimer;
+
+    private final LongSupplier clock;
+
+    /** Contains for each view the time at which its tab was selected or deselected the last time. */
+    private final Map<View, Long> lastActiveTimes = new HashMap<>();
+
+    private View selectedView;
+
     public ViewTabbedPane(ViewOwner viewOwner) {
+        this(viewOwner, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor.
+     * @param viewOwner the view owner
+     * @param clock returns the current time in milliseconds
+     */
+    ViewTabbedPane(ViewOwner viewOwner, LongSupplier clock) {
         this.viewOwner = viewOwner;
-        model.addChangeListener(changeEvent1 -> userSelectedView());
+        this.clock = clock;
+        model.addChangeListener(changeEvent1 -> {
+            if (!changeInProgress) {
+                userSelectedView();
+            }
+        });
+    }
+
+    /**
+     * Specifies whether views are initialized when they are opened or when their tabs are selected
+     * for the first time. By default views are initialized when they are opened.
+     * @param initializationDeferred true to initialize views when their tabs are selected for the first time
+     */
+    public void setInitializationDeferred(boolean initializationDeferred) {
+        this.initializationDeferred = initializationDeferred;
+    }
+
+    /**
+     * Sets the policy that determines when views hibernate. By default views never hibernate.
+     * @param hibernationPolicy the policy
+     */
+    public void setHibernationPolicy(HibernationPolicy hibernationPolicy) {
+        this.hibernationPolicy = hibernationPolicy;
+        updateInactivityTimer();
+        hibernateViews();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        updateInactivityTimer();
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        updateInactivityTimer();
     }
 
     /**
@@ -36,13 +102,18 @@ public class ViewTabbedPane extends JTabbedPane {
 
 	        view.setCloseAction(closeAction);
 	        view.setViewOwner(viewOwner);
-	        view.doInit();
+	        if (!initializationDeferred) {
+	            view.doInit();
+	        }
+	        lastActiveTimes.put(view, clock.getAsLong());
+	        views.add(view);
 	        addTab(view.getTitle(), view);
     		setTabComponentAt(getTabCount() - 1, new CloseableTab(view, closeAction));
-	        views.add(view);
     	} finally {
     		changeInProgress = false;
     	}
+    	activateSelectedView();
+    	hibernateViews();
     }
 
 	/**
@@ -56,10 +127,12 @@ public class ViewTabbedPane extends JTabbedPane {
 	            view.doClose();
 	            remove(view);
 	            views.remove(view);
+	            lastActiveTimes.remove(view);
 	        }
     	} finally {
     		changeInProgress = false;
     	}
+    	userSelectedView();
     }
 
     /**
@@ -72,12 +145,14 @@ public class ViewTabbedPane extends JTabbedPane {
 	        int index = getIndexOfView(view);
 	        if (index != -1) {
 	            setSelectedIndex(index);
+	            activateSelectedView();
 	            setDefaultButtonForView(view);
 	            view.requestFocusInWindow();
 	        }
     	} finally {
     		changeInProgress = false;
     	}
+    	hibernateViews();
     }
 
     /** Closes all views in the tabbed pane. */
@@ -89,6 +164,8 @@ public class ViewTabbedPane extends JTabbedPane {
 	            super.remove(view);
 	        }
 	        views.clear();
+	        lastActiveTimes.clear();
+	        selectedView = null;
     	} finally {
     		changeInProgress = false;
     	}
@@ -114,6 +191,7 @@ public class ViewTabbedPane extends JTabbedPane {
     	} finally {
     		changeInProgress = false;
     	}
+    	userSelectedView();
     }
 
     /**
@@ -125,6 +203,10 @@ public class ViewTabbedPane extends JTabbedPane {
         View view = (View)getComponentAt(index);
         view.doClose();
         views.remove(view);
+        lastActiveTimes.remove(view);
+        if (view == selectedView) {
+            selectedView = null;
+        }
         super.remove(index);
     }
 
@@ -155,13 +237,88 @@ public class ViewTabbedPane extends JTabbedPane {
     }
 
     private void userSelectedView() {
-    	if (!changeInProgress) {
-	        int index = getSelectedIndex();
-	        if (index != -1) {
-	        	View view = views.get(index);
-	            setDefaultButtonForView(view);
-	        }
-    	}
+        View view = activateSelectedView();
+        if (view != null) {
+            setDefaultButtonForView(view);
+        }
+        hibernateViews();
+    }
+
+    /**
+     * Initializes the view of the selected tab if it has not been initialized yet or if it hibernates.
+     * Keeps track of the times at which views were active.
+     * @return the view of the selected tab; <code>null</code> if no tab is selected
+     */
+    private View activateSelectedView() {
+        View view = (View) getSelectedComponent();
+        if (view != selectedView) {
+            long now = clock.getAsLong();
+            if (selectedView != null && lastActiveTimes.containsKey(selectedView)) {
+                lastActiveTimes.put(selectedView, now);
+            }
+            selectedView = view;
+            if (view != null) {
+                lastActiveTimes.put(view, now);
+                if (!view.isInitialized()) {
+                    view.doInit();
+                    view.revalidate();
+                    view.repaint();
+                }
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Lets views hibernate according to the hibernation policy.
+     */
+    void hibernateViews() {
+        long now = clock.getAsLong();
+        int inactivityMilliseconds = hibernationPolicy.getInactivityMilliseconds();
+        int nrInitializedViews = 0;
+        for (View view : views) {
+            if (view.isInitialized()) {
+                if (inactivityMilliseconds > 0 && canHibernate(view)
+                        && now - lastActiveTimes.get(view) >= inactivityMilliseconds) {
+                    view.doHibernate();
+                } else {
+                    nrInitializedViews++;
+                }
+            }
+        }
+
+        int maxNrInitializedViews = hibernationPolicy.getMaxNrInitializedViews();
+        while (maxNrInitializedViews > 0 && nrInitializedViews > maxNrInitializedViews) {
+            View leastRecentlyActiveView = null;
+            for (View view : views) {
+                if (view.isInitialized() && canHibernate(view) && (leastRecentlyActiveView == null
+                        || lastActiveTimes.get(view) < lastActiveTimes.get(leastRecentlyActiveView))) {
+                    leastRecentlyActiveView = view;
+                }
+            }
+            if (leastRecentlyActiveView == null) {
+                break;
+            }
+            leastRecentlyActiveView.doHibernate();
+            nrInitializedViews--;
+        }
+    }
+
+    private boolean canHibernate(View view) {
+        return view != selectedView && view.isHibernationSupported();
+    }
+
+    private void updateInactivityTimer() {
+        int inactivityMilliseconds = hibernationPolicy.getInactivityMilliseconds();
+        boolean timerNeeded = inactivityMilliseconds > 0 && isDisplayable();
+        if (inactivityTimer != null && (!timerNeeded || inactivityTimer.getDelay() != inactivityMilliseconds)) {
+            inactivityTimer.stop();
+            inactivityTimer = null;
+        }
+        if (timerNeeded && inactivityTimer == null) {
+            inactivityTimer = new Timer(inactivityMilliseconds, e -> hibernateViews());
+            inactivityTimer.start();
+        }
     }
 
     private final class CloseAction extends AbstractAction {
@@ -0,0 +1,310 @@
+package nl.gogognome.lib.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This task consists of subtasks that are executed either one after the other or in parallel.
+ * Since a composite task is a task itself, it can be used as subtask of another composite task.
+ *
+ * <p>Each subtask has a weight that indicates how much of the work of the composite task it does.
+ * The progress of the subtasks is combined into the progress of the composite task.
+ *
+ * <p>If a subtask fails, then the composite task fails with the exception of the first subtask that failed.
+ * When subtasks are executed in parallel, the other subtasks are cancelled: their
+ * {@link TaskProgressListener#isCancelled()} returns true and subtasks that have not started yet are skipped.
+ * The composite task fails right away; it does not wait for subtasks that are still running.
+ *
+ * <p>Parallel subtasks are offered to the task executor, but the thread that executes the composite task
+ * executes the subtasks that no thread of the task executor has started yet. It only waits for subtasks that
+ * are running. So nested parallel composite tasks do not deadlock, even if the task executor has few threads.
+ *
+ * <p>The result of a composite task is a list that contains the results of the subtasks in the order in which
+ * the subtasks were added.
+ *
+ * <p>Create a composite task like this:
+ * <pre>
+ * Task task = CompositeTask.parallel()
+ *     .add(3, exportInvoices)
+ *     .add(1, exportParties)
+ *     .build();
+ * </pre>
+ */
+public class CompositeTask implements Task {
+
+    /** The progress of a subtask is expressed as a fraction of this value. */
+    private final static long SUBTASK_SCALE = 10_000;
+
+    private final List<Task> subtasks;
+    private final int[] weights;
+    private final TaskExecutor taskExecutor;
+
+    private CompositeTask(List<Task> subtasks, int[] weights, TaskExecutor taskExecutor) {
+        this.subtasks = subtasks;
+        this.weights = weights;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * @return a builder for a task whose subtasks are executed one after the other
+     */
+    public static Builder sequential() {
+        return new Builder(null);
+    }
+
+    /**
+     * @return a builder for a task whose subtasks are executed in parallel by the default {@link TaskExecutor}
+     */
+    public static Builder parallel() {
+        return parallel(TaskExecutor.getDefault());
+    }
+
+    /**
+     * @param taskExecutor the task executor that executes the subtasks
+     * @return a builder for a task whose subtasks are executed in parallel
+     */
+    public static Builder parallel(TaskExecutor taskExecutor) {
+        if (taskExecutor == null) {
+            throw new IllegalArgumentException("taskExecutor must not be null");
+        }
+        return new Builder(taskExecutor);
+    }
+
+    @Override
+    public List<Object> execute(TaskProgressListener progressListener) throws Exception {
+        ProgressAggregator progressAggregator = new ProgressAggregator(progressListener, Arrays.stream(weights).sum());
+        if (taskExecutor == null) {
+            return executeSequentially(progressAggregator);
+        } else {
+            return executeInParallel(progressAggregator);
+        }
+    }
+
+    private List<Object> executeSequentially(ProgressAggregator progressAggregator) throws Exception {
+        List<Object> results = new ArrayList<>(subtasks.size());
+        for (int i=0; i<subtasks.size(); i++) {
+            SubtaskProgressListener subtaskProgressListener = progressAggregator.createSubtaskListener(weights[i]);
+            if (subtaskProgressListener.isCancelled()) {
+                throw new CancellationException();
+            }
+            results.add(subtasks.get(i).execute(subtaskProgressListener));
+            subtaskProgressListener.onProgressUpdate(100);
+        }
+        return results;
+    }
+
+    private List<Object> executeInParallel(ProgressAggregator progressAggregator) throws Exception {
+        CompletableFuture<Throwable> firstFailure = new CompletableFuture<>();
+        List<ParallelSubtask> parallelSubtasks = new ArrayList<>(subtasks.size());
+        for (int i=0; i<subtasks.size(); i++) {
+            SubtaskProgressListener subtaskProgressListener = progressAggregator.createSubtaskListener(weights[i]);
+            parallelSubtasks.add(new ParallelSubtask(subtasks.get(i), subtaskProgressListener, progressAggregator, firstFailure));
+        }
+        for (int i=1; i<parallelSubtasks.size(); i++) {
+            ParallelSubtask parallelSubtask = parallelSubtasks.get(i);
+            taskExecutor.execute(listener -> {
+                parallelSubtask.executeIfNotStarted();
+                return null;
+            });
+        }
+
+        CompletableFuture<?>[] results = new CompletableFuture<?>[parallelSubtasks.size()];
+        for (int i=0; i<parallelSubtasks.size(); i++) {
+            ParallelSubtask parallelSubtask = parallelSubtasks.get(i);
+            if (!firstFailure.isDone()) {
+                parallelSubtask.executeIfNotStarted();
+            }
+            results[i] = parallelSubtask.result;
+        }
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(results), firstFailure).get();
+        } catch (ExecutionException e) {
+            // the failure of the subtask is thrown below
+        } catch (InterruptedException e) {
+            progressAggregator.cancel();
+            throw e;
+        }
+
+        Throwable failure = firstFailure.getNow(null);
+        if (failure == null) {
+            List<Object> resultList = new ArrayList<>(results.length);
+            for (CompletableFuture<?> result : results) {
+                resultList.add(result.join());
+            }
+            return resultList;
+        } else if (failure instanceof Exception) {
+            throw (Exception) failure;
+        } else {
+            throw new ExecutionException(failure);
+        }
+    }
+
+    /**
+     * Builds a composite task.
+     */
+    public static class Builder {
+
+        private final TaskExecutor taskExecutor;
+        private final List<Task> subtasks = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+
+        private Builder(TaskExecutor taskExecutor) {
+            this.taskExecutor = taskExecutor;
+        }
+
+        /**
+         * Adds a subtask with weight 1.
+         * @param subtask the subtask
+         * @return this builder
+         */
+        public Builder add(Task subtask) {
+            return add(1, subtask);
+        }
+
+        /**
+         * Adds a subtask.
+         * @param weight the weight of the subtask relative to the other subtasks
+         * @param subtask the subtask
+         * @return this builder
+         */
+        public Builder add(int weight, Task subtask) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("The weight must be positive");
+            }
+            subtasks.add(subtask);
+            weights.add(weight);
+            return this;
+        }
+
+        public CompositeTask build() {
+            if (subtasks.isEmpty()) {
+                throw new IllegalStateException("Add at least one subtask");
+            }
+            return new CompositeTask(new ArrayList<>(subtasks), weights.stream().mapToInt(w -> w).toArray(), taskExecutor);
+        }
+    }
+
+    /**
+     * Combines the progress of the subtasks without locking. Each subtask adds the change of its own progress
+     * to the total progress.
+     */
+    private static class ProgressAggregator {
+
+        private final TaskProgressListener progressListener;
+        private final long totalWork;
+        private final AtomicLong workDone = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile String statusMessage;
+
+        public ProgressAggregator(TaskProgressListener progressListener, int totalWeight) {
+            this.progressListener = progressListener;
+            this.totalWork = totalWeight * SUBTASK_SCALE;
+        }
+
+        public SubtaskProgressListener createSubtaskListener(int weight) {
+            return new SubtaskProgressListener(this, weight);
+        }
+
+        public void addWorkDone(long delta, String newStatusMessage) {
+            if (newStatusMessage != null) {
+                statusMessage = newStatusMessage;
+            }
+            long newWorkDone = workDone.addAndGet(delta);
+            progressListener.onProgressUpdate(newWorkDone, totalWork, statusMessage);
+        }
+
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get() || progressListener.isCancelled();
+        }
+    }
+
+    /**
+     * A subtask that is executed in parallel. It is executed by the first thread that starts it: either a thread
+     * of the task executor or the thread that executes the composite task.
+     */
+    private static class ParallelSubtask {
+
+        private final Task task;
+        private final SubtaskProgressListener progressListener;
+        private final ProgressAggregator progressAggregator;
+        private final CompletableFuture<Throwable> firstFailure;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        public ParallelSubtask(Task task, SubtaskProgressListener progressListener,
+                               ProgressAggregator progressAggregator, CompletableFuture<Throwable> firstFailure) {
+            this.task = task;
+            this.progressListener = progressListener;
+            this.progressAggregator = progressAggregator;
+            this.firstFailure = firstFailure;
+        }
+
+        public void executeIfNotStarted() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (progressListener.isCancelled()) {
+                    throw new CancellationException();
+                }
+                Object taskResult = task.execute(progressListener);
+                progressListener.onProgressUpdate(100);
+                result.complete(taskResult);
+            } catch (Throwable t) {
+                if (firstFailure.complete(t)) {
+                    progressAggregator.cancel();
+                }
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static class SubtaskProgressListener implements TaskProgressListener {
+
+        private final ProgressAggregator progressAggregator;
+        private final int weight;
+
+        /** The progress of the subtask, as fraction of {@link #SUBTASK_SCALE}. */
+        private final AtomicLong scaledWorkDone = new AtomicLong();
+
+        public SubtaskProgressListener(ProgressAggregator progressAggregator, int weight) {
+            this.progressAggregator = progressAggregator;
+            this.weight = weight;
+        }
+
+        @Override
+        public void onProgressUpdate(int percentageCompleted) {
+            update(percentageCompleted * SUBTASK_SCALE / 100, null);
+        }
+
+        @Override
+        public void onProgressUpdate(long workDone, long totalWork, String statusMessage) {
+            long newScaledWorkDone = totalWork > 0 ? (long) (SUBTASK_SCALE * ((double) workDone / totalWork)) : 0;
+            update(newScaledWorkDone, statusMessage);
+        }
+
+        private void update(long newScaledWorkDone, String statusMessage) {
+            newScaledWorkDone = Math.max(0, Math.min(SUBTASK_SCALE, newScaledWorkDone));
+            long oldScaledWorkDone = scaledWorkDone.getAndSet(newScaledWorkDone);
+            if (oldScaledWorkDone != newScaledWorkDone || statusMessage != null) {
+                progressAggregator.addWorkDone(weight * (newScaledWorkDone - oldScaledWorkDone), statusMessage);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return progressAggregator.isCancelled();
+        }
+    }
+}
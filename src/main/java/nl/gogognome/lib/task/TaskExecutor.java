@@ -0,0 +1,144 @@
+package nl.gogognome.lib.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class executes {@link Task}s on an executor service. Many tasks can be executed concurrently.
+ *
+ * <p>By default virtual threads are used if the Java runtime supports them. Otherwise a bounded pool
+ * of daemon threads is used.
+ *
+ * <p>Cancelling the future returned by {@link #execute(Task, TaskProgressListener)} does not interrupt the task.
+ * Instead, {@link TaskProgressListener#isCancelled()} returns true for the listener passed to the task,
+ * so that the task can stop at a convenient moment.
+ */
+public class TaskExecutor {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(TaskExecutor.class);
+
+    private final static TaskProgressListener IGNORE_PROGRESS = percentageCompleted -> {};
+
+    private static TaskExecutor defaultInstance;
+
+    private final ExecutorService executorService;
+
+    /**
+     * Constructor. Creates an executor service that uses virtual threads if the Java runtime supports them
+     * and a bounded pool of threads otherwise.
+     */
+    public TaskExecutor() {
+        this(createDefaultExecutorService());
+    }
+
+    /**
+     * Constructor.
+     * @param executorService the executor service that executes the tasks
+     */
+    public TaskExecutor(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Gets the task executor that is shared by the whole application.
+     * @return the task executor
+     */
+    public static synchronized TaskExecutor getDefault() {
+        if (defaultInstance == null) {
+            defaultInstance = new TaskExecutor();
+        }
+        return defaultInstance;
+    }
+
+    private static ExecutorService createDefaultExecutorService() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            LOGGER.debug("Virtual threads are not available; using a thread pool instead");
+        }
+
+        int nrThreads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(nrThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task executor " + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executes a task whose progress is ignored.
+     * @param task the task
+     * @return a future for the result of the task
+     */
+    public CompletableFuture<Object> execute(Task task) {
+        return execute(task, IGNORE_PROGRESS);
+    }
+
+    /**
+     * Executes a task.
+     * @param task the task
+     * @param progressListener the listener that is informed about the progress of the task
+     * @return a future for the result of the task. Cancel the future to cancel the task.
+     */
+    public CompletableFuture<Object> execute(Task task, TaskProgressListener progressListener) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        TaskProgressListener cancellableProgressListener = new CancellableProgressListener(progressListener, future);
+        try {
+            executorService.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.execute(cancellableProgressListener));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Shuts down the executor service. Tasks that have been started are completed, but no new tasks are accepted.
+     */
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    private static class CancellableProgressListener implements TaskProgressListener {
+
+        private final TaskProgressListener progressListener;
+        private final CompletableFuture<?> future;
+
+        public CancellableProgressListener(TaskProgressListener progressListener, CompletableFuture<?> future) {
+            this.progressListener = progressListener;
+            this.future = future;
+        }
+
+        @Override
+        public void onProgressUpdate(int percentageCompleted) {
+            progressListener.onProgressUpdate(percentageCompleted);
+        }
+
+        @Override
+        public void onProgressUpdate(long workDone, long totalWork, String statusMessage) {
+            progressListener.onProgressUpdate(workDone, totalWork, statusMessage);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled() || progressListener.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package nl.gogognome.lib.task;
+
+import java.util.Objects;
+
+/**
+ * This class represents the progress of a task. Instances are immutable.
+ */
+public class TaskProgress {
+
+    private final long workDone;
+    private final long totalWork;
+    private final String statusMessage;
+
+    /**
+     * Constructor.
+     * @param workDone the amount of work that has been done
+     * @param totalWork the total amount of work
+     * @param statusMessage a message that describes what the task is doing; <code>null</code> if there is no message
+     */
+    public TaskProgress(long workDone, long totalWork, String statusMessage) {
+        this.workDone = workDone;
+        this.totalWork = totalWork;
+        this.statusMessage = statusMessage;
+    }
+
+    public long getWorkDone() {
+        return workDone;
+    }
+
+    public long getTotalWork() {
+        return totalWork;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    /**
+     * @return the percentage of the work that has been done, in the range 0 to 100
+     */
+    public int getPercentageCompleted() {
+        return getPercentageCompleted(workDone, totalWork);
+    }
+
+    /**
+     * Computes the percentage of the work that has been done.
+     * @param workDone the amount of work that has been done
+     * @param totalWork the total amount of work
+     * @return the percentage in the range 0 to 100
+     */
+    public static int getPercentageCompleted(long workDone, long totalWork) {
+        if (totalWork <= 0) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(100, 100.0 * workDone / totalWork));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof TaskProgress) {
+            TaskProgress that = (TaskProgress) obj;
+            return this.workDone == that.workDone && this.totalWork == that.totalWork
+                    && Objects.equals(this.statusMessage, that.statusMessage);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(workDone) + 31 * Long.hashCode(totalWork) + Objects.hashCode(statusMessage);
+    }
+
+    @Override
+    public String toString() {
+        return workDone + "/" + totalWork + (statusMessage != null ? " " + statusMessage : "");
+    }
+}
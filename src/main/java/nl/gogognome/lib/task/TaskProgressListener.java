@@ -10,4 +10,24 @@ public interface TaskProgressListener {
 	 * @param percentageCompleted the percentage of the task that has been completed
 	 */
 	public void onProgressUpdate(int percentageCompleted);
+
+	/**
+	 * This method may be called any time to notify that a part of the task has been completed.
+	 * By default this method calls {@link #onProgressUpdate(int)} with the percentage of work that has been done.
+	 * @param workDone the amount of work that has been done
+	 * @param totalWork the total amount of work
+	 * @param statusMessage a message that describes what the task is doing; <code>null</code> if there is no message
+	 */
+	public default void onProgressUpdate(long workDone, long totalWork, String statusMessage) {
+		onProgressUpdate(TaskProgress.getPercentageCompleted(workDone, totalWork));
+	}
+
+	/**
+	 * Checks whether the task has been cancelled. A long running task should call this method regularly
+	 * and stop as soon as possible once it returns true.
+	 * @return true if the task has been cancelled; false otherwise
+	 */
+	public default boolean isCancelled() {
+		return false;
+	}
 }
@@ -0,0 +1,103 @@
+package nl.gogognome.lib.task.ui;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.swing.Timer;
+
+import nl.gogognome.lib.task.TaskProgress;
+import nl.gogognome.lib.task.TaskProgressListener;
+
+/**
+ * This progress listener passes the progress of a task to a consumer on the AWT event thread.
+ *
+ * <p>The task may report progress as often as it likes. Only the latest progress is kept and it is passed
+ * to the consumer at most once per interval. Progress that equals the previously reported progress is ignored.
+ *
+ * <p>{@link #start()} and {@link #stop()} must be called from the AWT event thread.
+ * The other methods can be called from any thread.
+ */
+public class ProgressDispatcher implements TaskProgressListener {
+
+    public final static int DEFAULT_INTERVAL_MILLISECONDS = 16;
+
+    private final static TaskProgress NO_PROGRESS = new TaskProgress(0, 100, null);
+
+    private final AtomicReference<TaskProgress> latestProgress = new AtomicReference<>(NO_PROGRESS);
+    private final Consumer<TaskProgress> progressConsumer;
+    private final Timer timer;
+
+    /** The progress that was passed to the consumer last. Only accessed on the AWT event thread. */
+    private TaskProgress dispatchedProgress = NO_PROGRESS;
+
+    /**
+     * Constructor. Progress is dispatched at most once every {@value #DEFAULT_INTERVAL_MILLISECONDS} milliseconds.
+     * @param progressConsumer the consumer of the progress
+     */
+    public ProgressDispatcher(Consumer<TaskProgress> progressConsumer) {
+        this(progressConsumer, DEFAULT_INTERVAL_MILLISECONDS);
+    }
+
+    /**
+     * Constructor.
+     * @param progressConsumer the consumer of the progress
+     * @param intervalMilliseconds the minimum number of milliseconds between two dispatches
+     */
+    public ProgressDispatcher(Consumer<TaskProgress> progressConsumer, int intervalMilliseconds) {
+        this.progressConsumer = progressConsumer;
+        timer = new Timer(intervalMilliseconds, e -> dispatchProgress());
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Starts dispatching progress.
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Stops dispatching progress. Progress that has not been dispatched yet, is dispatched immediately.
+     */
+    public void stop() {
+        timer.stop();
+        dispatchProgress();
+    }
+
+    @Override
+    public void onProgressUpdate(int percentageCompleted) {
+        TaskProgress previousProgress;
+        do {
+            previousProgress = latestProgress.get();
+            if (previousProgress.getWorkDone() == percentageCompleted && previousProgress.getTotalWork() == 100) {
+                return;
+            }
+        } while (!latestProgress.compareAndSet(previousProgress,
+                new TaskProgress(percentageCompleted, 100, previousProgress.getStatusMessage())));
+    }
+
+    @Override
+    public void onProgressUpdate(long workDone, long totalWork, String statusMessage) {
+        TaskProgress previousProgress;
+        do {
+            previousProgress = latestProgress.get();
+            if (previousProgress.getWorkDone() == workDone && previousProgress.getTotalWork() == totalWork
+                    && Objects.equals(previousProgress.getStatusMessage(), statusMessage)) {
+                return;
+            }
+        } while (!latestProgress.compareAndSet(previousProgress, new TaskProgress(workDone, totalWork, statusMessage)));
+    }
+
+    /**
+     * Passes the latest progress to the consumer if it has not been passed before.
+     * This method must be called from the AWT event thread.
+     */
+    void dispatchProgress() {
+        TaskProgress progress = latestProgress.get();
+        if (progress != dispatchedProgress) {
+            dispatchedProgress = progress;
+            progressConsumer.accept(progress);
+        }
+    }
+}
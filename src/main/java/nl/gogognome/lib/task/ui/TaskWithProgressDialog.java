@@ -4,15 +4,19 @@ import nl.gogognome.lib.swing.dialogs.MessageDialog;
 import nl.gogognome.lib.swing.views.View;
 import nl.gogognome.lib.swing.views.ViewOwner;
 import nl.gogognome.lib.task.Task;
+import nl.gogognome.lib.task.TaskExecutor;
+import nl.gogognome.lib.task.TaskProgress;
 import nl.gogognome.lib.task.TaskProgressListener;
 import nl.gogognome.lib.text.TextResource;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This class can execute a task and show the progress of the task in a dialog.
- * The task will be executed on a worker thread.
+ * The task will be executed by the default {@link TaskExecutor}.
  */
 public class TaskWithProgressDialog implements TaskProgressListener {
 
@@ -21,6 +25,7 @@ public class TaskWithProgressDialog implements TaskProgressListener {
 
     private JProgressBar progressBar;
     private JDialog progressDialog;
+    private ProgressDispatcher progressDispatcher;
 
     private String description;
 
@@ -42,11 +47,11 @@ public class TaskWithProgressDialog implements TaskProgressListener {
      * @return the result of the task
      */
     public Object execute(Task task) {
-        WorkerThread thread = new WorkerThread(task, description, this);
-        thread.start();
         progressDialog = new JDialog(viewOwner.getWindow());
 
         progressBar = new JProgressBar(0, 100);
+        progressDispatcher = new ProgressDispatcher(this::showProgress);
+        CompletableFuture<Object> future = TaskExecutor.getDefault().execute(task, this);
         JPanel panel = new JPanel(new BorderLayout());
         progressDialog.setLayout(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -63,16 +68,26 @@ public class TaskWithProgressDialog implements TaskProgressListener {
         location.translate((int)(d.getWidth() / 2), (int)(d.getHeight() / 2));
         progressDialog.setLocation(location);
 
+        future.whenComplete((result, throwable) -> onFinished(toException(throwable)));
+        progressDispatcher.start();
         progressDialog.setVisible(true);
         try {
-            thread.join();
-        } catch (InterruptedException e) {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return null;
         }
-        return thread.getResult();
+    }
+
+    private static Exception toException(Throwable throwable) {
+        if (throwable == null || throwable instanceof Exception) {
+            return (Exception) throwable;
+        }
+        return new ExecutionException(throwable);
     }
 
     public void onFinished(final Exception e) {
         SwingUtilities.invokeLater(() -> {
+            progressDispatcher.stop();
             progressDialog.setVisible(false);
             if (e != null) {
                 messageDialog.showErrorMessage(e, "taskWithProgressDialog.finishedWithException");
@@ -81,40 +96,19 @@ public class TaskWithProgressDialog implements TaskProgressListener {
     }
 
     @Override
-    public void onProgressUpdate(final int percentageCompleted) {
-        SwingUtilities.invokeLater(() -> progressBar.setValue(percentageCompleted));
+    public void onProgressUpdate(int percentageCompleted) {
+        progressDispatcher.onProgressUpdate(percentageCompleted);
     }
 
-    private class WorkerThread extends Thread {
-        private TaskWithProgressDialog processDialog;
-        private Task task;
-        private Object result;
-        private final Object lock = new Object();
-
-        public WorkerThread(Task task, String description, TaskWithProgressDialog progressListener) {
-            super("worker thread for \"" + description + '"');
-            this.task = task;
-            this.processDialog = progressListener;
-        }
-
-        @Override
-        public void run() {
-            try {
-                Object tempResult = task.execute(processDialog);
-                synchronized(lock) {
-                    result = tempResult;
-                }
-                processDialog.onFinished(null);
-            } catch (Exception e) {
-                processDialog.onFinished(e);
-            }
-        }
+    @Override
+    public void onProgressUpdate(long workDone, long totalWork, String statusMessage) {
+        progressDispatcher.onProgressUpdate(workDone, totalWork, statusMessage);
+    }
 
-        public Object getResult() {
-            synchronized(lock) {
-                return result;
-            }
-        }
+    private void showProgress(TaskProgress progress) {
+        progressBar.setValue(progress.getPercentageCompleted());
+        progressBar.setStringPainted(progress.getStatusMessage() != null);
+        progressBar.setString(progress.getStatusMessage());
     }
 
 }
@@ -0,0 +1,93 @@
+package nl.gogognome.lib.awt.layout;
+
+import nl.gogognome.lib.swing.SwingUtils;
+import org.junit.Test;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import java.awt.Dimension;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.LayoutManager;
+
+import static org.junit.Assert.assertEquals;
+
+public class FormLayoutTest {
+
+    @Test
+    public void testLaysOutLabelsAndFieldsLikeGridBagLayout() {
+        JPanel formPanel = createForm(new FormLayout(), 400, 300);
+        JPanel gridBagPanel = createForm(new GridBagLayout(), 400, 300);
+
+        assertEquals(gridBagPanel.getPreferredSize(), formPanel.getPreferredSize());
+        for (int i=0; i<formPanel.getComponentCount(); i++) {
+            assertEquals("component " + i, gridBagPanel.getComponent(i).getBounds(), formPanel.getComponent(i).getBounds());
+        }
+    }
+
+    @Test
+    public void testInvisibleComponentsAreSkipped() {
+        JPanel panel = createForm(new FormLayout(), 400, 300);
+        Dimension size = panel.getPreferredSize();
+
+        panel.getComponent(2).setVisible(false);
+        panel.getComponent(3).setVisible(false);
+
+        assertEquals(size.height - 24, panel.getPreferredSize().height);
+    }
+
+    @Test
+    public void testPreferredSizesAreCachedUntilLayoutIsInvalidated() {
+        JPanel panel = new JPanel(new FormLayout());
+        CountingComponent component = new CountingComponent(new Dimension(50, 20));
+        panel.add(component, SwingUtils.createTextFieldGBConstraints(0, 0));
+
+        panel.getPreferredSize();
+        panel.setSize(100, 100);
+        panel.doLayout();
+        assertEquals(1, component.nrPreferredSizeRequests);
+
+        component.size = new Dimension(60, 20);
+        panel.invalidate();
+        assertEquals(60, panel.getPreferredSize().width);
+        assertEquals(2, component.nrPreferredSizeRequests);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testComponentSpanningMultipleCellsIsRejected() {
+        GridBagConstraints gbc = SwingUtils.createTextFieldGBConstraints(0, 0);
+        gbc.gridwidth = 2;
+        new JPanel(new FormLayout()).add(new JPanel(), gbc);
+    }
+
+    private JPanel createForm(LayoutManager layout, int width, int height) {
+        JPanel panel = new JPanel(layout);
+        for (int row=0; row<3; row++) {
+            panel.add(new CountingComponent(new Dimension(40 + row * 10, 20)), SwingUtils.createLabelGBConstraints(0, row));
+            panel.add(new CountingComponent(new Dimension(100, 20 + row)), SwingUtils.createTextFieldGBConstraints(1, row));
+        }
+        panel.setSize(width, height);
+        panel.doLayout();
+        return panel;
+    }
+
+    private static class CountingComponent extends JComponent {
+        private Dimension size;
+        private int nrPreferredSizeRequests;
+
+        public CountingComponent(Dimension size) {
+            this.size = size;
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            nrPreferredSizeRequests++;
+            return size;
+        }
+
+        @Override
+        public Dimension getMinimumSize() {
+            return size;
+        }
+    }
+}
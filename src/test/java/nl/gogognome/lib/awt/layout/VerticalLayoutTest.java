@@ -0,0 +1,43 @@
+package nl.gogognome.lib.awt.layout;
+
+import org.junit.Test;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+
+import static org.junit.Assert.assertEquals;
+
+public class VerticalLayoutTest {
+
+    @Test
+    public void testInvisibleComponentsAreSkippedAndSizesAreRequestedOnce() {
+        JPanel panel = new JPanel(new VerticalLayout(5, VerticalLayout.LEFT));
+        CountingComponent first = new CountingComponent();
+        CountingComponent invisible = new CountingComponent();
+        CountingComponent last = new CountingComponent();
+        invisible.setVisible(false);
+        panel.add(first);
+        panel.add(invisible);
+        panel.add(last);
+        panel.setSize(100, 100);
+
+        panel.doLayout();
+
+        assertEquals(new Rectangle(0, 0, 30, 10), first.getBounds());
+        assertEquals(new Rectangle(0, 15, 30, 10), last.getBounds());
+        assertEquals(1, first.nrPreferredSizeRequests);
+        assertEquals(0, invisible.nrPreferredSizeRequests);
+    }
+
+    private static class CountingComponent extends JComponent {
+        private int nrPreferredSizeRequests;
+
+        @Override
+        public Dimension getPreferredSize() {
+            nrPreferredSizeRequests++;
+            return new Dimension(30, 10);
+        }
+    }
+}
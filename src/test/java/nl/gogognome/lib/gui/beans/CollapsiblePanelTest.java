@@ -0,0 +1,45 @@
+package nl.gogognome.lib.gui.beans;
+
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CollapsiblePanelTest {
+
+    private int nrCreatedContents;
+
+    @Test
+    public void testContentsAreCreatedWhenExpandedForFirstTime() {
+        CollapsiblePanel panel = new CollapsiblePanel("title", () -> {
+            nrCreatedContents++;
+            return new JLabel("contents");
+        });
+        assertFalse(panel.isContentsCreated());
+        assertEquals(0, nrCreatedContents);
+
+        clickHeader(panel);
+        assertTrue(panel.isContentsCreated());
+
+        clickHeader(panel);
+        clickHeader(panel);
+        assertEquals(1, nrCreatedContents);
+    }
+
+    @Test
+    public void testContentsPassedToConstructorAreAddedImmediately() {
+        CollapsiblePanel panel = new CollapsiblePanel("title", new JLabel("contents"));
+
+        assertTrue(panel.isContentsCreated());
+    }
+
+    private void clickHeader(CollapsiblePanel panel) {
+        Component header = panel.getComponent(0);
+        header.dispatchEvent(new MouseEvent(header, MouseEvent.MOUSE_CLICKED, 0, 0, 1, 1, 1, false));
+    }
+}
@@ -0,0 +1,99 @@
+package nl.gogognome.lib.gui.beans;
+
+import nl.gogognome.lib.swing.models.AbstractModel;
+import nl.gogognome.lib.swing.models.StringModel;
+import nl.gogognome.lib.text.TextResource;
+import nl.gogognome.lib.util.Factory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ErrorMessageDecoratorTest {
+
+    private final List<String> lookedUpIds = new ArrayList<>();
+    private final TextResource textResource = new TextResource(Locale.US) {
+        @Override
+        public String getString(String id, Object... args) {
+            lookedUpIds.add(id);
+            return "error";
+        }
+    };
+    private final StringModel model = new StringModel().mustBeFilled(true);
+    private final ErrorMessageDecorator decorator =
+            new ErrorMessageDecorator(new LabelBean(model), model, textResource);
+
+    public ErrorMessageDecoratorTest() {
+        Factory.bindSingleton(TextResource.class, textResource);
+        decorator.initBean();
+    }
+
+    @Test
+    public void testLabelIsNotCreatedWithoutErrors() {
+        model.setString("a");
+        model.validate();
+
+        assertNull(decorator.getErrorMessagesLabel());
+        assertEquals(1, decorator.getComponent().getComponentCount());
+        assertTrue(lookedUpIds.isEmpty());
+    }
+
+    @Test
+    public void testLabelIsCreatedWhenFirstErrorAppears() {
+        model.validate();
+
+        assertEquals("error", decorator.getErrorMessagesLabel().getText());
+        assertTrue(decorator.getErrorMessagesLabel().isVisible());
+        assertEquals(2, decorator.getComponent().getComponentCount());
+    }
+
+    @Test
+    public void testErrorMessagesAreOnlyFormattedWhenErrorsChange() {
+        model.validate();
+        model.validate();
+        model.setString("a");
+        assertEquals(1, lookedUpIds.stream().filter("validation.fieldMustBeFilledIn"::equals).count());
+        int nrLookups = lookedUpIds.size();
+
+        model.validate();
+        assertFalse(decorator.getErrorMessagesLabel().isVisible());
+        assertEquals(nrLookups, lookedUpIds.size());
+    }
+
+    @Test
+    public void testErrorsOfModelThatModifiesErrorResourceIdsDirectlyAreShown() {
+        ModelWithDirectlyModifiedErrors directModel = new ModelWithDirectlyModifiedErrors();
+        ErrorMessageDecorator directDecorator =
+                new ErrorMessageDecorator(new LabelBean(new StringModel()), directModel, textResource);
+        directDecorator.initBean();
+
+        directModel.validate();
+        assertEquals(0, directModel.getErrorVersion());
+        assertTrue(directDecorator.getErrorMessagesLabel().isVisible());
+
+        directModel.valid = true;
+        directModel.validate();
+        assertFalse(directDecorator.getErrorMessagesLabel().isVisible());
+    }
+
+    private static class ModelWithDirectlyModifiedErrors extends AbstractModel<String> {
+
+        private boolean valid;
+
+        @Override
+        public boolean validate() {
+            errorResourceIds.clear();
+            if (!valid) {
+                errorResourceIds.add("validation.fieldMustBeFilledIn");
+            }
+            notifyListeners(null);
+            return errorResourceIds.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package nl.gogognome.lib.gui.beans;
+
+import nl.gogognome.lib.awt.layout.FormLayout;
+import nl.gogognome.lib.swing.WidgetFactory;
+import nl.gogognome.lib.swing.models.StringModel;
+import nl.gogognome.lib.text.TextResource;
+import nl.gogognome.lib.util.Factory;
+import org.junit.Test;
+
+import javax.swing.JComponent;
+import javax.swing.JTextField;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class InputFieldsColumnTest {
+
+    private final InputFieldsColumn column;
+
+    public InputFieldsColumnTest() {
+        TextResource textResource = new TextResource(Locale.US);
+        Factory.bindSingleton(TextResource.class, textResource);
+        Factory.bindSingleton(WidgetFactory.class, new WidgetFactory(textResource));
+        Factory.bindSingleton(BeanFactory.class, new BeanFactory(textResource));
+        column = new InputFieldsColumn();
+    }
+
+    @Test
+    public void testFieldsAreCreatedImmediatelyByDefault() {
+        column.addField("name", new StringModel());
+
+        assertEquals(2, column.getComponentCount());
+    }
+
+    @Test
+    public void testDeferredFieldsAreCreatedLaterButModelsCanBeValidated() {
+        StringModel model = new StringModel().mustBeFilled(true);
+        column.setFieldsDeferred(true);
+        column.addField("name", model);
+        column.addVariableSizeField("other", () -> new JTextField());
+
+        assertEquals(0, column.getComponentCount());
+        assertFalse(model.validate());
+
+        column.createDeferredFields();
+        assertEquals(4, column.getComponentCount());
+        GridBagLayout layout = (GridBagLayout) column.getLayout();
+        assertEquals(1, layout.getConstraints(column.getComponent(2)).gridy);
+        assertEquals(1, layout.getConstraints(column.getComponent(3)).gridy);
+    }
+
+    @Test
+    public void testComponentsCanBeAddedWithoutConstraintsByDefault() {
+        column.add(new JTextField());
+
+        assertEquals(1, column.getComponentCount());
+    }
+
+    @Test
+    public void testFormLayoutCanBeUsed() {
+        column.useFormLayout();
+        column.addField("name", new StringModel());
+        column.addField("other", new StringModel());
+
+        FormLayout layout = (FormLayout) column.getLayout();
+        assertEquals(1, layout.getConstraints(column.getComponent(3)).gridy);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFormLayoutCannotBeUsedAfterFieldsAreAdded() {
+        column.addField("name", new StringModel());
+
+        column.useFormLayout();
+    }
+
+    @Test
+    public void testFieldsAreAddedByOverridableMethod() {
+        List<String> addedLabelIds = new ArrayList<>();
+        InputFieldsColumn recordingColumn = new InputFieldsColumn() {
+            @Override
+            protected void addLabelAndFieldWithConstraints(String labelId, JComponent component, GridBagConstraints constraints) {
+                addedLabelIds.add(labelId);
+                super.addLabelAndFieldWithConstraints(labelId, component, constraints);
+            }
+        };
+        recordingColumn.addField("name", new StringModel());
+        recordingColumn.setFieldsDeferred(true);
+        recordingColumn.addField("deferred", new StringModel());
+        assertEquals(singletonList("name"), addedLabelIds);
+
+        recordingColumn.createDeferredFields();
+
+        assertEquals(asList("name", "deferred"), addedLabelIds);
+    }
+
+    @Test
+    public void testRequestFocusCreatesDeferredFields() {
+        column.setFieldsDeferred(true);
+        column.addField("name", new StringModel());
+
+        column.requestFocusInWindow();
+
+        assertEquals(2, column.getComponentCount());
+    }
+}
@@ -0,0 +1,131 @@
+package nl.gogognome.lib.gui.beans;
+
+import nl.gogognome.lib.swing.models.ListModel;
+import org.junit.Test;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ListModelComboBoxModelTest {
+
+    private final ListModel<String> listModel = new ListModel<>(new ArrayList<>(asList("apple", "banana", "cherry")));
+    private final ListModelComboBoxModel<String> comboBoxModel = new ListModelComboBoxModel<>(listModel);
+    private final List<String> events = new ArrayList<>();
+    private final List<String> formattedItems = new ArrayList<>();
+
+    public ListModelComboBoxModelTest() {
+        comboBoxModel.install();
+        comboBoxModel.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+        });
+    }
+
+    @Test
+    public void testItemsAreReadFromListModel() {
+        assertEquals(3, comboBoxModel.getSize());
+        assertEquals("banana", comboBoxModel.getElementAt(1));
+        assertNull(comboBoxModel.getSelectedItem());
+    }
+
+    @Test
+    public void testReplacingItemsFiresEventsForChangedItemsOnly() {
+        listModel.setItems(asList("x", "y", "z", "w"));
+
+        assertEquals(asList("changed 0-2", "added 3-3"), events);
+        assertEquals(4, comboBoxModel.getSize());
+    }
+
+    @Test
+    public void testInsertingItemFiresIntervalAddedAndKeepsCachedFormattedItems() {
+        comboBoxModel.setItemFormatter(item -> {
+            formattedItems.add(item);
+            return item.toUpperCase();
+        });
+        comboBoxModel.getFormattedItem(2);
+
+        listModel.insertItem(0, "avocado", null);
+
+        assertEquals(asList("changed 0-2", "added 0-0"), events);
+        assertEquals("CHERRY", comboBoxModel.getFormattedItem(3));
+        assertEquals("AVOCADO", comboBoxModel.getFormattedItem(0));
+        assertEquals(asList("cherry", "avocado"), formattedItems);
+    }
+
+    @Test
+    public void testSelectionChangeInListModelFiresContentsChangedForSelection() {
+        listModel.setSelectedIndex(2, null);
+
+        assertEquals(asList("changed -1--1"), events);
+        assertEquals("cherry", comboBoxModel.getSelectedItem());
+    }
+
+    @Test
+    public void testSelectingItemInComboBoxModelUpdatesListModel() {
+        comboBoxModel.setSelectedItem("banana");
+
+        assertEquals(1, listModel.getSelectedIndex());
+        assertEquals(asList("changed -1--1"), events);
+    }
+
+    @Test
+    public void testSelectingItemReturnedByComboBoxModelSelectsThatItemAmongEqualItems() {
+        listModel.setItems(asList("apple", "banana", "cherry", new String("banana")));
+        String secondBanana = comboBoxModel.getElementAt(3);
+
+        comboBoxModel.setSelectedItem(secondBanana);
+
+        assertEquals(3, listModel.getSelectedIndex());
+    }
+
+    @Test
+    public void testSelectingEqualItemSelectsFirstEqualItem() {
+        listModel.setItems(asList("apple", "banana", "cherry", "banana"));
+        comboBoxModel.getElementAt(3);
+
+        comboBoxModel.setSelectedItem(new String("banana"));
+
+        assertEquals(1, listModel.getSelectedIndex());
+    }
+
+    @Test
+    public void testEnabledChangeFiresNoEvent() {
+        listModel.setEnabled(false, null);
+
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    public void testFormattedItemsAreCachedUntilItemsChange() {
+        comboBoxModel.setItemFormatter(item -> {
+            formattedItems.add(item);
+            return item.toUpperCase();
+        });
+
+        assertEquals("BANANA", comboBoxModel.getFormattedItem(1));
+        assertEquals("BANANA", comboBoxModel.getFormattedItem(1));
+        assertEquals(asList("banana"), formattedItems);
+
+        listModel.setItems(asList("date", "elderberry"));
+        assertEquals("ELDERBERRY", comboBoxModel.getFormattedItem(1));
+        assertEquals(asList("banana", "elderberry"), formattedItems);
+    }
+}
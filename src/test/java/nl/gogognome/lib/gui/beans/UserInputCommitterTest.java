@@ -0,0 +1,119 @@
+package nl.gogognome.lib.gui.beans;
+
+import nl.gogognome.lib.swing.models.StringModel;
+import org.junit.Test;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UserInputCommitterTest {
+
+    private final JTextField textField = new JTextField();
+    private final List<String> committedTexts = new ArrayList<>();
+    private final UserInputCommitter userInputCommitter =
+            new UserInputCommitter(textField, () -> committedTexts.add(textField.getText()));
+
+    public UserInputCommitterTest() {
+        userInputCommitter.install();
+    }
+
+    @Test
+    public void testImmediatePolicyCommitsEachChange() {
+        textField.setText("a");
+        textField.setText("ab");
+
+        assertEquals(asList("a", "", "ab"), committedTexts);
+    }
+
+    @Test
+    public void testFocusLostOrEnterPolicyCommitsPendingChangesOnce() {
+        userInputCommitter.setCommitPolicy(CommitPolicy.onFocusLostOrEnter());
+
+        textField.setText("a");
+        textField.setText("ab");
+        assertTrue(committedTexts.isEmpty());
+
+        userInputCommitter.commitPendingChanges();
+        userInputCommitter.commitPendingChanges();
+        assertEquals(singletonList("ab"), committedTexts);
+    }
+
+    @Test
+    public void testChangeTextWithoutCommit() {
+        userInputCommitter.setCommitPolicy(CommitPolicy.debounced(1000));
+        textField.setText("typed");
+
+        userInputCommitter.changeTextWithoutCommit(() -> textField.setText("from model"));
+        userInputCommitter.commitPendingChanges();
+
+        assertTrue(committedTexts.isEmpty());
+    }
+
+    @Test
+    public void testUninstallCommitsPendingChanges() {
+        userInputCommitter.setCommitPolicy(CommitPolicy.debounced(1000));
+        textField.setText("typed");
+
+        userInputCommitter.uninstall();
+
+        assertEquals(singletonList("typed"), committedTexts);
+    }
+
+    @Test
+    public void testValidationKeepsTextOfTextFieldThatIsNotCommittedYet() {
+        StringModel model = new StringModel("old").mustBeFilled(true);
+        TextFieldBean bean = new TextFieldBean(model);
+        bean.setCommitPolicy(CommitPolicy.onFocusLostOrEnter());
+        bean.initBean();
+        JTextField beanTextField = (JTextField) bean.getComponent(0);
+
+        beanTextField.setText("typed");
+        model.validate();
+        assertEquals("typed", beanTextField.getText());
+        assertEquals("old", model.getString());
+
+        bean.close();
+        assertEquals("typed", model.getString());
+    }
+
+    @Test
+    public void testValidationKeepsTextOfTextAreaThatIsNotCommittedYet() {
+        StringModel model = new StringModel("old").mustBeFilled(true);
+        TextAreaBean bean = new TextAreaBean(model);
+        bean.setCommitPolicy(CommitPolicy.debounced(1000));
+        bean.initBean();
+        JTextArea textArea = (JTextArea) ((JScrollPane) bean.getComponent(0)).getViewport().getView();
+
+        textArea.setText("typed");
+        model.validate();
+        assertEquals("typed", textArea.getText());
+        assertEquals("old", model.getString());
+
+        bean.close();
+        assertEquals("typed", model.getString());
+    }
+
+    @Test
+    public void testModelChangeReplacesTextThatIsNotCommittedYet() {
+        StringModel model = new StringModel("old");
+        TextFieldBean bean = new TextFieldBean(model);
+        bean.setCommitPolicy(CommitPolicy.onFocusLostOrEnter());
+        bean.initBean();
+        JTextField beanTextField = (JTextField) bean.getComponent(0);
+
+        beanTextField.setText("typed");
+        model.setString("new");
+        assertEquals("new", beanTextField.getText());
+
+        bean.close();
+        assertEquals("new", model.getString());
+    }
+}
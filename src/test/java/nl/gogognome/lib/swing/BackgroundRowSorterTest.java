@@ -0,0 +1,158 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import javax.swing.RowSorter.SortKey;
+import javax.swing.SortOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class BackgroundRowSorterTest {
+
+    private ListTableModel<Integer> tableModel = new ListTableModel<>(
+            singletonList(ColumnDefinition.<Integer>builder("number", Integer.class, 100)
+                    .add(row -> row)
+                    .build()),
+            asList(5, 3, 8, 1));
+
+    private BackgroundRowSorter<ListTableModel<Integer>> sorter = createSorter();
+
+    @Test
+    public void testUnsortedSorterUsesModelOrder() {
+        assertViewContains(5, 3, 8, 1);
+    }
+
+    @Test
+    public void testToggleSortOrder() {
+        sorter.toggleSortOrder(0);
+        assertViewContains(1, 3, 5, 8);
+
+        sorter.toggleSortOrder(0);
+        assertViewContains(8, 5, 3, 1);
+    }
+
+    @Test
+    public void testInsertedRowsAreSortedIncrementally() {
+        sorter.toggleSortOrder(0);
+
+        tableModel.addRows(asList(4, 9));
+        sorter.rowsInserted(4, 5);
+
+        assertViewContains(1, 3, 4, 5, 8, 9);
+        assertEquals(4, sorter.convertRowIndexToModel(2));
+        assertEquals(2, sorter.convertRowIndexToView(4));
+    }
+
+    @Test
+    public void testDeletedRowsAreRemovedFromView() {
+        sorter.toggleSortOrder(0);
+
+        tableModel.removeRow(1);
+        sorter.rowsDeleted(1, 1);
+
+        assertViewContains(1, 5, 8);
+    }
+
+    @Test
+    public void testUpdatedRowMovesToNewPosition() {
+        sorter.toggleSortOrder(0);
+
+        tableModel.updateRow(3, 10);
+        sorter.rowsUpdated(3, 3);
+
+        assertViewContains(3, 5, 8, 10);
+    }
+
+    @Test
+    public void testFilter() {
+        sorter.toggleSortOrder(0);
+        sorter.setModelRowFilter(row -> tableModel.getRow(row) % 2 == 1);
+
+        assertViewContains(1, 3, 5);
+        assertEquals(-1, sorter.convertRowIndexToView(2));
+    }
+
+    @Test
+    public void testSortOnMultipleThreads() {
+        List<Integer> rows = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i=0; i<50_000; i++) {
+            rows.add(random.nextInt(1000));
+        }
+        tableModel.setRows(rows);
+        sorter.allRowsChanged();
+
+        sorter.setSortKeys(singletonList(new SortKey(0, SortOrder.DESCENDING)));
+
+        assertFalse(sorter.isSortPending());
+        assertEquals(rows.size(), sorter.getViewRowCount());
+        for (int i=1; i<sorter.getViewRowCount(); i++) {
+            int previous = tableModel.getRow(sorter.convertRowIndexToModel(i - 1));
+            int current = tableModel.getRow(sorter.convertRowIndexToModel(i));
+            assertFalse(previous < current);
+        }
+    }
+
+    @Test
+    public void testColumnarTableModelIsSortedWithoutBoxingValues() {
+        ColumnarTableModel<Integer> columnarModel = new ColumnarTableModel<Integer>(
+                ColumnDefinition.<Integer>builder("int", Integer.class, 50).addInt(row -> row).build(),
+                ColumnDefinition.<Integer>builder("long", Long.class, 50).addLong(row -> -row).build(),
+                ColumnDefinition.<Integer>builder("double", Double.class, 50).addDouble(row -> row % 3).build()) {
+            @Override
+            public Object getValueAt(int rowIndex, int columnIndex) {
+                throw new AssertionError("Value of row " + rowIndex + " has been boxed");
+            }
+        };
+        columnarModel.setRows(asList(5, 3, 8, 1));
+        BackgroundRowSorter<ColumnarTableModel<Integer>> columnarSorter =
+                new BackgroundRowSorter<>(columnarModel, Runnable::run, Runnable::run);
+
+        columnarSorter.toggleSortOrder(0);
+        assertEquals(asList(1, 3, 5, 8), getRowsInViewOrder(columnarModel, columnarSorter));
+
+        columnarSorter.toggleSortOrder(1);
+        assertEquals(asList(8, 5, 3, 1), getRowsInViewOrder(columnarModel, columnarSorter));
+
+        columnarSorter.setSortKeys(asList(new SortKey(2, SortOrder.ASCENDING), new SortKey(0, SortOrder.DESCENDING)));
+        assertEquals(asList(3, 1, 8, 5), getRowsInViewOrder(columnarModel, columnarSorter));
+
+        columnarModel.addRow(6);
+        columnarSorter.rowsInserted(4, 4);
+        assertEquals(asList(6, 3, 1, 8, 5), getRowsInViewOrder(columnarModel, columnarSorter));
+
+        columnarModel.updateRow(0, 4);
+        columnarSorter.rowsUpdated(0, 0);
+        assertEquals(asList(6, 3, 4, 1, 8), getRowsInViewOrder(columnarModel, columnarSorter));
+
+        columnarModel.removeRow(1);
+        columnarSorter.rowsDeleted(1, 1);
+        assertEquals(asList(6, 4, 1, 8), getRowsInViewOrder(columnarModel, columnarSorter));
+    }
+
+    private BackgroundRowSorter<ListTableModel<Integer>> createSorter() {
+        return new BackgroundRowSorter<>(tableModel, Runnable::run, Runnable::run);
+    }
+
+    private void assertViewContains(Integer... expectedRows) {
+        List<Integer> actualRows = new ArrayList<>();
+        for (int i=0; i<sorter.getViewRowCount(); i++) {
+            actualRows.add(tableModel.getRow(sorter.convertRowIndexToModel(i)));
+        }
+        assertEquals(asList(expectedRows), actualRows);
+    }
+
+    private static List<Integer> getRowsInViewOrder(ColumnarTableModel<Integer> model, BackgroundRowSorter<?> sorter) {
+        List<Integer> rows = new ArrayList<>();
+        for (int i=0; i<sorter.getViewRowCount(); i++) {
+            rows.add(model.getRow(sorter.convertRowIndexToModel(i)));
+        }
+        return rows;
+    }
+}
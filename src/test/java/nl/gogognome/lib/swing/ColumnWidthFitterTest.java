@@ -0,0 +1,91 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import java.awt.FontMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnWidthFitterTest {
+
+    private final List<Runnable> backgroundActions = new ArrayList<>();
+    private final ColumnWidthFitter fitter = new ColumnWidthFitter(backgroundActions::add, Runnable::run, new Random(1));
+
+    @Test
+    public void testSmallTableSamplesAllRows() {
+        fitter.setSampleSize(2, 2, 2);
+
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5 }, fitter.selectSampleRows(6));
+    }
+
+    @Test
+    public void testLargeTableSamplesHeadTailAndRandomRows() {
+        fitter.setSampleSize(2, 3, 10);
+
+        int[] rows = fitter.selectSampleRows(1000000);
+
+        assertTrue(rows.length <= 15);
+        assertEquals(0, rows[0]);
+        assertEquals(1, rows[1]);
+        assertEquals(999997, rows[rows.length - 3]);
+        assertEquals(999999, rows[rows.length - 1]);
+        for (int i=1; i<rows.length; i++) {
+            assertTrue(rows[i - 1] < rows[i]);
+        }
+    }
+
+    @Test
+    public void testColumnWidthFitsWidestText() {
+        JTable table = createTable(3);
+        table.setValueAt("a much longer text than the others", 1, 0);
+
+        fitter.fitColumns(table);
+
+        assertTrue(backgroundActions.isEmpty());
+        int width = table.getColumnModel().getColumn(0).getPreferredWidth();
+        assertTrue(width > textWidth(table, "a much longer text than the others"));
+        assertTrue(width < ColumnWidthFitter.DEFAULT_MAX_COLUMN_WIDTH);
+    }
+
+    @Test
+    public void testLargeTableIsMeasuredInBackground() {
+        JTable table = createTable(1000);
+        table.setValueAt("a much longer text than the others", 999, 0);
+        int oldWidth = table.getColumnModel().getColumn(0).getPreferredWidth();
+
+        fitter.fitColumns(table);
+        assertEquals(oldWidth, table.getColumnModel().getColumn(0).getPreferredWidth());
+
+        assertEquals(1, backgroundActions.size());
+        backgroundActions.get(0).run();
+        assertTrue(table.getColumnModel().getColumn(0).getPreferredWidth() > textWidth(table, "a much longer text than the others"));
+    }
+
+    @Test
+    public void testTextWidthIsCached() {
+        FontMetrics fontMetrics = new JLabel().getFontMetrics(new JLabel().getFont());
+
+        assertEquals(fontMetrics.stringWidth("cached"), ColumnWidthFitter.getTextWidth("cached", fontMetrics));
+        assertEquals(fontMetrics.stringWidth("cached"), ColumnWidthFitter.getTextWidth("cached", fontMetrics));
+    }
+
+    private JTable createTable(int nrRows) {
+        DefaultTableModel tableModel = new DefaultTableModel(new Object[] { "a", "b" }, 0);
+        for (int i=0; i<nrRows; i++) {
+            tableModel.addRow(new Object[] { "x", i });
+        }
+        return new JTable(tableModel);
+    }
+
+    private int textWidth(JTable table, String text) {
+        return table.getFontMetrics(table.getFont()).stringWidth(text);
+    }
+}
@@ -0,0 +1,78 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarTableModelTest {
+
+    private ColumnarTableModel<String> tableModel = new ColumnarTableModel<>(
+            asList(ColumnDefinition.<String>builder("description", String.class, 300)
+                            .add(row -> row)
+                            .build(),
+                    ColumnDefinition.<String>builder("length", Integer.class, 50)
+                            .addInt(String::length)
+                            .build(),
+                    ColumnDefinition.<String>builder("hashCode", Long.class, 50)
+                            .addLong(row -> row.hashCode())
+                            .build(),
+                    ColumnDefinition.<String>builder("half", Double.class, 50)
+                            .addDouble(row -> row.length() / 2.0)
+                            .build()),
+            asList("one", "two", "three"));
+
+    @Test
+    public void testGetValueAt() {
+        assertEquals(3, tableModel.getRowCount());
+        assertEquals("three", tableModel.getValueAt(2, 0));
+        assertEquals(5, tableModel.getValueAt(2, 1));
+        assertEquals((long) "three".hashCode(), tableModel.getValueAt(2, 2));
+        assertEquals(2.5, tableModel.getValueAt(2, 3));
+    }
+
+    @Test
+    public void testPrimitiveGetters() {
+        assertEquals(3, tableModel.getInt(0, 1));
+        assertEquals("two".hashCode(), tableModel.getLong(1, 2));
+        assertEquals(2.5, tableModel.getDouble(2, 3), 0.0);
+    }
+
+    @Test
+    public void testAddRemoveAndUpdateRows() {
+        tableModel.addRow("four");
+        tableModel.removeRow(0);
+        tableModel.updateRow(0, "TWO!");
+
+        assertEquals(asList("TWO!", "three", "four"), tableModel.getRows());
+        assertEquals("TWO!", tableModel.getValueAt(0, 0));
+        assertEquals(4, tableModel.getInt(0, 1));
+        assertEquals(4, tableModel.getInt(2, 1));
+    }
+
+    @Test
+    public void testSetRowsAndClear() {
+        tableModel.setRows(asList("a", "bb"));
+        assertEquals(2, tableModel.getInt(1, 1));
+
+        tableModel.clear();
+        assertEquals(0, tableModel.getRowCount());
+    }
+
+    @Test
+    public void testCompare() {
+        tableModel.addRow("one");
+
+        assertTrue(tableModel.compare(0, 0, 2) < 0);
+        assertTrue(tableModel.compare(0, 1, 2) > 0);
+        assertEquals(0, tableModel.compare(0, 0, 3));
+        assertTrue(tableModel.compare(1, 2, 0) > 0);
+        assertTrue(tableModel.compare(3, 0, 2) < 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetValueAtWithInvalidIndex() {
+        tableModel.getValueAt(3, 0);
+    }
+}
@@ -0,0 +1,92 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class FormattingTableCellRendererTest {
+
+    private final DefaultTableModel tableModel = new DefaultTableModel(new Object[][] {
+            { "a", "b" },
+            { "c", "d" },
+            { "e", "f" }
+    }, new Object[] { "col1", "col2" });
+    private final JTable table = new JTable(tableModel);
+    private final List<Object> formattedValues = new ArrayList<>();
+    private final FormattingTableCellRenderer renderer = new FormattingTableCellRenderer() {
+        @Override
+        protected String format(Object value) {
+            formattedValues.add(value);
+            return value.toString().toUpperCase();
+        }
+    };
+
+    @Test
+    public void testWithoutMemoizingEachRenderingFormats() {
+        assertEquals("A", render(0, 0));
+        assertEquals("A", render(0, 0));
+
+        assertEquals(asList("a", "a"), formattedValues);
+    }
+
+    @Test
+    public void testMemoizedValueIsReused() {
+        renderer.setMemoizeFormattedValues(true);
+
+        assertEquals("A", render(0, 0));
+        assertEquals("A", render(0, 0));
+        assertEquals("D", render(1, 1));
+
+        assertEquals(asList("a", "d"), formattedValues);
+    }
+
+    @Test
+    public void testUpdatedCellIsFormattedAgain() {
+        renderer.setMemoizeFormattedValues(true);
+        render(0, 0);
+        render(0, 1);
+
+        tableModel.setValueAt("x", 0, 0);
+
+        assertEquals("X", render(0, 0));
+        assertEquals("B", render(0, 1));
+        assertEquals(asList("a", "b", "x"), formattedValues);
+    }
+
+    @Test
+    public void testInsertedRowInvalidatesRowsBelow() {
+        renderer.setMemoizeFormattedValues(true);
+        render(0, 0);
+        render(2, 0);
+
+        tableModel.insertRow(1, new Object[] { "y", "z" });
+
+        assertEquals("A", render(0, 0));
+        assertEquals("C", render(2, 0));
+        assertEquals(asList("a", "e", "c"), formattedValues);
+    }
+
+    @Test
+    public void testDisablingMemoizingStopsListening() {
+        renderer.setMemoizeFormattedValues(true);
+        render(0, 0);
+        int nrListeners = tableModel.getTableModelListeners().length;
+
+        renderer.setMemoizeFormattedValues(false);
+
+        assertEquals(nrListeners - 1, tableModel.getTableModelListeners().length);
+    }
+
+    private String render(int row, int column) {
+        JLabel label = (JLabel) renderer.getTableCellRendererComponent(table,
+                tableModel.getValueAt(row, column), false, false, row, column);
+        return label.getText();
+    }
+}
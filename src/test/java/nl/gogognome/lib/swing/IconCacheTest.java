@@ -0,0 +1,72 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import javax.swing.ImageIcon;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IconCacheTest {
+
+    private final IconCache iconCache = new IconCache();
+    private final URL url = IconCacheTest.class.getResource("/exclamation.png");
+
+    @Test
+    public void testImageIsDecodedOnce() {
+        Image image = iconCache.getImage(url);
+
+        assertNotNull(image);
+        assertSame(image, iconCache.getImage(url));
+    }
+
+    @Test
+    public void testIconHasSizeOfImageBeforeItIsPainted() {
+        ImageIcon icon = iconCache.getIcon(url, "error");
+        Image image = iconCache.getImage(url);
+
+        assertEquals(image.getWidth(null), icon.getIconWidth());
+        assertEquals(image.getHeight(null), icon.getIconHeight());
+        assertEquals("error", icon.getDescription());
+    }
+
+    @Test
+    public void testScaledVariantIsCachedPerSize() {
+        Image scaledImage = iconCache.getImage(url, 8);
+
+        assertEquals(8, Math.max(scaledImage.getWidth(null), scaledImage.getHeight(null)));
+        assertSame(scaledImage, iconCache.getImage(url, 8));
+        assertEquals(8, Math.max(iconCache.getIcon(url, null, 8).getIconWidth(), iconCache.getIcon(url, null, 8).getIconHeight()));
+    }
+
+    @Test
+    public void testPaintingIconRealizesImage() {
+        ImageIcon icon = iconCache.getIcon(url, null);
+        BufferedImage target = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+
+        icon.paintIcon(null, target.getGraphics(), 0, 0);
+
+        assertSame(iconCache.getImage(url), icon.getImage());
+    }
+
+    @Test
+    public void testPreloadDecodesIconsOfResourceBundle() {
+        List<Runnable> tasks = new ArrayList<>();
+        iconCache.preloadIcons("/gogolibstrings.properties", tasks::add);
+        assertEquals(1, tasks.size());
+        assertNull(iconCache.getCachedImage(url, 0));
+
+        tasks.get(0).run();
+
+        Image image = iconCache.getCachedImage(url, 0);
+        assertNotNull(image);
+        assertSame(image, iconCache.getImage(url));
+    }
+}
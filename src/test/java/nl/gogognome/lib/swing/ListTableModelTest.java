@@ -2,9 +2,16 @@ package nl.gogognome.lib.swing;
 
 import org.junit.Test;
 
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ListTableModelTest {
 
@@ -26,6 +33,17 @@ public class ListTableModelTest {
         assertTableModelContains("one", "two", "three", "four");
     }
 
+    @Test
+    public void testAddRows() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.addRows(asList("four", "five"));
+
+        assertTableModelContains("one", "two", "three", "four", "five");
+        assertEquals(1, events.size());
+        assertEvent(TableModelEvent.INSERT, 3, 4, events.get(0));
+    }
+
     @Test
     public void testRemoveRow() {
         tableModel.removeRow(2);
@@ -47,6 +65,41 @@ public class ListTableModelTest {
         assertTableModelContains();
     }
 
+    @Test
+    public void testRemoveRowsFiresOneEventPerRange() {
+        tableModel.addRows(asList("four", "five", "six"));
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.removeRows(new int[] { 5, 0, 3, 4 });
+
+        assertTableModelContains("two", "three");
+        assertEquals(2, events.size());
+        assertEvent(TableModelEvent.DELETE, 3, 5, events.get(0));
+        assertEvent(TableModelEvent.DELETE, 0, 0, events.get(1));
+    }
+
+    @Test
+    public void testRemoveManyRangesOfRows() {
+        List<String> rows = new ArrayList<>();
+        for (int i=0; i<100; i++) {
+            rows.add(Integer.toString(i));
+        }
+        tableModel.setRows(rows);
+        List<TableModelEvent> events = recordEvents();
+
+        int[] evenIndices = new int[50];
+        for (int i=0; i<evenIndices.length; i++) {
+            evenIndices[i] = 2 * i;
+        }
+        tableModel.removeRows(evenIndices);
+
+        assertEquals(50, tableModel.getRowCount());
+        assertEquals("1", tableModel.getRow(0));
+        assertEquals("99", tableModel.getRow(49));
+        assertEquals(1, events.size());
+        assertEvent(TableModelEvent.UPDATE, 0, Integer.MAX_VALUE, events.get(0));
+    }
+
     @Test
     public void testClear() {
         tableModel.clear();
@@ -61,6 +114,52 @@ public class ListTableModelTest {
         assertTableModelContains("one", "two", "THREE");
     }
 
+    @Test
+    public void testUpdateRows() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.updateRows(new int[] { 2, 0 }, asList("THREE", "ONE"));
+
+        assertTableModelContains("ONE", "two", "THREE");
+        assertEquals(1, events.size());
+        assertEvent(TableModelEvent.UPDATE, 0, 2, events.get(0));
+    }
+
+    @Test
+    public void testUpdatesBetweenBeginAndEndUpdateAreCombined() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.beginUpdate();
+        tableModel.addRow("four");
+        tableModel.addRow("five");
+        tableModel.updateRow(4, "FIVE");
+        assertTrue(events.isEmpty());
+        tableModel.endUpdate();
+
+        assertTableModelContains("one", "two", "three", "four", "FIVE");
+        assertEquals(1, events.size());
+        assertEvent(TableModelEvent.INSERT, 3, 4, events.get(0));
+    }
+
+    @Test
+    public void testIncompatibleUpdatesBetweenBeginAndEndUpdateResultInDataChanged() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.beginUpdate();
+        tableModel.removeRow(0);
+        tableModel.addRow("four");
+        tableModel.endUpdate();
+
+        assertTableModelContains("two", "three", "four");
+        assertEquals(1, events.size());
+        assertEvent(TableModelEvent.UPDATE, 0, Integer.MAX_VALUE, events.get(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndUpdateWithoutBeginUpdate() {
+        tableModel.endUpdate();
+    }
+
     @Test
     public void testReplaceRows() {
         tableModel.setRows(asList("ONE", "TWO"));
@@ -68,6 +167,43 @@ public class ListTableModelTest {
         assertTableModelContains("ONE", "TWO");
     }
 
+    @Test
+    public void testReplaceRowsWithKeyFiresEventsForDifferencesOnly() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.setRows(asList("zero", "one", "TWO", "four"), String::toLowerCase);
+
+        assertTableModelContains("zero", "one", "TWO", "four");
+        assertEquals(4, events.size());
+        assertEvent(TableModelEvent.DELETE, 2, 2, events.get(0));
+        assertEvent(TableModelEvent.INSERT, 0, 0, events.get(1));
+        assertEvent(TableModelEvent.INSERT, 3, 3, events.get(2));
+        assertEvent(TableModelEvent.UPDATE, 2, 2, events.get(3));
+    }
+
+    @Test
+    public void testReplaceRowsWithKeyMovesRow() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.setRows(asList("three", "one", "two"), String::toLowerCase);
+
+        assertTableModelContains("three", "one", "two");
+        assertEquals(2, events.size());
+        assertEvent(TableModelEvent.DELETE, 2, 2, events.get(0));
+        assertEvent(TableModelEvent.INSERT, 0, 0, events.get(1));
+    }
+
+    @Test
+    public void testReplaceRowsWithDuplicateKeysReplacesAllRows() {
+        List<TableModelEvent> events = recordEvents();
+
+        tableModel.setRows(asList("one", "ONE"), String::toLowerCase);
+
+        assertTableModelContains("one", "ONE");
+        assertEquals(1, events.size());
+        assertEvent(TableModelEvent.UPDATE, 0, Integer.MAX_VALUE, events.get(0));
+    }
+
     @Test
     public void testGetRow() {
         assertEquals("one", tableModel.getRow(0));
@@ -85,6 +221,38 @@ public class ListTableModelTest {
         assertEquals(asList("one", "two", "three"), tableModel.getRows());
     }
 
+    @Test
+    public void testConcurrentModeAppliesModificationsOnEventThreadInBatches() throws Exception {
+        List<Boolean> eventsOnEventThread = Collections.synchronizedList(new ArrayList<>());
+        tableModel.addTableModelListener(e -> eventsOnEventThread.add(SwingUtilities.isEventDispatchThread()));
+        tableModel.setConcurrentMode(true);
+
+        for (int i=0; i<1000; i++) {
+            tableModel.addRow(Integer.toString(i));
+        }
+        long timeout = System.currentTimeMillis() + 10_000;
+        int[] rowCount = new int[1];
+        while (rowCount[0] < 1003 && System.currentTimeMillis() < timeout) {
+            SwingUtilities.invokeAndWait(() -> rowCount[0] = tableModel.getRowCount());
+        }
+
+        assertEquals(1003, rowCount[0]);
+        assertTrue(eventsOnEventThread.size() < 1000);
+        assertTrue(eventsOnEventThread.stream().allMatch(onEventThread -> onEventThread));
+    }
+
+    private List<TableModelEvent> recordEvents() {
+        List<TableModelEvent> events = new ArrayList<>();
+        tableModel.addTableModelListener(events::add);
+        return events;
+    }
+
+    private void assertEvent(int expectedType, int expectedFirstRow, int expectedLastRow, TableModelEvent event) {
+        assertEquals(expectedType, event.getType());
+        assertEquals(expectedFirstRow, event.getFirstRow());
+        assertEquals(expectedLastRow, event.getLastRow());
+    }
+
     private void assertTableModelContains(String... expectedRows) {
         assertEquals(asList(expectedRows).toString(), tableModel.getRows().toString());
     }
@@ -0,0 +1,154 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PagedTableModelTest {
+
+    private final List<Integer> sourceRows = createRows(25);
+    private final Queue<Runnable> pendingLoads = new LinkedList<>();
+    private final List<TableModelEvent> events = new ArrayList<>();
+
+    private final List<ColumnDefinition<Integer>> columnDefinitions = singletonList(
+            ColumnDefinition.<Integer>builder("number", Integer.class, 100)
+                    .add(row -> row)
+                    .build());
+    private boolean failNextLoad;
+
+    private final PagedTableModel<Integer> tableModel = new PagedTableModel<>(
+            columnDefinitions, new ListRowSource<>(sourceRows), 10, 2, 1, pendingLoads::add, Runnable::run);
+
+    @Test
+    public void testRowCountIsLoadedInBackground() {
+        assertEquals(0, tableModel.getRowCount());
+
+        loadAll();
+
+        assertEquals(25, tableModel.getRowCount());
+    }
+
+    @Test
+    public void testUnloadedRowsShowPlaceholderUntilPageIsLoaded() {
+        loadAll();
+        tableModel.addTableModelListener(events::add);
+
+        assertNull(tableModel.getValueAt(12, 0));
+        assertFalse(tableModel.isRowLoaded(12));
+
+        loadAll();
+
+        assertTrue(tableModel.isRowLoaded(12));
+        assertEquals(12, tableModel.getValueAt(12, 0));
+        assertEquals(10, events.get(0).getFirstRow());
+        assertEquals(19, events.get(0).getLastRow());
+    }
+
+    @Test
+    public void testNextPageIsPrefetched() {
+        loadAll();
+
+        tableModel.getValueAt(0, 0);
+        loadAll();
+
+        assertTrue(tableModel.isRowLoaded(15));
+        assertFalse(tableModel.isRowLoaded(20));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPageIsRemoved() {
+        loadAll();
+        tableModel.getValueAt(0, 0);
+        loadAll();
+        tableModel.getValueAt(20, 0);
+        loadAll();
+
+        assertFalse(tableModel.isRowLoaded(0));
+        assertTrue(tableModel.isRowLoaded(10));
+        assertEquals(24, tableModel.getValueAt(24, 0));
+    }
+
+    @Test
+    public void testRefreshIgnoresPagesLoadedBeforeRefresh() {
+        loadAll();
+        tableModel.getValueAt(0, 0);
+
+        sourceRows.set(0, 100);
+        tableModel.refresh();
+        loadAll();
+        assertNull(tableModel.getValueAt(0, 0));
+        loadAll();
+
+        assertEquals(100, tableModel.getValueAt(0, 0));
+    }
+
+    @Test
+    public void testPageIsLoadedAgainWhenItWasRemovedWhileInUse() {
+        loadAll();
+        tableModel.getValueAt(0, 0);
+        tableModel.getValueAt(20, 0);
+        tableModel.getValueAt(0, 0);
+        loadAll();
+        assertFalse(tableModel.isRowLoaded(0));
+
+        assertNull(tableModel.getValueAt(0, 0));
+        loadAll();
+
+        assertEquals(0, tableModel.getValueAt(0, 0));
+    }
+
+    @Test
+    public void testPageIsLoadedAgainAfterLoadingFailed() {
+        PagedTableModel<Integer> failingTableModel = new PagedTableModel<>(columnDefinitions,
+                new ListRowSource<Integer>(sourceRows) {
+                    @Override
+                    public List<Integer> getRows(int firstRow, int nrRows) {
+                        if (failNextLoad) {
+                            failNextLoad = false;
+                            throw new IllegalStateException("Failed to load rows");
+                        }
+                        return super.getRows(firstRow, nrRows);
+                    }
+                }, 10, 2, 1, pendingLoads::add, Runnable::run);
+        loadAll();
+
+        failNextLoad = true;
+        assertNull(failingTableModel.getValueAt(0, 0));
+        loadAll();
+        assertFalse(failingTableModel.isRowLoaded(0));
+
+        assertNull(failingTableModel.getValueAt(0, 0));
+        loadAll();
+
+        assertEquals(0, failingTableModel.getValueAt(0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNumberOfCachedPagesMustBeLargerThanNumberOfPagesToPrefetch() {
+        new PagedTableModel<>(columnDefinitions, new ListRowSource<>(sourceRows), 10, 2, 2, pendingLoads::add, Runnable::run);
+    }
+
+    private void loadAll() {
+        while (!pendingLoads.isEmpty()) {
+            pendingLoads.remove().run();
+        }
+    }
+
+    private static List<Integer> createRows(int nrRows) {
+        List<Integer> rows = new ArrayList<>();
+        for (int i=0; i<nrRows; i++) {
+            rows.add(i);
+        }
+        return rows;
+    }
+}
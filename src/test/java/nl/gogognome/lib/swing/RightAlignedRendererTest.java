@@ -0,0 +1,29 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+
+import static org.junit.Assert.assertEquals;
+
+public class RightAlignedRendererTest {
+
+    private final JTable table = new JTable(1, 1);
+
+    @Test
+    public void testSubclassFormatsValueOfCellInSetValue() {
+        RightAlignedRenderer renderer = new RightAlignedRenderer() {
+            @Override
+            public void setValue(Object value) {
+                super.setValue(value instanceof Integer ? "#" + value : value);
+            }
+        };
+
+        JLabel label = (JLabel) renderer.getTableCellRendererComponent(table, 12, false, false, 0, 0);
+
+        assertEquals("#12", label.getText());
+        assertEquals(SwingConstants.RIGHT, label.getHorizontalAlignment());
+    }
+}
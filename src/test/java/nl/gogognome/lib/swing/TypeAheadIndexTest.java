@@ -0,0 +1,70 @@
+package nl.gogognome.lib.swing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TypeAheadIndexTest {
+
+    private final TypeAheadIndex typeAheadIndex = new TypeAheadIndex();
+
+    public TypeAheadIndexTest() {
+        typeAheadIndex.add("Pietje Puk");
+        typeAheadIndex.add("Jan Klaassen");
+        typeAheadIndex.add("Katrijn");
+        typeAheadIndex.add("Klaas Vaak");
+    }
+
+    @Test
+    public void testTypedTextSelectsFirstItemContainingText() {
+        assertEquals(0, typeAheadIndex.append('K'));
+        assertEquals(1, typeAheadIndex.append('l'));
+        assertEquals(1, typeAheadIndex.append('a'));
+        assertEquals(1, typeAheadIndex.append('a'));
+        assertEquals(1, typeAheadIndex.append('s'));
+        assertEquals(3, typeAheadIndex.append(' '));
+        assertEquals("klaas ", typeAheadIndex.getTypedText());
+    }
+
+    @Test
+    public void testNoMatch() {
+        typeAheadIndex.append('x');
+        assertEquals(-1, typeAheadIndex.append('y'));
+    }
+
+    @Test
+    public void testRemoveLastCharacterRestoresPreviousMatches() {
+        typeAheadIndex.append('k');
+        typeAheadIndex.append('a');
+        assertEquals(2, typeAheadIndex.append('t'));
+
+        assertEquals(2, typeAheadIndex.removeLastCharacter());
+        assertEquals(0, typeAheadIndex.removeLastCharacter());
+        assertEquals(0, typeAheadIndex.removeLastCharacter());
+        assertEquals(-1, typeAheadIndex.removeLastCharacter());
+    }
+
+    @Test
+    public void testItemsAddedWhileTyping() {
+        typeAheadIndex.append('z');
+        typeAheadIndex.add("Zorro");
+
+        assertEquals(4, typeAheadIndex.append('o'));
+    }
+
+    @Test
+    public void testFindMatches() {
+        assertArrayEquals(new int[] { 1, 3 }, typeAheadIndex.findMatches("laas", null));
+        assertArrayEquals(new int[] { 3 }, typeAheadIndex.findMatches("laas", new int[] { 2, 3 }));
+    }
+
+    @Test
+    public void testReset() {
+        typeAheadIndex.append('v');
+        typeAheadIndex.reset();
+
+        assertEquals("", typeAheadIndex.getTypedText());
+        assertEquals(0, typeAheadIndex.append('p'));
+    }
+}
@@ -0,0 +1,99 @@
+package nl.gogognome.lib.swing.models;
+
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractModelTest {
+
+    private final AbstractModel<String> model = new AbstractModel<>();
+    private final List<String> notifications = new ArrayList<>();
+
+    @Test
+    public void testListenersAreNotifiedInOrderOfSubscription() {
+        model.addModelChangeListener(m -> notifications.add("first"));
+        model.addModelChangeListener(m -> notifications.add("second"));
+
+        model.setValue("a");
+
+        assertEquals(asList("first", "second"), notifications);
+    }
+
+    @Test
+    public void testSourceIsNotNotified() {
+        ModelChangeListener source = m -> notifications.add("source");
+        model.addModelChangeListener(source);
+        model.addModelChangeListener(m -> notifications.add("other"));
+
+        model.setValue("a", source);
+
+        assertEquals(asList("other"), notifications);
+    }
+
+    @Test
+    public void testListenersCanBeAddedAndRemovedDuringNotification() {
+        ModelChangeListener removedListener = m -> notifications.add("removed");
+        model.addModelChangeListener(m -> {
+            notifications.add("first");
+            model.removeModelChangeListener(removedListener);
+            model.addModelChangeListener(m2 -> notifications.add("added"));
+        });
+        model.addModelChangeListener(removedListener);
+
+        model.setValue("a");
+        assertEquals(asList("first", "removed"), notifications);
+
+        notifications.clear();
+        model.setValue("b");
+        assertEquals(asList("first", "added"), notifications);
+    }
+
+    @Test
+    public void testConcurrentModeNotifiesListenersOnEventThread() throws Exception {
+        CountDownLatch lastValueNotified = new CountDownLatch(1);
+        List<Boolean> notificationsOnEventThread = new ArrayList<>();
+        model.addModelChangeListener(m -> {
+            notificationsOnEventThread.add(SwingUtilities.isEventDispatchThread());
+            if ("999".equals(model.getValue())) {
+                lastValueNotified.countDown();
+            }
+        });
+        model.setConcurrentMode(true);
+
+        for (int i=0; i<1000; i++) {
+            model.setValue(Integer.toString(i));
+        }
+
+        assertTrue(lastValueNotified.await(10, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(notificationsOnEventThread.size() < 1000);
+            assertTrue(notificationsOnEventThread.stream().allMatch(onEventThread -> onEventThread));
+        });
+    }
+
+    @Test
+    public void testErrorVersionChangesOnlyIfErrorsChange() {
+        StringModel stringModel = new StringModel().mustBeFilled(true);
+        assertEquals(0, stringModel.getErrorVersion());
+
+        stringModel.validate();
+        assertEquals(1, stringModel.getErrorVersion());
+
+        stringModel.validate();
+        assertEquals(1, stringModel.getErrorVersion());
+
+        stringModel.setString("a");
+        assertEquals(1, stringModel.getErrorVersion());
+        stringModel.validate();
+        assertEquals(2, stringModel.getErrorVersion());
+        assertEquals(2, stringModel.getErrorVersion());
+    }
+}
@@ -0,0 +1,128 @@
+package nl.gogognome.lib.swing.models;
+
+import org.junit.Test;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentModelTest {
+
+    private final DocumentModel model = new DocumentModel();
+
+    @Test
+    public void testInsertAndRemove() {
+        model.setText("Hello world");
+        model.insert(5, ",");
+        model.remove(6, 6);
+
+        assertEquals("Hello,", model.getText());
+        assertEquals(6, model.getLength());
+        assertEquals("ell", model.getText(1, 3));
+    }
+
+    @Test
+    public void testDocumentListenersReceiveChanges() {
+        List<String> changes = new ArrayList<>();
+        model.addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                changes.add("insert " + e.getOffset() + " " + e.getLength());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                changes.add("remove " + e.getOffset() + " " + e.getLength());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        model.insert(0, "abc");
+        model.remove(1, 1);
+
+        assertEquals(asList("insert 0 3", "remove 1 1"), changes);
+    }
+
+    @Test
+    public void testModelChangeListenersAreNotifiedOfEachChange() {
+        List<AbstractModel> notifications = new ArrayList<>();
+        model.addModelChangeListener(notifications::add);
+
+        model.insert(0, "abc");
+        model.remove(0, 1);
+
+        assertEquals(2, notifications.size());
+    }
+
+    @Test
+    public void testSetTextNotifiesModelChangeListenersOnce() {
+        model.setText("abc");
+        List<AbstractModel> notifications = new ArrayList<>();
+        model.addModelChangeListener(notifications::add);
+
+        model.setText("def");
+
+        assertEquals("def", model.getText());
+        assertEquals(1, notifications.size());
+    }
+
+    @Test
+    public void testSetValueMovesListenersToNewDocument() throws Exception {
+        List<AbstractModel> notifications = new ArrayList<>();
+        model.addModelChangeListener(notifications::add);
+        List<Integer> insertedLengths = new ArrayList<>();
+        model.addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                insertedLengths.add(e.getLength());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        Document oldDocument = model.getDocument();
+        Document newDocument = new PlainDocument();
+
+        model.setValue(newDocument);
+        assertSame(newDocument, model.getDocument());
+        assertEquals(1, notifications.size());
+
+        oldDocument.insertString(0, "a", null);
+        newDocument.insertString(0, "bc", null);
+
+        assertEquals(2, notifications.size());
+        assertEquals(singletonList(2), insertedLengths);
+    }
+
+    @Test
+    public void testValidate() {
+        model.mustBeFilled(true);
+        assertFalse(model.validate());
+
+        model.insert(0, "a");
+        assertTrue(model.validate());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInsertAtInvalidOffset() {
+        model.insert(1, "a");
+    }
+}
@@ -0,0 +1,117 @@
+package nl.gogognome.lib.swing.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListModelTest {
+
+    private final ListModel<String> listModel = new ListModel<>(new ArrayList<>(asList("a", "b", "c")));
+    private final List<String> events = new ArrayList<>();
+    private int nrModelChanges;
+
+    public ListModelTest() {
+        listModel.addListModelListener(event -> events.add(event.toString()));
+        listModel.addModelChangeListener(model -> nrModelChanges++);
+    }
+
+    @Test
+    public void testAddItemFiresItemsAdded() {
+        listModel.addItem("d", null);
+
+        assertEquals(singletonList("ITEMS_ADDED 3-3"), events);
+        assertEquals(1, nrModelChanges);
+    }
+
+    @Test
+    public void testAddItemsFiresSingleEvent() {
+        listModel.addItems(asList("d", "e"), null);
+
+        assertEquals(singletonList("ITEMS_ADDED 3-4"), events);
+        assertEquals(asList("a", "b", "c", "d", "e"), listModel.getItems());
+    }
+
+    @Test
+    public void testSetItemsFiresReplacedAndRemoved() {
+        listModel.setItems(asList("x"));
+
+        assertEquals(asList("ITEMS_REPLACED 0-0", "ITEMS_REMOVED 1-2"), events);
+        assertEquals(1, nrModelChanges);
+    }
+
+    @Test
+    public void testSetSameItemsFiresNoEvents() {
+        listModel.setItems(listModel.getValue());
+
+        assertTrue(events.isEmpty());
+        assertEquals(0, nrModelChanges);
+    }
+
+    @Test
+    public void testReplaceItem() {
+        listModel.replaceItem(1, "x", null);
+
+        assertEquals(singletonList("ITEMS_REPLACED 1-1"), events);
+        assertEquals(asList("a", "x", "c"), listModel.getItems());
+    }
+
+    @Test
+    public void testInsertItemShiftsSelection() {
+        listModel.setSelectedIndex(1, null);
+        events.clear();
+
+        listModel.insertItem(0, "x", null);
+
+        assertEquals(asList("ITEMS_ADDED 0-0", "SELECTION_CHANGED -1--1"), events);
+        assertEquals("b", listModel.getSelectedItem());
+    }
+
+    @Test
+    public void testRemoveSelectedItemClearsSelection() {
+        listModel.setSelectedIndices(new int[] { 0, 1 }, null);
+        events.clear();
+
+        listModel.removeItem(0, null);
+
+        assertEquals(asList("ITEMS_REMOVED 0-0", "SELECTION_CHANGED -1--1"), events);
+        assertArrayEquals(new int[] { 0 }, listModel.getSelectedIndices());
+        assertEquals("b", listModel.getSelectedItem());
+    }
+
+    @Test
+    public void testRemoveItemAfterSelectionKeepsSelection() {
+        listModel.setSelectedIndex(0, null);
+        events.clear();
+
+        listModel.removeItem(2, null);
+
+        assertEquals(singletonList("ITEMS_REMOVED 2-2"), events);
+        assertEquals("a", listModel.getSelectedItem());
+    }
+
+    @Test
+    public void testEnabledChangeFiresEventOnlyWhenChanged() {
+        listModel.setEnabled(true, null);
+        listModel.setEnabled(false, null);
+
+        assertEquals(singletonList("ENABLED_CHANGED -1--1"), events);
+    }
+
+    @Test
+    public void testRemovedListenerIsNotNotified() {
+        ListModelListener<String> listener = event -> events.add("removed listener");
+        listModel.addListModelListener(listener);
+        listModel.removeListModelListener(listener);
+
+        listModel.addItem("d", null);
+
+        assertEquals(singletonList("ITEMS_ADDED 3-3"), events);
+    }
+}
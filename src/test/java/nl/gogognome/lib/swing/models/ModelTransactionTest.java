@@ -0,0 +1,66 @@
+package nl.gogognome.lib.swing.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModelTransactionTest {
+
+    private final StringModel nameModel = new StringModel();
+    private final StringModel addressModel = new StringModel();
+    private final List<String> notifications = new ArrayList<>();
+
+    public ModelTransactionTest() {
+        nameModel.addModelChangeListener(m -> notifications.add("name=" + nameModel.getString()));
+        addressModel.addModelChangeListener(m -> notifications.add("address=" + addressModel.getString()));
+    }
+
+    @Test
+    public void testNotificationsAreDeferredAndDeduplicated() {
+        ModelTransaction.batch(() -> {
+            nameModel.setString("Pietje");
+            addressModel.setString("Street");
+            nameModel.setString("Pietje Puk");
+            assertTrue(notifications.isEmpty());
+        });
+
+        assertEquals(asList("name=Pietje Puk", "address=Street"), notifications);
+        assertFalse(ModelTransaction.isActive());
+    }
+
+    @Test
+    public void testNestedTransactionsNotifyWhenOutermostTransactionEnds() {
+        ModelTransaction.batch(() -> {
+            ModelTransaction.batch(() -> nameModel.setString("Pietje"));
+            assertTrue(notifications.isEmpty());
+        });
+
+        assertEquals(asList("name=Pietje"), notifications);
+    }
+
+    @Test
+    public void testListenersAreNotifiedWhenRunnableFails() {
+        try {
+            ModelTransaction.batch(() -> {
+                nameModel.setString("Pietje");
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(asList("name=Pietje"), notifications);
+        assertFalse(ModelTransaction.isActive());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndWithoutBeginFails() {
+        ModelTransaction.end();
+    }
+}
@@ -0,0 +1,85 @@
+package nl.gogognome.lib.swing.plaf;
+
+import nl.gogognome.lib.swing.InitialValueSelectingCellEditor;
+import org.junit.Test;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellEditor;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultTableUITest {
+
+    private final JTable table = new JTable(new DefaultTableModel(new Object[][] {
+            { "a", Boolean.TRUE },
+            { "b", Boolean.FALSE },
+            { "c", Boolean.TRUE }
+    }, new Object[] { "text", "flag" }) {
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            return columnIndex == 0 ? String.class : Boolean.class;
+        }
+    });
+
+    public DefaultTableUITest() {
+        table.setUI(new DefaultTableUI());
+        table.setBackground(Color.WHITE);
+        table.setShowGrid(false);
+        table.setSize(200, table.getRowHeight() * 3);
+    }
+
+    @Test
+    public void testOddRowsGetAlternatingBackground() {
+        BufferedImage image = paint();
+
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(95, rowCenter(0)));
+        assertEquals(DefaultTableUI.COLOR_ODD_ROWS.getRGB(), image.getRGB(95, rowCenter(1)));
+        assertEquals(DefaultTableUI.COLOR_ODD_ROWS.getRGB(), image.getRGB(105, rowCenter(1)));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(95, rowCenter(2)));
+    }
+
+    @Test
+    public void testRenderersAreNotWrapped() {
+        assertFalse(table.getDefaultRenderer(String.class) instanceof AlternatingBackgroundRenderer);
+    }
+
+    @Test
+    public void testReinstallingDoesNotWrapEditorsTwice() {
+        table.setUI(new DefaultTableUI());
+
+        TableCellEditor editor = table.getDefaultEditor(String.class);
+        assertTrue(editor instanceof InitialValueSelectingCellEditor);
+        table.setUI(new DefaultTableUI());
+        assertEquals(editor, table.getDefaultEditor(String.class));
+    }
+
+    @Test
+    public void testSwappingModelsAddsNoListenersToTable() {
+        int nrListeners = table.getPropertyChangeListeners().length;
+
+        for (int i=0; i<10; i++) {
+            table.setModel(new DefaultTableModel(3, 2));
+        }
+
+        assertEquals(nrListeners, table.getPropertyChangeListeners().length);
+    }
+
+    private BufferedImage paint() {
+        BufferedImage image = new BufferedImage(table.getWidth(), table.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        g.setClip(0, 0, table.getWidth(), table.getHeight());
+        table.getUI().update(g, table);
+        g.dispose();
+        return image;
+    }
+
+    private int rowCenter(int row) {
+        return row * table.getRowHeight() + table.getRowHeight() / 2;
+    }
+}
@@ -0,0 +1,171 @@
+package nl.gogognome.lib.swing.views;
+
+import nl.gogognome.lib.swing.WidgetFactory;
+import nl.gogognome.lib.swing.models.StringModel;
+import nl.gogognome.lib.text.TextResource;
+import nl.gogognome.lib.util.Factory;
+import org.junit.Test;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ViewTabbedPaneTest {
+
+    private final List<String> events = new ArrayList<>();
+    private long now = 1000;
+    private final ViewTabbedPane tabbedPane;
+
+    public ViewTabbedPaneTest() {
+        TextResource textResource = new TextResource(Locale.US);
+        Factory.bindSingleton(TextResource.class, textResource);
+        Factory.bindSingleton(WidgetFactory.class, new WidgetFactory(textResource));
+        tabbedPane = new ViewTabbedPane(new ViewOwner() {
+            @Override
+            public Window getWindow() {
+                return null;
+            }
+
+            @Override
+            public void setDefaultButton(JButton button) {
+            }
+
+            @Override
+            public void invalidateLayout() {
+            }
+        }, () -> now);
+    }
+
+    @Test
+    public void testViewsAreInitializedWhenOpenedByDefault() {
+        TestView view1 = new TestView("1", false);
+        TestView view2 = new TestView("2", false);
+
+        tabbedPane.openView(view1);
+        tabbedPane.openView(view2);
+
+        assertEquals(asList("init 1", "init 2"), events);
+    }
+
+    @Test
+    public void testDeferredViewIsInitializedWhenSelectedForFirstTime() {
+        tabbedPane.setInitializationDeferred(true);
+        TestView view1 = new TestView("1", false);
+        TestView view2 = new TestView("2", false);
+
+        tabbedPane.openView(view1);
+        tabbedPane.openView(view2);
+        assertEquals(asList("init 1"), events);
+
+        tabbedPane.selectView(view2);
+        tabbedPane.selectView(view1);
+        tabbedPane.selectView(view2);
+        assertEquals(asList("init 1", "init 2"), events);
+        assertEquals(1, view2.getComponentCount());
+    }
+
+    @Test
+    public void testClosingViewThatWasNeverInitializedDoesNotCallOnClose() {
+        tabbedPane.setInitializationDeferred(true);
+        TestView view1 = new TestView("1", false);
+        TestView view2 = new TestView("2", false);
+        tabbedPane.openView(view1);
+        tabbedPane.openView(view2);
+
+        tabbedPane.closeAllViews();
+
+        assertEquals(asList("init 1", "close 1"), events);
+    }
+
+    @Test
+    public void testLeastRecentlySelectedViewHibernatesIfTooManyViewsAreInitialized() {
+        tabbedPane.setHibernationPolicy(HibernationPolicy.maxNrInitializedViews(2));
+        TestView view1 = new TestView("1", true);
+        TestView view2 = new TestView("2", true);
+        TestView view3 = new TestView("3", true);
+        tabbedPane.openView(view1);
+        tabbedPane.openView(view2);
+        now += 10;
+        tabbedPane.selectView(view2);
+        now += 10;
+        tabbedPane.openView(view3);
+
+        assertEquals(asList("init 1", "init 2", "init 3", "hibernate 1"), events);
+        assertEquals(0, view1.getComponentCount());
+        assertEquals("model of 1", view1.model.getString());
+
+        events.clear();
+        now += 10;
+        tabbedPane.selectView(view1);
+        assertEquals(asList("init 1", "hibernate 3"), events);
+        assertEquals(1, view1.getComponentCount());
+    }
+
+    @Test
+    public void testViewsHibernateAfterInactivity() {
+        tabbedPane.setHibernationPolicy(HibernationPolicy.afterInactivity(1000));
+        TestView view1 = new TestView("1", true);
+        TestView view2 = new TestView("2", false);
+        TestView view3 = new TestView("3", true);
+        tabbedPane.openView(view1);
+        tabbedPane.openView(view2);
+        tabbedPane.openView(view3);
+
+        now += 999;
+        tabbedPane.hibernateViews();
+        assertFalse(events.contains("hibernate 3"));
+
+        now += 1;
+        tabbedPane.hibernateViews();
+        assertEquals(asList("init 1", "init 2", "init 3", "hibernate 3"), events);
+        assertTrue(view1.isInitialized());
+        assertTrue(view2.isInitialized());
+    }
+
+    private class TestView extends View {
+
+        private final String name;
+        private final boolean hibernationSupported;
+        private final StringModel model;
+
+        public TestView(String name, boolean hibernationSupported) {
+            this.name = name;
+            this.hibernationSupported = hibernationSupported;
+            model = new StringModel("model of " + name);
+        }
+
+        @Override
+        public String getTitle() {
+            return name;
+        }
+
+        @Override
+        public void onInit() {
+            events.add("init " + name);
+            add(new JLabel(model.getString()));
+        }
+
+        @Override
+        public void onClose() {
+            events.add("close " + name);
+        }
+
+        @Override
+        protected boolean isHibernationSupported() {
+            return hibernationSupported;
+        }
+
+        @Override
+        protected void onHibernate() {
+            events.add("hibernate " + name);
+        }
+    }
+}
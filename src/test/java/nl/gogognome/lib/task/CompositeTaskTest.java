@@ -0,0 +1,145 @@
+package nl.gogognome.lib.task;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompositeTaskTest {
+
+    private final TaskExecutor taskExecutor = new TaskExecutor();
+    private final List<Integer> percentages = Collections.synchronizedList(new ArrayList<>());
+    private final TaskProgressListener progressListener = percentages::add;
+
+    @After
+    public void shutdownTaskExecutor() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    public void testSequentialTaskCombinesProgressUsingWeights() throws Exception {
+        Task task = CompositeTask.sequential()
+                .add(3, listener -> {
+                    listener.onProgressUpdate(50);
+                    return "a";
+                })
+                .add(1, listener -> {
+                    listener.onProgressUpdate(1, 2, "halfway b");
+                    return "b";
+                })
+                .build();
+
+        assertEquals(asList("a", "b"), task.execute(progressListener));
+        assertEquals(asList(37, 75, 87, 100), percentages);
+    }
+
+    @Test
+    public void testParallelTaskReturnsResultsInOrderOfSubtasks() throws Exception {
+        CompositeTask.Builder builder = CompositeTask.parallel(taskExecutor);
+        for (int i=0; i<20; i++) {
+            int result = i;
+            builder.add(listener -> result);
+        }
+
+        Object results = builder.build().execute(progressListener);
+
+        List<Object> expectedResults = new ArrayList<>();
+        for (int i=0; i<20; i++) {
+            expectedResults.add(i);
+        }
+        assertEquals(expectedResults, results);
+        assertEquals(100, Collections.max(percentages).intValue());
+    }
+
+    @Test
+    public void testFailureOfParallelSubtaskCancelsOtherSubtasks() throws Exception {
+        Exception exception = new Exception("failed");
+        CountDownLatch otherSubtaskStarted = new CountDownLatch(1);
+        List<Boolean> otherSubtaskCancelled = new ArrayList<>();
+        Task task = CompositeTask.parallel(taskExecutor)
+                .add(listener -> {
+                    otherSubtaskStarted.countDown();
+                    while (!listener.isCancelled()) {
+                        Thread.sleep(1);
+                    }
+                    otherSubtaskCancelled.add(true);
+                    return null;
+                })
+                .add(listener -> {
+                    otherSubtaskStarted.await(10, TimeUnit.SECONDS);
+                    throw exception;
+                })
+                .build();
+
+        try {
+            task.execute(progressListener);
+            fail("Expected exception was not thrown");
+        } catch (Exception e) {
+            assertSame(exception, e);
+        }
+        assertTrue(otherSubtaskCancelled.get(0));
+    }
+
+    @Test(timeout = 10_000)
+    public void testNestedParallelTasksDoNotDeadlockInSmallThreadPool() throws Exception {
+        TaskExecutor smallTaskExecutor = new TaskExecutor(Executors.newFixedThreadPool(4));
+        try {
+            CountDownLatch nestedTasksStarted = new CountDownLatch(4);
+            CompositeTask.Builder builder = CompositeTask.parallel(smallTaskExecutor);
+            for (int i=0; i<4; i++) {
+                CompositeTask.Builder nestedBuilder = CompositeTask.parallel(smallTaskExecutor);
+                for (int j=0; j<4; j++) {
+                    int result = 4 * i + j;
+                    nestedBuilder.add(listener -> result);
+                }
+                Task nestedTask = nestedBuilder.build();
+                builder.add(listener -> {
+                    nestedTasksStarted.countDown();
+                    nestedTasksStarted.await(5, TimeUnit.SECONDS);
+                    return nestedTask.execute(listener);
+                });
+            }
+
+            Object results = builder.build().execute(progressListener);
+
+            assertEquals(asList(asList(0, 1, 2, 3), asList(4, 5, 6, 7), asList(8, 9, 10, 11), asList(12, 13, 14, 15)), results);
+        } finally {
+            smallTaskExecutor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testFailureOfParallelSubtaskIsThrownWithoutWaitingForOtherSubtasks() throws Exception {
+        Exception exception = new Exception("failed");
+        CountDownLatch failureThrown = new CountDownLatch(1);
+        Task task = CompositeTask.parallel(taskExecutor)
+                .add(listener -> {
+                    throw exception;
+                })
+                .add(listener -> {
+                    failureThrown.await(30, TimeUnit.SECONDS);
+                    return null;
+                })
+                .build();
+
+        try {
+            task.execute(progressListener);
+            fail("Expected exception was not thrown");
+        } catch (Exception e) {
+            assertSame(exception, e);
+        } finally {
+            failureThrown.countDown();
+        }
+    }
+}
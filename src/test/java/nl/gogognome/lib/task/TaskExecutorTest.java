@@ -0,0 +1,88 @@
+package nl.gogognome.lib.task;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TaskExecutorTest {
+
+    private final TaskExecutor taskExecutor = new TaskExecutor();
+
+    @After
+    public void shutdownTaskExecutor() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    public void testTasksAreExecutedConcurrently() throws Exception {
+        int nrTasks = 4;
+        CountDownLatch allTasksStarted = new CountDownLatch(nrTasks);
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i=0; i<nrTasks; i++) {
+            futures.add(taskExecutor.execute(progressListener -> {
+                allTasksStarted.countDown();
+                return allTasksStarted.await(10, TimeUnit.SECONDS);
+            }));
+        }
+
+        for (CompletableFuture<Object> future : futures) {
+            assertEquals(true, future.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testManyTasks() throws Exception {
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i=0; i<1000; i++) {
+            int taskNumber = i;
+            futures.add(taskExecutor.execute(progressListener -> taskNumber));
+        }
+
+        for (int i=0; i<futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testExceptionOfTaskCompletesFutureExceptionally() throws Exception {
+        Exception exception = new Exception("failed");
+        CompletableFuture<Object> future = taskExecutor.execute(progressListener -> { throw exception; });
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected exception was not thrown");
+        } catch (ExecutionException e) {
+            assertSame(exception, e.getCause());
+        }
+    }
+
+    @Test
+    public void testCancelledFutureIsVisibleToTask() throws Exception {
+        CountDownLatch taskStarted = new CountDownLatch(1);
+        CompletableFuture<Boolean> taskStopped = new CompletableFuture<>();
+        CompletableFuture<Object> future = taskExecutor.execute(progressListener -> {
+            taskStarted.countDown();
+            while (!progressListener.isCancelled()) {
+                Thread.sleep(1);
+            }
+            taskStopped.complete(true);
+            return null;
+        });
+
+        taskStarted.await(10, TimeUnit.SECONDS);
+        future.cancel(false);
+
+        assertTrue(taskStopped.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,56 @@
+package nl.gogognome.lib.task.ui;
+
+import nl.gogognome.lib.task.TaskProgress;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProgressDispatcherTest {
+
+    private final List<TaskProgress> dispatchedProgress = new ArrayList<>();
+    private final ProgressDispatcher progressDispatcher = new ProgressDispatcher(dispatchedProgress::add);
+
+    @Test
+    public void testOnlyLatestProgressIsDispatched() {
+        for (int i=0; i<=50; i++) {
+            progressDispatcher.onProgressUpdate(i);
+        }
+        progressDispatcher.dispatchProgress();
+
+        assertEquals(singletonList(new TaskProgress(50, 100, null)), dispatchedProgress);
+    }
+
+    @Test
+    public void testUnchangedProgressIsNotDispatched() {
+        progressDispatcher.dispatchProgress();
+        progressDispatcher.onProgressUpdate(0);
+        progressDispatcher.dispatchProgress();
+
+        assertTrue(dispatchedProgress.isEmpty());
+
+        progressDispatcher.onProgressUpdate(10);
+        progressDispatcher.dispatchProgress();
+        progressDispatcher.onProgressUpdate(10);
+        progressDispatcher.dispatchProgress();
+
+        assertEquals(singletonList(new TaskProgress(10, 100, null)), dispatchedProgress);
+    }
+
+    @Test
+    public void testWorkDoneAndStatusMessage() {
+        progressDispatcher.onProgressUpdate(250, 1000, "reading");
+        progressDispatcher.dispatchProgress();
+        progressDispatcher.onProgressUpdate(75);
+        progressDispatcher.dispatchProgress();
+
+        assertEquals(asList(new TaskProgress(250, 1000, "reading"), new TaskProgress(75, 100, "reading")),
+                dispatchedProgress);
+        assertEquals(25, dispatchedProgress.get(0).getPercentageCompleted());
+    }
+}